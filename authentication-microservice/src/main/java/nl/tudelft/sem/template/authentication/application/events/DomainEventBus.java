@@ -0,0 +1,207 @@
+package nl.tudelft.sem.template.authentication.application.events;
+
+import commons.NetId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import nl.tudelft.sem.template.authentication.domain.RecordedEvent;
+import nl.tudelft.sem.template.authentication.domain.events.OutboxEvent;
+import nl.tudelft.sem.template.authentication.domain.events.OutboxEventRepository;
+import nl.tudelft.sem.template.authentication.domain.user.FacultyWasChangedEvent;
+import nl.tudelft.sem.template.authentication.domain.user.PasswordWasChangedEvent;
+import nl.tudelft.sem.template.authentication.domain.user.UserEvent;
+import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
+import nl.tudelft.sem.template.authentication.domain.user.UserWasCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Delivers the domain events of the users to their listeners on a bounded pool of its own threads,
+ * so the reactions to an event never add to the latency of the request that recorded it.
+ * A recorded event is first written to the event_outbox table in the transaction of its entity.
+ * Once that transaction has committed it is handed to the pool and removed from the outbox when its listeners ran.
+ * Events the pool had no room for, that failed, or that were left by a crash are picked up again by a poller
+ * once they are older than the retry delay; an event that keeps failing is dropped after MAX_ATTEMPTS deliveries.
+ * Delivery is at least once, so listeners have to be idempotent.
+ */
+@Component
+public class DomainEventBus {
+    public static final int MAX_ATTEMPTS = 5;
+
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+
+    private final transient OutboxEventRepository outbox;
+    private final transient UserRepository userRepository;
+    private final transient ApplicationEventPublisher publisher;
+    private final transient ThreadPoolExecutor executor;
+    private final transient long retryAfterMs;
+    private final transient Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final transient Timer lag;
+    private final transient Counter delivered;
+    private final transient Counter deferred;
+    private final transient Counter failed;
+    private final transient Counter dropped;
+
+    /**
+     * Creates the event bus.
+     *
+     * @param outbox repository of the events that were not delivered yet
+     * @param userRepository repository the users of PasswordWasChangedEvents are read from
+     * @param publisher publisher that calls the listeners of an event
+     * @param meterRegistry registry the event metrics are published to
+     * @param threads number of events that are delivered at the same time
+     * @param queueSize number of events that can wait for a thread; more are left to the poller
+     * @param retryAfterMs how old an event must be before the poller delivers it
+     */
+    public DomainEventBus(OutboxEventRepository outbox, UserRepository userRepository,
+                          ApplicationEventPublisher publisher, MeterRegistry meterRegistry,
+                          @Value("${authentication.events.threads:1}") int threads,
+                          @Value("${authentication.events.queue-size:1000}") int queueSize,
+                          @Value("${authentication.events.retry-after-ms:5000}") long retryAfterMs) {
+        this.outbox = outbox;
+        this.userRepository = userRepository;
+        this.publisher = publisher;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterMs = retryAfterMs;
+        this.lag = meterRegistry.timer("auth.events.lag");
+        this.delivered = meterRegistry.counter("auth.events.delivered");
+        this.deferred = meterRegistry.counter("auth.events.deferred");
+        this.failed = meterRegistry.counter("auth.events.failed");
+        this.dropped = meterRegistry.counter("auth.events.dropped");
+        meterRegistry.gauge("auth.events.queued", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * Stops delivering events, the events that are still waiting stay in the outbox.
+     * The events that are being delivered are finished instead of interrupted:
+     * H2 closes the database when a thread is interrupted while it uses the database file.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.getQueue().clear();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores a recorded event in the outbox and schedules its delivery for after the commit.
+     *
+     * @param recorded the event that was recorded by a saved entity
+     */
+    @EventListener
+    public void onRecorded(RecordedEvent recorded) {
+        if (!(recorded.getEvent() instanceof UserEvent)) {
+            // the outbox only knows how to store user events, other events are delivered right away
+            publisher.publishEvent(recorded.getEvent());
+            return;
+        }
+        UserEvent event = (UserEvent) recorded.getEvent();
+        OutboxEvent stored = outbox.save(new OutboxEvent(event.getClass().getSimpleName(),
+                event.getNetId().toString(), Instant.now()));
+        afterCommit(() -> submit(stored.getId()));
+    }
+
+    /**
+     * Delivers the events that are still in the outbox after the retry delay, oldest first.
+     * Newer events are left to the delivery that was scheduled when they were recorded.
+     * Runs every second by default.
+     */
+    @Scheduled(initialDelayString = "${authentication.events.poll-ms:1000}",
+            fixedDelayString = "${authentication.events.poll-ms:1000}")
+    public void dispatchPending() {
+        outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(Instant.now().minusMillis(retryAfterMs))
+                .forEach(event -> submit(event.getId()));
+    }
+
+    private void submit(long id) {
+        if (!inFlight.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> deliver(id));
+        } catch (RejectedExecutionException e) {
+            // the event stays in the outbox until the poller finds room for it
+            inFlight.remove(id);
+            deferred.increment();
+        }
+    }
+
+    private void deliver(long id) {
+        try {
+            Optional<OutboxEvent> stored = outbox.findById(id);
+            if (stored.isEmpty()) {
+                return;
+            }
+            OutboxEvent event = stored.get();
+            try {
+                publisher.publishEvent(toEvent(event));
+            } catch (RuntimeException e) {
+                failed.increment();
+                if (event.getAttempts() + 1 >= MAX_ATTEMPTS) {
+                    outbox.deleteEvent(id);
+                    dropped.increment();
+                } else {
+                    outbox.countAttempt(id);
+                }
+                return;
+            }
+            outbox.deleteEvent(id);
+            delivered.increment();
+            lag.record(Duration.between(event.getRecordedAt(), Instant.now()));
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private Object toEvent(OutboxEvent event) {
+        NetId netId = new NetId(event.getNetId());
+        switch (event.getType()) {
+            case "UserWasCreatedEvent":
+                return new UserWasCreatedEvent(netId);
+            case "FacultyWasChangedEvent":
+                return new FacultyWasChangedEvent(netId);
+            case "PasswordWasChangedEvent":
+                return new PasswordWasChangedEvent(userRepository.findByNetId(netId)
+                        .orElseThrow(() -> new IllegalStateException("User " + netId + " does not exist")));
+            default:
+                throw new IllegalStateException("Unknown event type " + event.getType());
+        }
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or right away outside a transaction.
+     * Nothing is run when the transaction rolls back, as the event was not stored either.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 /**
  * This event listener is automatically called when a domain entity is saved
  * which has stored events of type: UserWasCreated.
+ * The DomainEventBus calls it on one of its own threads, after the user was stored.
  */
 @Component
 public class UserWasCreatedListener {
@@ -0,0 +1,166 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password encoder that hashes and verifies passwords on a small pool of its own threads.
+ * Hashing is slow on purpose, so a burst of logins or registrations would otherwise take all the CPU and
+ * request threads of the service, and with them the endpoints other services depend on, such as /faculty.
+ * Requests wait for their hash; when the queue in front of the pool is full they are turned away right away
+ * with a PasswordHashingUnavailableException, which the controller answers with 503 Service Unavailable.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final transient PasswordEncoder delegate;
+    private final transient ThreadPoolExecutor executor;
+    private final transient int threads;
+    private final transient long timeoutMs;
+    private final transient Timer hashTime;
+    private final transient Timer queueWait;
+    private final transient Counter rejected;
+
+    /**
+     * Creates the encoder with a BCrypt encoder of the configured strength.
+     *
+     * @param meterRegistry registry the hashing metrics are published to
+     * @param strength the log2 of the number of BCrypt rounds
+     * @param threads number of passwords that are hashed at the same time
+     * @param queueSize number of passwords that can wait to be hashed
+     * @param timeoutMs how long a request waits for its hash
+     */
+    @Autowired
+    public BoundedPasswordEncoder(MeterRegistry meterRegistry,
+                                  @Value("${authentication.hashing.bcrypt-strength:10}") int strength,
+                                  @Value("${authentication.hashing.threads:2}") int threads,
+                                  @Value("${authentication.hashing.queue-size:50}") int queueSize,
+                                  @Value("${authentication.hashing.timeout-ms:5000}") long timeoutMs) {
+        this(new BCryptPasswordEncoder(strength), meterRegistry, threads, queueSize, timeoutMs);
+    }
+
+    /**
+     * Creates the encoder around another encoder.
+     *
+     * @param delegate the encoder that does the hashing
+     * @param meterRegistry registry the hashing metrics are published to
+     * @param threads number of passwords that are hashed at the same time
+     * @param queueSize number of passwords that can wait to be hashed
+     * @param timeoutMs how long a request waits for its hash
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry,
+                                  int threads, int queueSize, long timeoutMs) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.AbortPolicy());
+        this.threads = threads;
+        this.timeoutMs = timeoutMs;
+        this.hashTime = meterRegistry.timer("auth.hashing.time");
+        this.queueWait = meterRegistry.timer("auth.hashing.queue.wait");
+        this.rejected = meterRegistry.counter("auth.hashing.rejected");
+        meterRegistry.gauge("auth.hashing.queued", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes several passwords in parallel on the pool, such as for a bulk registration.
+     * At most as many passwords as there are hashing threads are handed to the pool at a time,
+     * so the queue in front of the pool stays free for logins.
+     *
+     * @param rawPasswords the passwords to hash
+     * @return the hashes, in the order of the passwords
+     * @throws PasswordHashingUnavailableException if a password could not be hashed, none of the rest are then
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (pending.size() >= threads) {
+                    hashes.add(await(pending.poll()));
+                }
+                pending.add(submit(() -> delegate.encode(rawPassword)));
+            }
+            while (!pending.isEmpty()) {
+                hashes.add(await(pending.poll()));
+            }
+            return hashes;
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("HASHING_BUSY", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("HASHING_TIMEOUT", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("HASHING_INTERRUPTED", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import commons.JwkModel;
+import commons.JwkSetModel;
+import commons.security.JwtKeyResolver;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The RSA key pairs access tokens are signed with.
+ * Only this service holds the private keys; the public keys are published at /.well-known/jwks.json,
+ * where the other services fetch them once to verify tokens themselves.
+ * The keys are rotated regularly, with overlapping validity:
+ * the next key is published a rotation ahead of signing with it, so verifiers that fetched the key set know it,
+ * and a replaced key stays published until the last token signed with it has expired.
+ * This service verifies its own tokens with these keys directly instead of fetching the key set.
+ */
+@Component
+@Primary
+public class JwtKeyStore implements JwtKeyResolver {
+    private static final int KEY_SIZE = 2048;
+
+    private final transient TimeProvider timeProvider;
+    private final transient long tokenValidity;
+    private final transient KeyPairGenerator generator;
+
+    private transient SigningKey current;
+    private transient SigningKey next;
+    private final transient Map<String, SigningKey> retired = new LinkedHashMap<>();
+
+    /**
+     * Creates the store with a key to sign with and the next key.
+     *
+     * @param timeProvider the time provider
+     * @param tokenValidity time in milliseconds an access token is valid for
+     */
+    @Autowired
+    public JwtKeyStore(TimeProvider timeProvider,
+                       @Value("${jwt.access-token-validity-ms:900000}") long tokenValidity) {
+        this.timeProvider = timeProvider;
+        this.tokenValidity = tokenValidity;
+        try {
+            this.generator = KeyPairGenerator.getInstance(JwkModel.RSA);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        generator.initialize(KEY_SIZE);
+        this.current = generate();
+        this.next = generate();
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return the current signing key
+     */
+    public synchronized SigningKey getSigningKey() {
+        return current;
+    }
+
+    /**
+     * Signs with the next key from now on and creates a new next key.
+     * The replaced key is kept for verification until the tokens signed with it have expired.
+     * Runs once a day by default.
+     */
+    @Scheduled(initialDelayString = "${jwt.key-rotation-ms:86400000}", fixedDelayString = "${jwt.key-rotation-ms:86400000}")
+    public synchronized void rotate() {
+        Instant now = timeProvider.getCurrentTime();
+        retired.values().removeIf(key -> !key.retiresAt.isAfter(now));
+        current.retiresAt = now.plusMillis(tokenValidity);
+        retired.put(current.getKeyId(), current);
+        current = next;
+        next = generate();
+    }
+
+    /**
+     * Returns the public keys that are in use: the replaced keys whose tokens may still be valid,
+     * the current key and the next key.
+     *
+     * @return the key set
+     */
+    public synchronized JwkSetModel getKeySet() {
+        Instant now = timeProvider.getCurrentTime();
+        List<JwkModel> keys = new ArrayList<>();
+        for (SigningKey key : retired.values()) {
+            if (key.retiresAt.isAfter(now)) {
+                keys.add(key.toJwk());
+            }
+        }
+        keys.add(current.toJwk());
+        keys.add(next.toJwk());
+        return new JwkSetModel(keys);
+    }
+
+    @Override
+    public synchronized PublicKey resolve(String keyId) {
+        for (SigningKey key : List.of(current, next)) {
+            if (key.getKeyId().equals(keyId)) {
+                return key.getPublicKey();
+            }
+        }
+        SigningKey key = retired.get(keyId);
+        if (key == null || !key.retiresAt.isAfter(timeProvider.getCurrentTime())) {
+            return null;
+        }
+        return key.getPublicKey();
+    }
+
+    private SigningKey generate() {
+        return new SigningKey(UUID.randomUUID().toString(), generator.generateKeyPair());
+    }
+
+    /**
+     * An RSA key pair with the id tokens name it by.
+     */
+    public static final class SigningKey {
+        private final transient String keyId;
+        private final transient KeyPair keyPair;
+        private transient Instant retiresAt;
+
+        SigningKey(String keyId, KeyPair keyPair) {
+            this.keyId = keyId;
+            this.keyPair = keyPair;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return keyPair.getPrivate();
+        }
+
+        public PublicKey getPublicKey() {
+            return keyPair.getPublic();
+        }
+
+        private JwkModel toJwk() {
+            return new JwkModel(keyId, (RSAPublicKey) keyPair.getPublic());
+        }
+    }
+}
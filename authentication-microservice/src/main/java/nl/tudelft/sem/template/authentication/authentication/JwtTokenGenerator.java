@@ -2,11 +2,13 @@ package nl.tudelft.sem.template.authentication.authentication;
 
 import commons.Faculties;
 import commons.Role;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,29 +20,35 @@ import org.springframework.stereotype.Component;
 
 /**
  * Generator for JWT tokens.
+ * Tokens are signed with RS256 by the current key of the JwtKeyStore, whose id is put in the kid header.
  */
 @Component
 public class JwtTokenGenerator {
     /**
-     * Time in milliseconds the JWT token is valid for.
+     * Default time in milliseconds the JWT token is valid for.
+     * Access tokens are short-lived; clients get a new one with their refresh token.
      */
-    public static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
+    public static final long JWT_TOKEN_VALIDITY = 15 * 60 * 1000;
 
-    @Value("${jwt.secret}")  // automatically loads jwt.secret from resources/application.properties
-    private transient String jwtSecret;
+    @Value("${jwt.access-token-validity-ms:900000}")
+    private transient long tokenValidity = JWT_TOKEN_VALIDITY;
 
     /**
      * Time provider to make testing easier.
      */
     private final transient TimeProvider timeProvider;
 
+    private final transient JwtKeyStore keyStore;
+
     @Autowired
-    public JwtTokenGenerator(TimeProvider timeProvider) {
+    public JwtTokenGenerator(TimeProvider timeProvider, JwtKeyStore keyStore) {
         this.timeProvider = timeProvider;
+        this.keyStore = keyStore;
     }
 
     /**
      * Generate a JWT token for the provided user.
+     * The faculties are put in the token as a list of faculty names, one per Faculties authority.
      *
      * @param userDetails The user details
      * @return the JWT token
@@ -51,11 +59,11 @@ public class JwtTokenGenerator {
         ArrayList<GrantedAuthority> authorities = new ArrayList<>(userDetails.getAuthorities());
 
         String role = "";
-        String faculty = "";
+        List<String> faculty = new ArrayList<>(authorities.size());
 
         for (GrantedAuthority g : authorities) {
             if (g instanceof Faculties) {
-                faculty = g.getAuthority();
+                faculty.add(g.getAuthority());
             }
             if (g instanceof Role) {
                 role = g.getAuthority();
@@ -64,9 +72,11 @@ public class JwtTokenGenerator {
 
         claims.put("role", role);
         claims.put("faculty", faculty);
-        return Jwts.builder().setClaims(claims).setSubject(userDetails.getUsername())
+        JwtKeyStore.SigningKey key = keyStore.getSigningKey();
+        return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, key.getKeyId())
+                .setClaims(claims).setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(timeProvider.getCurrentTime().toEpochMilli()))
-                .setExpiration(new Date(timeProvider.getCurrentTime().toEpochMilli() + JWT_TOKEN_VALIDITY))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret).compact();
+                .setExpiration(new Date(timeProvider.getCurrentTime().toEpochMilli() + tokenValidity))
+                .signWith(SignatureAlgorithm.RS256, key.getPrivateKey()).compact();
     }
 }
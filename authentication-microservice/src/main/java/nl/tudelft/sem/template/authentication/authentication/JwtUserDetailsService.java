@@ -3,11 +3,19 @@ package nl.tudelft.sem.template.authentication.authentication;
 import commons.Faculties;
 import commons.Faculty;
 import commons.NetId;
-import commons.Role;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
+import nl.tudelft.sem.template.authentication.domain.providers.implementations.CurrentTimeProvider;
+import nl.tudelft.sem.template.authentication.domain.user.AppUser;
+import nl.tudelft.sem.template.authentication.domain.user.FacultyWasChangedEvent;
 import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,15 +25,45 @@ import org.springframework.stereotype.Service;
 
 /**
  * User details service responsible for retrieving the user from the DB.
+ * The details needed to issue a token, without the password hash, are cached,
+ * so refreshing an access token does not read the user again.
+ * A change of faculties evicts the details; as the eviction is delivered asynchronously and may be lost,
+ * the details also expire after a while.
  */
 @Service
 public class JwtUserDetailsService implements UserDetailsService {
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final long DEFAULT_TTL_MS = 5L * 60 * 1000;
+    private static final int GENERATION_STRIPES = 64;
 
     private final transient UserRepository userRepository;
+    private final transient TimeProvider timeProvider;
+    private final transient int cacheSize;
+    private final transient long ttlMs;
+    private final transient Map<String, CachedDetails> tokenDetails = new ConcurrentHashMap<>();
+    // a stripe is bumped when the faculties of one of its users change, so details read before are not cached
+    private final transient AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
 
-    @Autowired
     public JwtUserDetailsService(UserRepository userRepository) {
+        this(userRepository, new CurrentTimeProvider(), DEFAULT_CACHE_SIZE, DEFAULT_TTL_MS);
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param userRepository the user repository
+     * @param timeProvider the clock the cached details expire by
+     * @param cacheSize number of users whose token details are cached
+     * @param ttlMs time in milliseconds the token details of a user are cached for
+     */
+    @Autowired
+    public JwtUserDetailsService(UserRepository userRepository, TimeProvider timeProvider,
+                                 @Value("${authentication.user-details-cache-size:10000}") int cacheSize,
+                                 @Value("${authentication.user-details-ttl-ms:300000}") long ttlMs) {
         this.userRepository = userRepository;
+        this.timeProvider = timeProvider;
+        this.cacheSize = cacheSize;
+        this.ttlMs = ttlMs;
     }
 
     /**
@@ -37,23 +75,98 @@ public class JwtUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var optionalUser = userRepository.findByNetId(new NetId(username));
+        long generation = generations.get(stripe(username));
+        AppUser user = findUser(username);
+        List<GrantedAuthority> authorities = authoritiesOf(user);
+        remember(new User(username, "", authorities), generation);
+        return new User(user.getNetId().toString(), user.getPassword().toString(),
+                authorities);
+    }
+
+    /**
+     * Loads the details needed to issue a token for the user, from the cache if they are there.
+     * The password of the returned details is empty.
+     *
+     * @param username The username of the user
+     * @return The netId and authorities of the user
+     * @throws UsernameNotFoundException Username was not found
+     */
+    public UserDetails loadTokenDetails(String username) throws UsernameNotFoundException {
+        CachedDetails cached = tokenDetails.get(username);
+        if (cached != null && cached.expiresAt > now()) {
+            return cached.details;
+        }
+        long generation = generations.get(stripe(username));
+        UserDetails details = new User(username, "", authoritiesOf(findUser(username)));
+        remember(details, generation);
+        return details;
+    }
+
+    /**
+     * Forgets the cached details of a user whose faculties changed.
+     * The DomainEventBus delivers the event shortly after the change was committed.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onFacultyWasChanged(FacultyWasChangedEvent event) {
+        tokenDetails.compute(event.getNetId().toString(), (k, cached) -> {
+            generations.incrementAndGet(stripe(k));
+            return null;
+        });
+    }
+
+    /**
+     * Returns the number of users whose token details are cached.
+     *
+     * @return the size of the cache
+     */
+    public int getCacheSize() {
+        return tokenDetails.size();
+    }
 
-        if (optionalUser.isEmpty()) {
-            throw new UsernameNotFoundException("User does not exist");
+    /**
+     * Caches the details, unless the faculties of the user changed since the generation was read.
+     */
+    private void remember(UserDetails details, long generation) {
+        // a full cache is simply emptied, as in the faculty cache
+        if (tokenDetails.size() >= cacheSize) {
+            tokenDetails.clear();
         }
+        CachedDetails fresh = new CachedDetails(details, now() + ttlMs);
+        tokenDetails.compute(details.getUsername(),
+            (k, cached) -> generations.get(stripe(k)) == generation ? fresh : cached);
+    }
 
-        var user = optionalUser.get();
-        List<GrantedAuthority> authorities = new ArrayList<>(2);
-        authorities.add(0, user.getRole());
-        String s = "";
+    private long now() {
+        return timeProvider.getCurrentTime().toEpochMilli();
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_STRIPES);
+    }
+
+    private AppUser findUser(String username) throws UsernameNotFoundException {
+        return userRepository.findByNetId(new NetId(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
+    }
+
+    private static List<GrantedAuthority> authoritiesOf(AppUser user) {
+        List<GrantedAuthority> authorities = new ArrayList<>(1 + user.getFaculty().size());
+        authorities.add(user.getRole());
         for (Faculty f : user.getFaculty()) {
-            s += f.toString() + ";";
+            authorities.add(new Faculties(f.toString()));
         }
+        return authorities;
+    }
 
-        authorities.add(1, new Faculties(s));
+    private static final class CachedDetails {
+        private final transient UserDetails details;
+        private final transient long expiresAt;
 
-        return new User(user.getNetId().toString(), user.getPassword().toString(),
-                authorities);
+        private CachedDetails(UserDetails details, long expiresAt) {
+            this.details = details;
+            this.expiresAt = expiresAt;
+        }
     }
 }
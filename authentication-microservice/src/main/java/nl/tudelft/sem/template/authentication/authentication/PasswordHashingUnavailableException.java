@@ -0,0 +1,13 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+/**
+ * Thrown when a password cannot be hashed or verified, because too many passwords are waiting to be hashed
+ * or the hash did not finish in time.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    static final long serialVersionUID = 6212493398470412953L;
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,84 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import commons.NetId;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
+import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies the long-lived refresh tokens clients trade for new access tokens at /refresh.
+ * Refresh tokens are signed with a secret only the authentication service holds,
+ * so the other services cannot accept them in place of an access token.
+ * Changing the password or faculties of a user revokes the refresh tokens issued before the change.
+ */
+@Component
+public class RefreshTokenService {
+    /**
+     * Default time in milliseconds a refresh token is valid for.
+     */
+    public static final long REFRESH_TOKEN_VALIDITY = 7L * 24 * 60 * 60 * 1000;
+
+    private static final String TYPE = "refresh";
+
+    @Value("${jwt.refresh-secret}")
+    private transient String refreshSecret;
+
+    @Value("${jwt.refresh-token-validity-ms:604800000}")
+    private transient long refreshTokenValidity = REFRESH_TOKEN_VALIDITY;
+
+    private final transient TimeProvider timeProvider;
+    private final transient UserRepository userRepository;
+
+    public RefreshTokenService(TimeProvider timeProvider, UserRepository userRepository) {
+        this.timeProvider = timeProvider;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Generates a refresh token for the user.
+     *
+     * @param netId the netId of the user
+     * @return the refresh token
+     */
+    public String generateToken(String netId) {
+        long now = timeProvider.getCurrentTime().toEpochMilli();
+        return Jwts.builder().setSubject(netId).claim("type", TYPE)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + refreshTokenValidity))
+                .signWith(SignatureAlgorithm.HS512, refreshSecret).compact();
+    }
+
+    /**
+     * Verifies the signature and expiration of a refresh token, and that it was issued after the last change
+     * of the password or faculties of its user.
+     * The issue time only has seconds, so a token issued in the same second as a change is revoked as well.
+     *
+     * @param token the refresh token
+     * @return the netId of the user the token was issued to
+     * @throws JwtException if the token is not a valid refresh token
+     */
+    public String verify(String token) throws JwtException {
+        Claims claims = Jwts.parser().setSigningKey(refreshSecret)
+                .setClock(() -> new Date(timeProvider.getCurrentTime().toEpochMilli()))
+                .parseClaimsJws(token).getBody();
+        if (!TYPE.equals(claims.get("type"))) {
+            throw new JwtException("Not a refresh token");
+        }
+        Date issuedAt = claims.getIssuedAt();
+        Optional<Instant> changedAt = userRepository.findCredentialsChangedAt(new NetId(claims.getSubject()));
+        if (issuedAt == null || changedAt.isPresent()
+                && !issuedAt.toInstant().isAfter(changedAt.get().truncatedTo(ChronoUnit.SECONDS))) {
+            throw new JwtException("Refresh token was revoked");
+        }
+        return claims.getSubject();
+    }
+}
@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.authentication.config;
+
+import com.fasterxml.jackson.databind.Module;
+import commons.ObjectMapperProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adds the module of the ObjectMapper shared by all microservices to the one Spring Boot builds for Spring MVC.
+ * Spring Boot registers every Module bean next to its own modules, so the spring.jackson properties stay in effect.
+ */
+@Configuration
+public class JacksonConfig {
+    @Bean
+    public Module sharedModule() {
+        return ObjectMapperProvider.additionalModule();
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -25,18 +24,15 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     private transient UserDetailsService userDetailsService;
 
     /**
-     * Password encoder password encoder.
-     *
-     * @return the password encoder
+     * The password encoder, a BoundedPasswordEncoder that hashes on its own threads.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Getter
+    @Setter(onMethod = @__({@Autowired}))
+    private transient PasswordEncoder passwordEncoder;
 
     @Bean
     public PasswordHashingService passwordHashEncoder() {
-        return new PasswordHashingService(passwordEncoder());
+        return new PasswordHashingService(passwordEncoder);
     }
 
     @Bean
@@ -47,7 +43,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
+        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder);
     }
 
     @Override
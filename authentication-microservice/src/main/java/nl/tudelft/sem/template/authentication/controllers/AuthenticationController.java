@@ -1,42 +1,68 @@
 package nl.tudelft.sem.template.authentication.controllers;
 
 import commons.Faculty;
+import commons.FacultyBatchRequestModel;
+import commons.FacultyBatchResponseModel;
 import commons.FacultyRequestModel;
 import commons.FacultyResponseModel;
+import commons.JwkSetModel;
 import commons.NetId;
 import commons.Role;
+import commons.security.AuthManager;
+import io.jsonwebtoken.JwtException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import nl.tudelft.sem.template.authentication.authentication.AuthManager;
+import nl.tudelft.sem.template.authentication.authentication.JwtKeyStore;
 import nl.tudelft.sem.template.authentication.authentication.JwtTokenGenerator;
 import nl.tudelft.sem.template.authentication.authentication.JwtUserDetailsService;
+import nl.tudelft.sem.template.authentication.authentication.PasswordHashingUnavailableException;
+import nl.tudelft.sem.template.authentication.authentication.RefreshTokenService;
+import nl.tudelft.sem.template.authentication.domain.user.FacultyDirectory;
 import nl.tudelft.sem.template.authentication.domain.user.GetFacultyService;
 import nl.tudelft.sem.template.authentication.domain.user.Password;
+import nl.tudelft.sem.template.authentication.domain.user.Registration;
 import nl.tudelft.sem.template.authentication.domain.user.RegistrationService;
 import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
 import nl.tudelft.sem.template.authentication.models.AuthenticationRequestModel;
 import nl.tudelft.sem.template.authentication.models.AuthenticationResponseModel;
 import nl.tudelft.sem.template.authentication.models.ChangeFacultyRequestModel;
+import nl.tudelft.sem.template.authentication.models.RefreshRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationBatchRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationBatchResponseModel;
 import nl.tudelft.sem.template.authentication.models.RegistrationRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationResultModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 public class AuthenticationController {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final transient AuthenticationManager authenticationManager;
 
     private final transient AuthManager authManager;
@@ -46,53 +72,70 @@ public class AuthenticationController {
 
     private final transient JwtUserDetailsService jwtUserDetailsService;
 
+    private final transient RefreshTokenService refreshTokenService;
+
     private final transient RegistrationService registrationService;
 
     private final transient GetFacultyService getFacultyService;
 
+    private final transient FacultyDirectory facultyDirectory;
+
     private final transient UserRepository userRepository;
 
+    private final transient JwtKeyStore jwtKeyStore;
+
     /**
      * Instantiates a new UsersController.
      *
      * @param authenticationManager the authentication manager
      * @param jwtTokenGenerator     the token generator
      * @param jwtUserDetailsService the user service
+     * @param refreshTokenService   the refresh token service
      * @param registrationService   the registration service
      * @param getFacultyService     the getFaculty service
+     * @param facultyDirectory      the faculties that have users
      * @param userRepository        the user repository
+     * @param authManager           the authentication of the current request
+     * @param jwtKeyStore           the keys tokens are signed with
      */
     @Autowired
     public AuthenticationController(AuthenticationManager authenticationManager,
                                     JwtTokenGenerator jwtTokenGenerator,
                                     JwtUserDetailsService jwtUserDetailsService,
+                                    RefreshTokenService refreshTokenService,
                                     RegistrationService registrationService,
                                     GetFacultyService getFacultyService,
+                                    FacultyDirectory facultyDirectory,
                                     UserRepository userRepository,
-                                    AuthManager authManager) {
+                                    AuthManager authManager,
+                                    JwtKeyStore jwtKeyStore) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenGenerator = jwtTokenGenerator;
         this.jwtUserDetailsService = jwtUserDetailsService;
+        this.refreshTokenService = refreshTokenService;
         this.registrationService = registrationService;
         this.getFacultyService = getFacultyService;
+        this.facultyDirectory = facultyDirectory;
         this.userRepository = userRepository;
         this.authManager = authManager;
+        this.jwtKeyStore = jwtKeyStore;
     }
 
     /**
      * Endpoint for authentication.
      *
      * @param request The login model
-     * @return JWT token if the login is successful
+     * @return JWT token if the login is successful, 503 if too many passwords are waiting to be verified
      * @throws Exception if the user does not exist or the password is incorrect
      */
     @PostMapping("/authenticate")
     public ResponseEntity<AuthenticationResponseModel> authenticate(@RequestBody AuthenticationRequestModel request)
             throws Exception {
 
+        Authentication authentication;
         try {
 
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getNetId(),
                             request.getPassword()));
@@ -100,18 +143,42 @@ public class AuthenticationController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "USER_DISABLED", e);
         } catch (BadCredentialsException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", e);
+        } catch (PasswordHashingUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         }
 
-        final UserDetails userDetails = jwtUserDetailsService.loadUserByUsername(request.getNetId());
+        // the user was loaded to check the password, so it is only read again if the principal is not there
+        final UserDetails userDetails = authentication != null && authentication.getPrincipal() instanceof UserDetails
+                ? (UserDetails) authentication.getPrincipal()
+                : jwtUserDetailsService.loadUserByUsername(request.getNetId());
         final String jwtToken = jwtTokenGenerator.generateToken(userDetails);
-        return ResponseEntity.ok(new AuthenticationResponseModel(jwtToken));
+        final String refreshToken = refreshTokenService.generateToken(userDetails.getUsername());
+        return ResponseEntity.ok(new AuthenticationResponseModel(jwtToken, refreshToken));
+    }
+
+    /**
+     * Endpoint for getting a new access token with a refresh token, without checking the password again.
+     *
+     * @param request the refresh token
+     * @return a new access token with the same refresh token, 401 if the refresh token is not valid
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponseModel> refresh(@RequestBody RefreshRequestModel request) {
+        try {
+            String netId = refreshTokenService.verify(request.getRefreshToken());
+            UserDetails userDetails = jwtUserDetailsService.loadTokenDetails(netId);
+            String jwtToken = jwtTokenGenerator.generateToken(userDetails);
+            return ResponseEntity.ok(new AuthenticationResponseModel(jwtToken, request.getRefreshToken()));
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "INVALID_REFRESH_TOKEN", e);
+        }
     }
 
     /**
      * Endpoint for registration.
      *
      * @param request The registration model
-     * @return 200 OK if the registration is successful
+     * @return 200 OK if the registration is successful, 503 if too many passwords are waiting to be hashed
      * @throws Exception if a user with this netid already exists
      */
     @PostMapping("/register")
@@ -128,6 +195,8 @@ public class AuthenticationController {
             NetId netId = new NetId(request.getNetId());
             Password password = new Password(request.getPassword());
             registrationService.registerUser(netId, password, role, faculties);
+        } catch (PasswordHashingUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
             System.out.println(e);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -136,6 +205,61 @@ public class AuthenticationController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Endpoint for registering many users at once, for admins only.
+     * All new users are inserted in one transaction; a user whose details are invalid or whose netId is
+     * already in use, also when a concurrent registration took it, is skipped and reported in the results.
+     *
+     * @param request the users to register
+     * @return the result of each user, in request order
+     */
+    @PostMapping("/register/batch")
+    public ResponseEntity<RegistrationBatchResponseModel> registerBatch(@RequestBody RegistrationBatchRequestModel request) {
+        if (!authManager.getRole().isAdmin()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        if (request.getUsers() == null || request.getUsers().size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_BATCH");
+        }
+        List<Registration> registrations = new ArrayList<>();
+        Set<RegistrationRequestModel> parsed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RegistrationRequestModel user : request.getUsers()) {
+            if (user.getNetId() == null || user.getPassword() == null || user.getFaculty() == null) {
+                continue;
+            }
+            try {
+                ArrayList<Faculty> faculties = new ArrayList<>();
+                for (String f : user.getFaculty().split(";")) {
+                    faculties.add(new Faculty(f));
+                }
+                registrations.add(new Registration(new NetId(user.getNetId()),
+                        new Password(user.getPassword()), new Role(user.getRole()), faculties));
+                parsed.add(user);
+            } catch (IllegalArgumentException e) {
+                // an unknown role, left out of the registration and reported as invalid
+            }
+        }
+
+        Set<String> created = new HashSet<>();
+        try {
+            registrationService.registerUsers(registrations).forEach(user -> created.add(user.getNetId().toString()));
+        } catch (PasswordHashingUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+
+        List<RegistrationResultModel> results = new ArrayList<>(request.getUsers().size());
+        for (RegistrationRequestModel user : request.getUsers()) {
+            String status = RegistrationResultModel.INVALID;
+            if (parsed.contains(user)) {
+                // only the first user with a netId was registered, the ones after it find it in use
+                status = created.remove(user.getNetId()) ? RegistrationResultModel.CREATED
+                        : RegistrationResultModel.NETID_IN_USE;
+            }
+            results.add(new RegistrationResultModel(user.getNetId(), status));
+        }
+        return ResponseEntity.ok(new RegistrationBatchResponseModel(results));
+    }
+
     /**
      * Endpoint for retrieving the faculty of a user.
      *
@@ -157,17 +281,53 @@ public class AuthenticationController {
     }
 
     /**
-     * Endpoint for retrieving the faculty of a user.
+     * Endpoint for retrieving the faculties of several users with one call.
      *
-     * @return 200 OK if the registration is successful
-     * @throws Exception if a user with this netid already exists
+     * @param request the netIds of the users
+     * @return the faculties per netId, netIds that do not exist are left out
+     */
+    @PostMapping("/faculty/batch")
+    public ResponseEntity<FacultyBatchResponseModel> retrieveFacultyBatch(@RequestBody FacultyBatchRequestModel request) {
+        if (request.getNetIds() == null || request.getNetIds().size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_BATCH");
+        }
+        List<NetId> netIds = request.getNetIds().stream().map(NetId::new).collect(Collectors.toList());
+        Map<String, List<String>> faculties = new LinkedHashMap<>();
+        getFacultyService.getFacultiesOf(netIds).forEach((netId, faculty) ->
+                faculties.put(netId, faculty.stream().map(Faculty::toString).collect(Collectors.toList())));
+        return ResponseEntity.ok(new FacultyBatchResponseModel(faculties));
+    }
+
+    /**
+     * Endpoint publishing the public keys access tokens are signed with, as a JSON Web Key Set.
+     * The other services fetch it once and again only when a token names a key they do not know yet.
+     *
+     * @return the key set
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<JwkSetModel> retrieveKeySet() {
+        return ResponseEntity.ok(jwtKeyStore.getKeySet());
+    }
+
+    /**
+     * Endpoint for retrieving all the faculties that have users.
+     * Supports conditional requests: when If-None-Match holds the current entity tag, 304 Not Modified is returned.
+     *
+     * @param ifNoneMatch entity tag of the faculties the client already has
+     * @return the faculties with their entity tag
      */
     @GetMapping("/faculties")
-    public ResponseEntity<FacultyResponseModel> retrieveFaculties() {
-        List<String> all = getFacultyService.getFaculties();
+    public ResponseEntity<FacultyResponseModel> retrieveFaculties(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FacultyDirectory.Snapshot snapshot = facultyDirectory.getSnapshot();
+        if (snapshot.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
         FacultyResponseModel facultyResponseModel = new FacultyResponseModel();
-        facultyResponseModel.setFaculty(all);
-        return ResponseEntity.ok(facultyResponseModel);
+        facultyResponseModel.setFaculty(snapshot.getFaculties());
+        return ResponseEntity.ok().eTag(snapshot.getEtag()).cacheControl(CacheControl.noCache())
+                .body(facultyResponseModel);
     }
 
     /**
@@ -10,6 +10,7 @@ import org.springframework.data.domain.DomainEvents;
 
 /**
  * A base class for adding domain event support to an entity.
+ * The recorded events are published as RecordedEvents when the entity is saved.
  */
 public abstract class HasEvents {
     private final transient List<Object> domainEvents = new ArrayList<>();
@@ -20,7 +21,9 @@ public abstract class HasEvents {
 
     @DomainEvents
     protected Collection<Object> releaseEvents() {
-        return Collections.unmodifiableList(domainEvents);
+        List<Object> recorded = new ArrayList<>(domainEvents.size());
+        domainEvents.forEach(event -> recorded.add(new RecordedEvent(event)));
+        return Collections.unmodifiableList(recorded);
     }
 
     @AfterDomainEventPublication
@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.authentication.domain;
+
+/**
+ * A domain event as it is published when its entity is saved.
+ * The event is wrapped so the listeners of the event itself are only called once it is delivered
+ * by the DomainEventBus, after the transaction that recorded it has committed.
+ */
+public class RecordedEvent {
+    private final transient Object event;
+
+    public RecordedEvent(Object event) {
+        this.event = event;
+    }
+
+    public Object getEvent() {
+        return event;
+    }
+}
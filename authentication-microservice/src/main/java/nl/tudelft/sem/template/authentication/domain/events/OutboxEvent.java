@@ -0,0 +1,69 @@
+package nl.tudelft.sem.template.authentication.domain.events;
+
+import java.time.Instant;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.NoArgsConstructor;
+
+/**
+ * A domain event that was recorded but not delivered yet.
+ * It is stored in the transaction that recorded it, so it survives a crash before it is delivered.
+ */
+@Entity
+@Table(name = "event_outbox")
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private long id;
+
+    @Column(name = "type", nullable = false)
+    private String type;
+
+    @Column(name = "net_id", nullable = false)
+    private String netId;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Creates an event that was not delivered yet.
+     *
+     * @param type the simple class name of the event
+     * @param netId the NetID of the user the event is about
+     * @param recordedAt the moment the event was recorded
+     */
+    public OutboxEvent(String type, String netId, Instant recordedAt) {
+        this.type = type;
+        this.netId = netId;
+        this.recordedAt = recordedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getNetId() {
+        return netId;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
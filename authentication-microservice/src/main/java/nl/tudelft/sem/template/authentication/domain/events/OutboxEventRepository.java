@@ -0,0 +1,41 @@
+package nl.tudelft.sem.template.authentication.domain.events;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A DDD repository for the domain events that were not delivered yet.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Finds the oldest events that were recorded before a moment and not delivered yet.
+     */
+    List<OutboxEvent> findTop100ByRecordedAtBeforeOrderByIdAsc(Instant moment);
+
+    /**
+     * Removes a delivered event.
+     *
+     * @param id the id of the event
+     * @return the number of removed events, 0 if it was removed before
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = ?1")
+    int deleteEvent(long id);
+
+    /**
+     * Counts a failed delivery of an event.
+     *
+     * @param id the id of the event
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id = ?1")
+    void countAttempt(long id);
+}
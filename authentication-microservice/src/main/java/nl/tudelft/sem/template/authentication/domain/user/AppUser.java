@@ -1,19 +1,26 @@
 package nl.tudelft.sem.template.authentication.domain.user;
 
 import commons.Faculty;
-import commons.FacultyListAttributeConverter;
+import commons.FacultyAttributeConverter;
 import commons.NetId;
 import commons.NetIdAttributeConverter;
 import commons.Role;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
 import javax.persistence.Table;
 import lombok.NoArgsConstructor;
 import nl.tudelft.sem.template.authentication.domain.HasEvents;
@@ -45,10 +52,23 @@ public class AppUser extends HasEvents {
     @Convert(converter = RoleAttributeConverter.class)
     private Role role;
 
+    /**
+     * The faculties of the user, one indexed row per faculty in the user_faculties join table.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_faculties", joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_faculties_faculty", columnList = "faculty"))
+    @OrderColumn(name = "position")
     @Column(name = "faculty", nullable = false)
-    @Convert(converter = FacultyListAttributeConverter.class)
+    @Convert(converter = FacultyAttributeConverter.class)
     private List<Faculty> faculty;
 
+    /**
+     * The last time the password or faculties changed; refresh tokens issued before it are revoked.
+     */
+    @Column(name = "credentials_changed_at")
+    private Instant credentialsChangedAt;
+
     /**
      * Create new application user.
      *
@@ -64,11 +84,28 @@ public class AppUser extends HasEvents {
         this.recordThat(new UserWasCreatedEvent(this.netId));
     }
 
+    /**
+     * Changes the password of the user.
+     *
+     * @param password the new password hash
+     */
     public void changePassword(HashedPassword password) {
         this.password = password;
+        this.credentialsChangedAt = Instant.now();
         this.recordThat(new PasswordWasChangedEvent(this));
     }
 
+    /**
+     * Changes the faculties of the user.
+     *
+     * @param faculty the new faculties
+     */
+    public void changeFaculty(List<Faculty> faculty) {
+        this.faculty = faculty;
+        this.credentialsChangedAt = Instant.now();
+        this.recordThat(new FacultyWasChangedEvent(this.netId));
+    }
+
     public NetId getNetId() {
         return netId;
     }
@@ -85,6 +122,10 @@ public class AppUser extends HasEvents {
         return faculty;
     }
 
+    public Instant getCredentialsChangedAt() {
+        return credentialsChangedAt;
+    }
+
     /**
      * Equality is only based on the identifier.
      */
@@ -0,0 +1,102 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import commons.Faculty;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the set of faculties that have at least one user, so it can be served without reading every user.
+ * The set is read from the database on first use and then kept up to date by the FacultyDirectoryListener:
+ * added faculties are added right away, and a removed faculty makes the next read load the set again,
+ * as another user may still belong to it.
+ */
+@Service
+public class FacultyDirectory {
+
+    private final transient UserRepository userRepository;
+
+    private transient SortedSet<String> faculties;
+    private transient Snapshot snapshot;
+
+    public FacultyDirectory(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns the faculties that have at least one user, with their entity tag.
+     *
+     * @return the current faculties
+     */
+    public synchronized Snapshot getSnapshot() {
+        if (faculties == null) {
+            faculties = new TreeSet<>();
+            faculties.addAll(userRepository.findDistinctFaculties());
+            snapshot = null;
+        }
+        if (snapshot == null) {
+            snapshot = new Snapshot(List.copyOf(faculties));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records that a user now belongs to the added faculties and no longer to the removed ones.
+     *
+     * @param added faculties the user was added to
+     * @param removed faculties the user was removed from
+     */
+    public synchronized void changed(Collection<Faculty> added, Collection<Faculty> removed) {
+        if (faculties == null) {
+            return;
+        }
+        List<String> removedNames = names(removed);
+        removedNames.removeAll(names(added));
+        if (!removedNames.isEmpty()) {
+            invalidate();
+            return;
+        }
+        if (faculties.addAll(names(added))) {
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Makes the next read load the faculties from the database again.
+     */
+    public synchronized void invalidate() {
+        faculties = null;
+    }
+
+    private static List<String> names(Collection<Faculty> faculties) {
+        List<String> names = new ArrayList<>();
+        if (faculties != null) {
+            faculties.forEach(f -> names.add(f.toString()));
+        }
+        return names;
+    }
+
+    /**
+     * The faculties at one moment, with an entity tag that changes whenever they do.
+     */
+    public static final class Snapshot {
+        private final transient List<String> faculties;
+        private final transient String etag;
+
+        Snapshot(List<String> faculties) {
+            this.faculties = faculties;
+            this.etag = "\"" + Integer.toHexString(String.join(";", faculties).hashCode()) + "\"";
+        }
+
+        public List<String> getFaculties() {
+            return faculties;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import commons.Faculty;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Passes the faculties that Hibernate wrote to or removed from the user_faculties table to the FacultyDirectory,
+ * once the transaction has committed.
+ * A new or replaced faculty list is added, a removed or changed one makes the directory load the faculties again.
+ */
+@Component
+public class FacultyDirectoryListener implements PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    static final long serialVersionUID = 5012876943720148571L;
+
+    private final transient EntityManagerFactory entityManagerFactory;
+    private final transient FacultyDirectory directory;
+
+    public FacultyDirectoryListener(EntityManagerFactory entityManagerFactory, FacultyDirectory directory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.directory = directory;
+    }
+
+    /**
+     * Registers the listener with Hibernate.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        if (isFacultiesOfUser(event)) {
+            List<Faculty> added = elements(event);
+            afterCommit(() -> directory.changed(added, List.of()));
+        }
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        if (isFacultiesOfUser(event)) {
+            // the elements that were removed in place are not known anymore
+            afterCommit(directory::invalidate);
+        }
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        if (isFacultiesOfUser(event)) {
+            List<Faculty> removed = elements(event);
+            afterCommit(() -> directory.changed(List.of(), removed));
+        }
+    }
+
+    private static boolean isFacultiesOfUser(AbstractCollectionEvent event) {
+        return event.getAffectedOwnerOrNull() instanceof AppUser;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Faculty> elements(AbstractCollectionEvent event) {
+        return new ArrayList<>((Collection<Faculty>) event.getCollection());
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or right away outside a transaction.
+     * Nothing is run when the transaction rolls back, as the faculties did not change.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import commons.NetId;
+
+/**
+ * A DDD domain event indicating the faculties of a user had changed.
+ */
+public class FacultyWasChangedEvent implements UserEvent {
+    private final NetId netId;
+
+    public FacultyWasChangedEvent(NetId netId) {
+        this.netId = netId;
+    }
+
+    @Override
+    public NetId getNetId() {
+        return this.netId;
+    }
+}
@@ -3,19 +3,33 @@ package nl.tudelft.sem.template.authentication.domain.user;
 import commons.Faculty;
 import commons.NetId;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * A DDD service for obtaining the faculty of a user.
+ * The faculties of a user are read through a cache, which is invalidated when they are changed.
  */
 @Service
 public class GetFacultyService {
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final int GENERATION_STRIPES = 64;
+
     private final transient UserRepository userRepository;
+    private final transient int cacheSize;
+    // keyed by the netId string, NetId has no value-based equality
+    private final transient Map<String, List<Faculty>> cache = new ConcurrentHashMap<>();
+    // a stripe is bumped when the faculties of one of its netIds change, so values loaded before are not cached
+    private final transient AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
 
     /**
      * Initiates a new getFaculty service.
@@ -23,73 +37,123 @@ public class GetFacultyService {
      * @param userRepository the user repository
      */
     public GetFacultyService(UserRepository userRepository) {
+        this(userRepository, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Initiates a new getFaculty service.
+     *
+     * @param userRepository the user repository
+     * @param cacheSize number of users whose faculties are cached
+     */
+    @Autowired
+    public GetFacultyService(UserRepository userRepository,
+                             @Value("${authentication.faculty-cache-size:10000}") int cacheSize) {
         this.userRepository = userRepository;
+        this.cacheSize = cacheSize;
     }
 
     /**
      * Retrieves the faculty of a user.
+     * A cache miss costs a single query.
      *
      * @param netId the netID of the user
-     * @return the faculty of the user
+     * @return unmodifiable list of the faculties of the user
      * @throws NetIdDoesNotExistException if the netID does not exist in the database
      */
     public List<Faculty> getFaculty(NetId netId) throws NetIdDoesNotExistException {
-        if (checkNetIdExists(netId)) {
-            Optional<AppUser> user = userRepository.findByNetId(netId);
-            if (user.isPresent()) {
-                return user.get().getFaculty();
-            }
-
-            throw new NetIdDoesNotExistException(netId);
+        String key = netId.toString();
+        // read before the lookup, so a change after it is noticed
+        long generation = generations.get(stripe(key));
+        List<Faculty> faculty = cache.get(key);
+        if (faculty != null) {
+            return faculty;
         }
-
-        throw new NetIdDoesNotExistException(netId);
+        makeRoom(1);
+        List<Faculty> loaded = userRepository.findByNetId(netId).map(u -> List.copyOf(u.getFaculty()))
+                .orElseThrow(() -> new NetIdDoesNotExistException(netId));
+        // the user is loaded outside the entry lock, so the value is only cached if nothing changed since
+        List<Faculty> cached = cache.compute(key, (k, current) -> current != null ? current
+                : generation == generations.get(stripe(k)) ? loaded : null);
+        return cached == null ? loaded : cached;
     }
 
     /**
-     * Retrieves all the faculties in the system.
+     * Retrieves the faculties of several users.
+     * The users that are not cached are loaded with a single query.
      *
-     * @return the faculties or an empty arraylist
+     * @param netIds the netIDs of the users
+     * @return the faculties per netID in the order of the request, netIDs that do not exist are left out
      */
-    public List<String> getFaculties() {
-        List<AppUser> users = userRepository.findAll();
-
-        List<Faculty> faculties = new ArrayList<>();
-        Set<String> set = new HashSet<>();
-        for (AppUser u : users) {
-            faculties.addAll(u.getFaculty());
+    public Map<String, List<Faculty>> getFacultiesOf(Collection<NetId> netIds) {
+        Map<String, List<Faculty>> result = new LinkedHashMap<>();
+        Map<String, Long> seen = new HashMap<>();
+        List<NetId> missing = new ArrayList<>();
+        for (NetId netId : netIds) {
+            String key = netId.toString();
+            // read before the lookup, so a change after it is noticed
+            seen.put(key, generations.get(stripe(key)));
+            List<Faculty> faculty = cache.get(key);
+            result.put(key, faculty);
+            if (faculty == null) {
+                missing.add(netId);
+            }
         }
-
-        for (Faculty f : faculties) {
-            set.add(f.toString());
+        if (!missing.isEmpty()) {
+            makeRoom(missing.size());
+            for (AppUser user : userRepository.findAllByNetIdIn(missing)) {
+                String key = user.getNetId().toString();
+                List<Faculty> loaded = List.copyOf(user.getFaculty());
+                // the users are loaded outside the entry locks, so the value is only cached if nothing changed since
+                List<Faculty> cached = cache.compute(key, (k, current) -> current != null ? current
+                        : Objects.equals(seen.get(k), generations.get(stripe(k))) ? loaded : null);
+                result.put(key, cached == null ? loaded : cached);
+            }
         }
-        return new ArrayList<>(set);
+        result.values().removeIf(Objects::isNull);
+        return result;
     }
 
     /**
-     * Retrieves all the faculties in the system.
+     * Changes the faculties of a user and drops the user from the cache.
      *
-     * @return the faculties or an empty arraylist
+     * @param netId the netID of the user
+     * @param faculties the new faculties of the user
+     * @return the changed user
+     * @throws NetIdDoesNotExistException if the netID does not exist in the database
      */
     public AppUser changeFaculty(NetId netId, List<Faculty> faculties) throws NetIdDoesNotExistException {
-        if (checkNetIdExists(netId)) {
-            Optional<AppUser> user = userRepository.findByNetId(netId);
-
-            if (user.isPresent()) {
-                AppUser u = user.get();
-                u.setFaculty(faculties);
-                userRepository.save(u);
-                return u;
-            }
+        AppUser user = userRepository.findByNetId(netId).orElseThrow(() -> new NetIdDoesNotExistException(netId));
+        user.changeFaculty(faculties);
+        userRepository.save(user);
+        cache.compute(netId.toString(), (k, current) -> {
+            generations.incrementAndGet(stripe(k));
+            return null;
+        });
+        return user;
+    }
 
-            throw new NetIdDoesNotExistException(netId);
-        }
+    public boolean checkNetIdExists(NetId netId) {
+        return userRepository.existsByNetId(netId);
+    }
 
-        throw new NetIdDoesNotExistException(netId);
+    /**
+     * Returns the number of users whose faculties are cached.
+     *
+     * @return the size of the cache
+     */
+    public int getCacheSize() {
+        return cache.size();
     }
 
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
 
-    public boolean checkNetIdExists(NetId netId) {
-        return userRepository.existsByNetId(netId);
+    private void makeRoom(int entries) {
+        // the lookups are cheap to redo, so a full cache is simply emptied instead of tracking usage
+        if (cache.size() + entries > cacheSize) {
+            cache.clear();
+        }
     }
 }
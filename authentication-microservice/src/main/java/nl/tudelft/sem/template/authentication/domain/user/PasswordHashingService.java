@@ -1,5 +1,8 @@
 package nl.tudelft.sem.template.authentication.domain.user;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.authentication.authentication.BoundedPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -16,4 +19,19 @@ public class PasswordHashingService {
     public HashedPassword hash(Password password) {
         return new HashedPassword(encoder.encode(password.toString()));
     }
+
+    /**
+     * Hashes several passwords, in parallel when the encoder hashes on a pool of its own.
+     *
+     * @param passwords the passwords to hash
+     * @return the hashed passwords, in the order of the passwords
+     */
+    public List<HashedPassword> hashAll(List<Password> passwords) {
+        if (encoder instanceof BoundedPasswordEncoder) {
+            List<String> raw = passwords.stream().map(Password::toString).collect(Collectors.toList());
+            return ((BoundedPasswordEncoder) encoder).encodeAll(raw).stream()
+                    .map(HashedPassword::new).collect(Collectors.toList());
+        }
+        return passwords.stream().map(this::hash).collect(Collectors.toList());
+    }
 }
@@ -1,9 +1,11 @@
 package nl.tudelft.sem.template.authentication.domain.user;
 
+import commons.NetId;
+
 /**
  * A DDD domain event indicating a password had changed.
  */
-public class PasswordWasChangedEvent {
+public class PasswordWasChangedEvent implements UserEvent {
     private final AppUser user;
 
     public PasswordWasChangedEvent(AppUser user) {
@@ -13,4 +15,9 @@ public class PasswordWasChangedEvent {
     public AppUser getUser() {
         return this.user;
     }
+
+    @Override
+    public NetId getNetId() {
+        return this.user.getNetId();
+    }
 }
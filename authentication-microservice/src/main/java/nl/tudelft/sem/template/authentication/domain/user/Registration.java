@@ -0,0 +1,47 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import commons.Faculty;
+import commons.NetId;
+import commons.Role;
+import java.util.ArrayList;
+
+/**
+ * The details of one user in a bulk registration.
+ */
+public class Registration {
+    private final transient NetId netId;
+    private final transient Password password;
+    private final transient Role role;
+    private final transient ArrayList<Faculty> faculty;
+
+    /**
+     * Creates the registration of a user.
+     *
+     * @param netId the NetID of the user
+     * @param password the password of the user
+     * @param role the role of the user
+     * @param faculty the faculties of the user
+     */
+    public Registration(NetId netId, Password password, Role role, ArrayList<Faculty> faculty) {
+        this.netId = netId;
+        this.password = password;
+        this.role = role;
+        this.faculty = faculty;
+    }
+
+    public NetId getNetId() {
+        return netId;
+    }
+
+    public Password getPassword() {
+        return password;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public ArrayList<Faculty> getFaculty() {
+        return faculty;
+    }
+}
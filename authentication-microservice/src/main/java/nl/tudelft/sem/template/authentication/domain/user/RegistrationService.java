@@ -4,6 +4,11 @@ import commons.Faculty;
 import commons.NetId;
 import commons.Role;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 /**
@@ -50,6 +55,60 @@ public class RegistrationService {
         throw new NetIdAlreadyInUseException(netId);
     }
 
+    /**
+     * Register many users at once, such as at the start of an academic year.
+     * The NetIDs in use are looked up with one query, the passwords of the new users are hashed in parallel
+     * and the users are inserted in batches in one transaction.
+     * A NetID that is already in use, or that occurs earlier in the list, is skipped.
+     * When another registration takes one of the NetIDs between the lookup and the insert, the batch is rolled back
+     * and the users are inserted one by one instead, skipping the ones whose NetID was taken.
+     *
+     * @param registrations the users to register
+     * @return the users that were registered
+     */
+    public List<AppUser> registerUsers(List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return List.of();
+        }
+        List<NetId> netIds = registrations.stream().map(Registration::getNetId).collect(Collectors.toList());
+        // NetIds are compared by their value
+        Set<String> taken = new HashSet<>();
+        userRepository.findExistingNetIds(netIds).forEach(netId -> taken.add(netId.toString()));
+        List<Registration> fresh = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (taken.add(registration.getNetId().toString())) {
+                fresh.add(registration);
+            }
+        }
+
+        List<HashedPassword> hashedPasswords = passwordHashingService.hashAll(
+                fresh.stream().map(Registration::getPassword).collect(Collectors.toList()));
+        try {
+            return userRepository.saveAll(newUsers(fresh, hashedPasswords));
+        } catch (DataIntegrityViolationException e) {
+            // the users of the failed batch carry the ids of the rolled back rows, so new ones are created
+            List<AppUser> saved = new ArrayList<>();
+            for (AppUser user : newUsers(fresh, hashedPasswords)) {
+                try {
+                    saved.add(userRepository.save(user));
+                } catch (DataIntegrityViolationException inUse) {
+                    // registered by someone else since the lookup
+                }
+            }
+            return saved;
+        }
+    }
+
+    private static List<AppUser> newUsers(List<Registration> registrations, List<HashedPassword> hashedPasswords) {
+        List<AppUser> users = new ArrayList<>(registrations.size());
+        for (int i = 0; i < registrations.size(); i++) {
+            Registration registration = registrations.get(i);
+            users.add(new AppUser(registration.getNetId(), hashedPasswords.get(i), registration.getRole(),
+                    registration.getFaculty()));
+        }
+        return users;
+    }
+
     public boolean checkNetIdIsUnique(NetId netId) {
         return !userRepository.existsByNetId(netId);
     }
@@ -0,0 +1,15 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import commons.NetId;
+
+/**
+ * A DDD domain event about one user.
+ */
+public interface UserEvent {
+    /**
+     * Returns the NetID of the user the event is about.
+     *
+     * @return the NetID of the user
+     */
+    NetId getNetId();
+}
@@ -1,6 +1,9 @@
 package nl.tudelft.sem.template.authentication.domain.user;
 
+import commons.Faculty;
 import commons.NetId;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,5 +26,41 @@ public interface UserRepository extends JpaRepository<AppUser, String> {
      */
     boolean existsByNetId(NetId netId);
 
+    /**
+     * Find the users with one of the NetIDs, in a single query.
+     */
+    List<AppUser> findAllByNetIdIn(Collection<NetId> netIds);
+
     List<AppUser> findAll();
+
+    /**
+     * Find the last time the password or faculties of a user changed, without loading the user.
+     */
+    @Query("SELECT u.credentialsChangedAt FROM AppUser u WHERE u.netId = ?1")
+    Optional<Instant> findCredentialsChangedAt(NetId netId);
+
+    /**
+     * Find which of the NetIDs are already in use, in a single query that does not load the users.
+     */
+    @Query("SELECT u.netId FROM AppUser u WHERE u.netId IN ?1")
+    List<NetId> findExistingNetIds(Collection<NetId> netIds);
+
+    /**
+     * Find the names of all faculties that have at least one user.
+     */
+    @Query(nativeQuery = true, value = "SELECT DISTINCT faculty FROM user_faculties")
+    List<String> findDistinctFaculties();
+
+    /**
+     * Find the NetIDs of all users of a faculty, through the faculty index of the join table.
+     */
+    @Query("SELECT u.netId FROM AppUser u JOIN u.faculty f WHERE f = ?1 ORDER BY u.netId")
+    List<NetId> findNetIdsByFaculty(Faculty faculty);
+
+    /**
+     * Check if a user belongs to a faculty.
+     */
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END "
+            + "FROM AppUser u JOIN u.faculty f WHERE u.netId = ?1 AND f = ?2")
+    boolean isMemberOf(NetId netId, Faculty faculty);
 }
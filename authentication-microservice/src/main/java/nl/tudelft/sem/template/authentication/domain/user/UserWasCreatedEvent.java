@@ -5,13 +5,14 @@ import commons.NetId;
 /**
  * A DDD domain event that indicated a user was created.
  */
-public class UserWasCreatedEvent {
+public class UserWasCreatedEvent implements UserEvent {
     private final NetId netId;
 
     public UserWasCreatedEvent(NetId netId) {
         this.netId = netId;
     }
 
+    @Override
     public NetId getNetId() {
         return this.netId;
     }
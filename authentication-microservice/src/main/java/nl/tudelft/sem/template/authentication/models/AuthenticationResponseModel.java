@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AuthenticationResponseModel {
     private String token;
+    private String refreshToken;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import lombok.Data;
+
+/**
+ * Model representing a request for a new access token.
+ */
+@Data
+public class RefreshRequestModel {
+    private String refreshToken;
+}
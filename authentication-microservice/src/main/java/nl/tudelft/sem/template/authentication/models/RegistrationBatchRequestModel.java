@@ -0,0 +1,12 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Model representing the registration of several users at once.
+ */
+@Data
+public class RegistrationBatchRequestModel {
+    private List<RegistrationRequestModel> users;
+}
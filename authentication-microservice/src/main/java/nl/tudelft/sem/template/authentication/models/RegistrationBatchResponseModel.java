@@ -0,0 +1,16 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model representing the outcome of a batch registration, one result per requested user in request order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationBatchResponseModel {
+    private List<RegistrationResultModel> results;
+}
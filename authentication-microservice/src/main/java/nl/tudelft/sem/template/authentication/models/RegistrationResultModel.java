@@ -0,0 +1,20 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model representing the outcome of the registration of one user in a batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationResultModel {
+    public static final String CREATED = "CREATED";
+    public static final String NETID_IN_USE = "NETID_IN_USE";
+    public static final String INVALID = "INVALID";
+
+    private String netId;
+    private String status;
+}
@@ -0,0 +1,145 @@
+package nl.tudelft.sem.template.authentication.application.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import commons.NetId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import nl.tudelft.sem.template.authentication.domain.RecordedEvent;
+import nl.tudelft.sem.template.authentication.domain.events.OutboxEvent;
+import nl.tudelft.sem.template.authentication.domain.events.OutboxEventRepository;
+import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
+import nl.tudelft.sem.template.authentication.domain.user.UserWasCreatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class DomainEventBusTests {
+
+    private transient OutboxEventRepository outbox;
+    private transient ApplicationEventPublisher publisher;
+    private transient SimpleMeterRegistry registry;
+    private transient DomainEventBus bus;
+
+    /**
+     * Creates a bus with one thread and room for one waiting event.
+     */
+    @BeforeEach
+    public void setup() {
+        outbox = mock(OutboxEventRepository.class);
+        publisher = mock(ApplicationEventPublisher.class);
+        registry = new SimpleMeterRegistry();
+        bus = new DomainEventBus(outbox, mock(UserRepository.class), publisher, registry, 1, 1, 5000);
+    }
+
+    @AfterEach
+    public void stop() {
+        bus.stop();
+    }
+
+    private OutboxEvent stored(long id, String type, int attempts) {
+        OutboxEvent event = mock(OutboxEvent.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getType()).thenReturn(type);
+        when(event.getNetId()).thenReturn("andy");
+        when(event.getRecordedAt()).thenReturn(Instant.now().minusSeconds(1));
+        when(event.getAttempts()).thenReturn(attempts);
+        when(outbox.findById(id)).thenReturn(Optional.of(event));
+        return event;
+    }
+
+    @Test
+    public void recordedEventIsStoredAndDelivered() {
+        OutboxEvent event = stored(1L, "UserWasCreatedEvent", 0);
+        when(outbox.save(any())).thenReturn(event);
+
+        bus.onRecorded(new RecordedEvent(new UserWasCreatedEvent(new NetId("andy"))));
+
+        verify(outbox).save(argThat(e -> e.getType().equals("UserWasCreatedEvent") && e.getNetId().equals("andy")));
+        verify(publisher, timeout(5000)).publishEvent(argThat((Object e) -> e instanceof UserWasCreatedEvent
+                && ((UserWasCreatedEvent) e).getNetId().toString().equals("andy")));
+        verify(outbox, timeout(5000)).deleteEvent(1L);
+        assertThat(registry.get("auth.events.delivered").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.events.lag").timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThan(0);
+    }
+
+    @Test
+    public void pollerDeliversLeftOverEvents() {
+        OutboxEvent event = stored(1L, "UserWasCreatedEvent", 0);
+        when(outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(any())).thenReturn(List.of(event));
+
+        bus.dispatchPending();
+
+        verify(outbox).findTop100ByRecordedAtBeforeOrderByIdAsc(argThat(moment ->
+                moment.isBefore(Instant.now().minusMillis(4000))));
+        verify(publisher, timeout(5000)).publishEvent(any(UserWasCreatedEvent.class));
+        verify(outbox, timeout(5000)).deleteEvent(1L);
+    }
+
+    @Test
+    public void failedEventIsCountedAndDroppedAfterMaxAttempts() {
+        doThrow(new IllegalStateException("listener down")).when(publisher).publishEvent(any(Object.class));
+        OutboxEvent first = stored(1L, "UserWasCreatedEvent", 0);
+        OutboxEvent last = stored(2L, "UserWasCreatedEvent", DomainEventBus.MAX_ATTEMPTS - 1);
+        when(outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(any())).thenReturn(List.of(first, last));
+
+        bus.dispatchPending();
+
+        verify(outbox, timeout(5000)).countAttempt(1L);
+        verify(outbox, timeout(5000)).deleteEvent(2L);
+        verify(outbox, never()).deleteEvent(1L);
+        assertThat(registry.get("auth.events.failed").counter().count()).isEqualTo(2);
+        assertThat(registry.get("auth.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void unknownEventIsCountedAsFailure() {
+        OutboxEvent event = stored(1L, "UnknownEvent", 0);
+        when(outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(any())).thenReturn(List.of(event));
+
+        bus.dispatchPending();
+
+        verify(outbox, timeout(5000)).countAttempt(1L);
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void fullPoolLeavesEventInOutbox() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(publisher).publishEvent(any(Object.class));
+        OutboxEvent running = stored(1L, "UserWasCreatedEvent", 0);
+        OutboxEvent waiting = stored(2L, "UserWasCreatedEvent", 0);
+        OutboxEvent deferred = stored(3L, "UserWasCreatedEvent", 0);
+        when(outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(any())).thenReturn(List.of(running));
+        bus.dispatchPending();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        when(outbox.findTop100ByRecordedAtBeforeOrderByIdAsc(any())).thenReturn(List.of(running, waiting, deferred));
+        bus.dispatchPending();
+
+        assertThat(registry.get("auth.events.deferred").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.events.queued").gauge().value()).isEqualTo(1);
+        release.countDown();
+        verify(outbox, timeout(5000)).deleteEvent(2L);
+        verify(outbox, never()).deleteEvent(3L);
+    }
+}
@@ -0,0 +1,123 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class BoundedPasswordEncoderTests {
+
+    private transient SimpleMeterRegistry registry;
+    private transient CountDownLatch release;
+    private transient CountDownLatch started;
+    private transient BoundedPasswordEncoder encoder;
+
+    /**
+     * Creates an encoder with one thread and a queue of one, whose hashes wait until they are released.
+     */
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        release = new CountDownLatch(0);
+        started = new CountDownLatch(1);
+        PasswordEncoder delegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(delegate, registry, 1, 1, 5000);
+    }
+
+    @AfterEach
+    public void stop() {
+        release = new CountDownLatch(0);
+        encoder.stop();
+    }
+
+    @Test
+    public void hashesOnPool() {
+        assertThat(encoder.encode("pw")).isEqualTo("hashed-pw");
+        assertThat(encoder.matches("pw", "hashed-pw")).isTrue();
+        assertThat(encoder.matches("other", "hashed-pw")).isFalse();
+
+        assertThat(registry.get("auth.hashing.time").timer().count()).isEqualTo(3);
+        assertThat(registry.get("auth.hashing.queue.wait").timer().count()).isEqualTo(3);
+        assertThat(registry.get("auth.hashing.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    public void fullQueueRejects() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (registry.get("auth.hashing.queued").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatExceptionOfType(PasswordHashingUnavailableException.class)
+                .isThrownBy(() -> encoder.encode("c"))
+                .withMessage("HASHING_BUSY");
+        assertThat(registry.get("auth.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-b");
+    }
+
+    @Test
+    public void encodeAllKeepsQueueFree() {
+        List<String> hashes = encoder.encodeAll(List.of("a", "b", "c", "d"));
+
+        // four passwords on one thread with a queue of one: handing them over at once would have been rejected
+        assertThat(hashes).containsExactly("hashed-a", "hashed-b", "hashed-c", "hashed-d");
+        assertThat(registry.get("auth.hashing.time").timer().count()).isEqualTo(4);
+        assertThat(registry.get("auth.hashing.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    public void slowHashTimesOut() {
+        release = new CountDownLatch(1);
+        encoder.stop();
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        }, registry, 1, 1, 50);
+
+        assertThatExceptionOfType(PasswordHashingUnavailableException.class)
+                .isThrownBy(() -> encoder.encode("a"))
+                .withMessage("HASHING_TIMEOUT");
+    }
+}
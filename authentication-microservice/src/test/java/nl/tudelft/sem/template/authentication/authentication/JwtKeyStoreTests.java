@@ -0,0 +1,72 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import commons.JwkModel;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JwtKeyStoreTests {
+    private static final long TOKEN_VALIDITY = 15 * 60 * 1000;
+
+    private transient TimeProvider timeProvider;
+    private transient Instant now = Instant.parse("2021-12-31T13:25:34.00Z");
+    private transient JwtKeyStore keyStore;
+
+    /**
+     * Creates a key store whose clock can be moved.
+     */
+    @BeforeEach
+    public void setup() {
+        timeProvider = mock(TimeProvider.class);
+        when(timeProvider.getCurrentTime()).thenAnswer(invocation -> now);
+        keyStore = new JwtKeyStore(timeProvider, TOKEN_VALIDITY);
+    }
+
+    private List<String> publishedKeyIds() {
+        return keyStore.getKeySet().getKeys().stream().map(JwkModel::getKid).collect(Collectors.toList());
+    }
+
+    @Test
+    public void publishesCurrentAndNextKey() throws Exception {
+        List<String> keyIds = publishedKeyIds();
+
+        assertThat(keyIds).hasSize(2).startsWith(keyStore.getSigningKey().getKeyId());
+        JwkModel current = keyStore.getKeySet().getKeys().get(0);
+        assertThat(current.getAlg()).isEqualTo("RS256");
+        assertThat(current.toPublicKey()).isEqualTo(keyStore.getSigningKey().getPublicKey());
+    }
+
+    @Test
+    public void rotationSignsWithPublishedNextKey() {
+        List<String> before = publishedKeyIds();
+
+        keyStore.rotate();
+
+        assertThat(keyStore.getSigningKey().getKeyId()).isEqualTo(before.get(1));
+        assertThat(publishedKeyIds()).hasSize(3).containsSubsequence(before);
+    }
+
+    @Test
+    public void replacedKeyIsDroppedWhenItsTokensHaveExpired() {
+        String replaced = keyStore.getSigningKey().getKeyId();
+        keyStore.rotate();
+        assertThat(keyStore.resolve(replaced)).isNotNull();
+
+        now = now.plusMillis(TOKEN_VALIDITY);
+
+        assertThat(keyStore.resolve(replaced)).isNull();
+        assertThat(publishedKeyIds()).hasSize(2).doesNotContain(replaced);
+    }
+
+    @Test
+    public void unknownKeyIsNotResolved() {
+        assertThat(keyStore.resolve("unknown")).isNull();
+    }
+}
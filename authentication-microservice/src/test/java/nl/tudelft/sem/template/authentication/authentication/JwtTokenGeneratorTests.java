@@ -8,8 +8,11 @@ import commons.Faculties;
 import commons.Role;
 import commons.RoleValue;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import java.lang.reflect.Field;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -26,7 +29,7 @@ public class JwtTokenGeneratorTests {
     private transient TimeProvider timeProvider;
     private transient Instant mockedTime = Instant.parse("2021-12-31T13:25:34.00Z");
 
-    private final String secret = "testSecret123";
+    private transient JwtKeyStore keyStore;
 
     private String netId = "andy";
     private UserDetails user;
@@ -35,12 +38,12 @@ public class JwtTokenGeneratorTests {
      * Set up mocks.
      */
     @BeforeEach
-    public void setup() throws NoSuchFieldException, IllegalAccessException {
+    public void setup() {
         timeProvider = mock(TimeProvider.class);
         when(timeProvider.getCurrentTime()).thenReturn(mockedTime);
 
-        jwtTokenGenerator = new JwtTokenGenerator(timeProvider);
-        this.injectSecret(secret);
+        keyStore = new JwtKeyStore(timeProvider, JwtTokenGenerator.JWT_TOKEN_VALIDITY);
+        jwtTokenGenerator = new JwtTokenGenerator(timeProvider, keyStore);
         List<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new Role(RoleValue.EMPLOYEE));
         authorities.add(new Faculties("EEMCS"));
@@ -64,7 +67,7 @@ public class JwtTokenGeneratorTests {
 
         // Assert
         Claims claims = getClaims(token);
-        assertThat(claims.getExpiration()).isEqualTo(mockedTime.plus(1, ChronoUnit.DAYS).toString());
+        assertThat(claims.getExpiration()).isEqualTo(mockedTime.plus(15, ChronoUnit.MINUTES).toString());
     }
 
     @Test
@@ -77,17 +80,59 @@ public class JwtTokenGeneratorTests {
         assertThat(claims.getSubject()).isEqualTo(netId);
     }
 
+    @Test
+    public void generatedTokenHasFacultyList() {
+        List<GrantedAuthority> authorities = new ArrayList<>(user.getAuthorities());
+        authorities.add(new Faculties("3ME"));
+        user = new User(netId, "someHash", authorities);
+
+        // Act
+        String token = jwtTokenGenerator.generateToken(user);
+
+        // Assert
+        Claims claims = getClaims(token);
+        assertThat(claims.get("role")).isEqualTo("EMPLOYEE");
+        assertThat(claims.get("faculty")).isEqualTo(List.of("3ME", "EEMCS"));
+    }
+
+    @Test
+    public void generatedTokenNamesSigningKey() {
+        // Act
+        String token = jwtTokenGenerator.generateToken(user);
+
+        // Assert
+        JwsHeader<?> header = getJws(token).getHeader();
+        assertThat(header.getAlgorithm()).isEqualTo("RS256");
+        assertThat(header.getKeyId()).isEqualTo(keyStore.getSigningKey().getKeyId());
+    }
+
+    @Test
+    public void tokenSignedBeforeRotationStillVerifies() {
+        String token = jwtTokenGenerator.generateToken(user);
+
+        // Act
+        keyStore.rotate();
+
+        // Assert
+        assertThat(keyStore.getSigningKey().getKeyId()).isNotEqualTo(getJws(token).getHeader().getKeyId());
+        assertThat(getClaims(token).getSubject()).isEqualTo(netId);
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .setAllowedClockSkewSeconds(Integer.MAX_VALUE)
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
+        return getJws(token).getBody();
     }
 
-    private void injectSecret(String secret) throws NoSuchFieldException, IllegalAccessException {
-        Field declaredField = jwtTokenGenerator.getClass().getDeclaredField("jwtSecret");
-        declaredField.setAccessible(true);
-        declaredField.set(jwtTokenGenerator, secret);
+    private Jws<Claims> getJws(String token) {
+        return Jwts.parser()
+                .setAllowedClockSkewSeconds(Integer.MAX_VALUE)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    // the overridden jjwt 0.9.1 method takes a raw JwsHeader
+                    @SuppressWarnings("rawtypes")
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyStore.resolve(header.getKeyId());
+                    }
+                })
+                .parseClaimsJws(token);
     }
 }
@@ -2,13 +2,24 @@ package nl.tudelft.sem.template.authentication.authentication;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import commons.Faculty;
 import commons.NetId;
 import commons.Role;
 import commons.RoleValue;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
 import nl.tudelft.sem.template.authentication.domain.user.AppUser;
+import nl.tudelft.sem.template.authentication.domain.user.FacultyWasChangedEvent;
+import nl.tudelft.sem.template.authentication.domain.user.GetFacultyService;
 import nl.tudelft.sem.template.authentication.domain.user.HashedPassword;
 import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
 import org.assertj.core.api.ThrowableAssert;
@@ -16,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.annotation.DirtiesContext;
@@ -32,6 +44,9 @@ public class JwtUserDetailsServiceTests {
     @Autowired
     private transient UserRepository userRepository;
 
+    @Autowired
+    private transient GetFacultyService getFacultyService;
+
     @Test
     public void loadUserByUsername_withValidUser_returnsCorrectUser() {
         // Arrange
@@ -51,6 +66,8 @@ public class JwtUserDetailsServiceTests {
         // Assert
         assertThat(actual.getUsername()).isEqualTo(testUser.toString());
         assertThat(actual.getPassword()).isEqualTo(testHashedPassword.toString());
+        assertThat(actual.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("EMPLOYEE", "EEMCS", "3ME");
     }
 
     @Test
@@ -74,4 +91,91 @@ public class JwtUserDetailsServiceTests {
         assertThatExceptionOfType(UsernameNotFoundException.class)
                 .isThrownBy(action);
     }
+
+    @Test
+    public void loadTokenDetails_afterAuthentication_usesCache() {
+        final NetId testUser = new NetId("SomeUser");
+        final ArrayList<Faculty> faculties = new ArrayList<>();
+        faculties.add(new Faculty("EEMCS"));
+        AppUser appUser = new AppUser(testUser, new HashedPassword("password123Hash"), new Role(RoleValue.EMPLOYEE),
+                faculties);
+        userRepository.save(appUser);
+        jwtUserDetailsService.loadUserByUsername(testUser.toString());
+
+        // the user is gone from the database, but its details were kept from the authentication
+        userRepository.deleteAll();
+        UserDetails actual = jwtUserDetailsService.loadTokenDetails(testUser.toString());
+
+        assertThat(actual.getUsername()).isEqualTo(testUser.toString());
+        assertThat(actual.getPassword()).isEmpty();
+        assertThat(actual.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("EMPLOYEE", "EEMCS");
+    }
+
+    @Test
+    public void loadTokenDetails_afterFacultyChange_readsUserAgain() throws Exception {
+        final NetId testUser = new NetId("SomeUser");
+        final ArrayList<Faculty> faculties = new ArrayList<>();
+        faculties.add(new Faculty("EEMCS"));
+        userRepository.save(new AppUser(testUser, new HashedPassword("password123Hash"), new Role(RoleValue.EMPLOYEE),
+                faculties));
+        jwtUserDetailsService.loadTokenDetails(testUser.toString());
+
+        getFacultyService.changeFaculty(testUser, List.of(new Faculty("3ME")));
+
+        // the cached details are evicted by the event bus, shortly after the change
+        long deadline = System.currentTimeMillis() + 5000;
+        UserDetails actual = jwtUserDetailsService.loadTokenDetails(testUser.toString());
+        while (actual.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("3ME"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            actual = jwtUserDetailsService.loadTokenDetails(testUser.toString());
+        }
+        assertThat(actual.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("EMPLOYEE", "3ME");
+    }
+
+    @Test
+    public void loadTokenDetails_withNonexistentUser_throwsException() {
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> jwtUserDetailsService.loadTokenDetails("SomeUser"));
+    }
+
+    @Test
+    public void loadTokenDetails_afterTtl_readsUserAgain() {
+        UserRepository users = mock(UserRepository.class);
+        TimeProvider time = mock(TimeProvider.class);
+        when(time.getCurrentTime()).thenReturn(Instant.ofEpochMilli(0));
+        when(users.findByNetId(any())).thenReturn(Optional.of(new AppUser(new NetId("SomeUser"),
+                new HashedPassword("hash"), new Role(RoleValue.EMPLOYEE), new ArrayList<>(List.of(new Faculty("EEMCS"))))));
+        JwtUserDetailsService service = new JwtUserDetailsService(users, time, 10, 1000);
+
+        service.loadTokenDetails("SomeUser");
+        when(time.getCurrentTime()).thenReturn(Instant.ofEpochMilli(999));
+        service.loadTokenDetails("SomeUser");
+        verify(users, times(1)).findByNetId(any());
+
+        // the eviction may be lost, so the details are read again once they expired
+        when(time.getCurrentTime()).thenReturn(Instant.ofEpochMilli(1000));
+        service.loadTokenDetails("SomeUser");
+        verify(users, times(2)).findByNetId(any());
+    }
+
+    @Test
+    public void loadTokenDetails_changedWhileLoading_isNotCached() {
+        UserRepository users = mock(UserRepository.class);
+        TimeProvider time = mock(TimeProvider.class);
+        when(time.getCurrentTime()).thenReturn(Instant.ofEpochMilli(0));
+        JwtUserDetailsService service = new JwtUserDetailsService(users, time, 10, 1000);
+        when(users.findByNetId(any())).thenAnswer(i -> {
+            // the faculty change is handled after the user was read, before its details are cached
+            service.onFacultyWasChanged(new FacultyWasChangedEvent(new NetId("SomeUser")));
+            return Optional.of(new AppUser(new NetId("SomeUser"), new HashedPassword("hash"),
+                    new Role(RoleValue.EMPLOYEE), new ArrayList<>(List.of(new Faculty("EEMCS")))));
+        });
+
+        service.loadTokenDetails("SomeUser");
+
+        assertThat(service.getCacheSize()).isZero();
+    }
 }
@@ -0,0 +1,87 @@
+package nl.tudelft.sem.template.authentication.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import nl.tudelft.sem.template.authentication.domain.providers.TimeProvider;
+import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RefreshTokenServiceTests {
+    private final transient String secret = "refreshSecret123";
+    private transient Instant now = Instant.parse("2021-12-31T13:25:34.00Z");
+    private transient TimeProvider timeProvider;
+    private transient UserRepository userRepository;
+    private transient RefreshTokenService service;
+
+    /**
+     * Creates the service with a mocked clock.
+     */
+    @BeforeEach
+    public void setup() throws NoSuchFieldException, IllegalAccessException {
+        timeProvider = mock(TimeProvider.class);
+        when(timeProvider.getCurrentTime()).thenAnswer(invocation -> now);
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialsChangedAt(any())).thenReturn(Optional.empty());
+        service = new RefreshTokenService(timeProvider, userRepository);
+        Field field = RefreshTokenService.class.getDeclaredField("refreshSecret");
+        field.setAccessible(true);
+        field.set(service, secret);
+    }
+
+    @Test
+    public void verifiesOwnToken() {
+        String token = service.generateToken("andy");
+
+        now = now.plus(6, ChronoUnit.DAYS);
+
+        assertThat(service.verify(token)).isEqualTo("andy");
+    }
+
+    @Test
+    public void expiredTokenIsRejected() {
+        String token = service.generateToken("andy");
+
+        now = now.plus(8, ChronoUnit.DAYS);
+
+        assertThatExceptionOfType(ExpiredJwtException.class).isThrownBy(() -> service.verify(token));
+    }
+
+    @Test
+    public void accessTokenIsRejected() {
+        String accessToken = Jwts.builder().setSubject("andy").signWith(SignatureAlgorithm.HS512, "otherSecret")
+                .compact();
+        String untyped = Jwts.builder().setSubject("andy").signWith(SignatureAlgorithm.HS512, secret).compact();
+
+        assertThatExceptionOfType(SignatureException.class).isThrownBy(() -> service.verify(accessToken));
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> service.verify(untyped))
+                .withMessage("Not a refresh token");
+    }
+
+    @Test
+    public void tokenIssuedBeforeCredentialsChangeIsRevoked() {
+        String token = service.generateToken("andy");
+        when(userRepository.findCredentialsChangedAt(any())).thenReturn(Optional.of(now.plusMillis(10)));
+        now = now.plus(1, ChronoUnit.HOURS);
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> service.verify(token))
+                .withMessage("Refresh token was revoked");
+
+        // a token from a later login is accepted again
+        String newToken = service.generateToken("andy");
+        assertThat(service.verify(newToken)).isEqualTo("andy");
+    }
+}
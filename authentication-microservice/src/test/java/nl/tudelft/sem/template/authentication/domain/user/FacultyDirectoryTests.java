@@ -0,0 +1,118 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.Faculty;
+import commons.NetId;
+import commons.Role;
+import commons.RoleValue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles({"test", "mockPasswordEncoder"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FacultyDirectoryTests {
+
+    @Autowired
+    private transient FacultyDirectory facultyDirectory;
+
+    @Autowired
+    private transient GetFacultyService getFacultyService;
+
+    @Autowired
+    private transient UserRepository userRepository;
+
+    private AppUser save(String netId, String... faculties) {
+        ArrayList<Faculty> list = new ArrayList<>();
+        for (String f : faculties) {
+            list.add(new Faculty(f));
+        }
+        return userRepository.save(new AppUser(new NetId(netId), new HashedPassword("hash"),
+                new Role(RoleValue.EMPLOYEE), list));
+    }
+
+    @Test
+    public void loadsDistinctFaculties() {
+        save("a", "EEMCS", "3ME");
+        save("b", "EEMCS");
+
+        FacultyDirectory.Snapshot snapshot = facultyDirectory.getSnapshot();
+
+        assertThat(snapshot.getFaculties()).containsExactly("3ME", "EEMCS");
+        assertThat(facultyDirectory.getSnapshot()).isSameAs(snapshot);
+    }
+
+    @Test
+    public void registeringAddsFaculty() {
+        save("a", "EEMCS");
+        String etag = facultyDirectory.getSnapshot().getEtag();
+
+        save("b", "AE");
+
+        FacultyDirectory.Snapshot snapshot = facultyDirectory.getSnapshot();
+        assertThat(snapshot.getFaculties()).containsExactly("AE", "EEMCS");
+        assertThat(snapshot.getEtag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void existingFacultyKeepsEtag() {
+        save("a", "EEMCS");
+        String etag = facultyDirectory.getSnapshot().getEtag();
+
+        save("b", "EEMCS");
+
+        assertThat(facultyDirectory.getSnapshot().getEtag()).isEqualTo(etag);
+    }
+
+    @Test
+    public void changeFacultyDropsFacultyWithoutUsers() throws Exception {
+        save("a", "EEMCS");
+        save("b", "3ME");
+        assertThat(facultyDirectory.getSnapshot().getFaculties()).containsExactly("3ME", "EEMCS");
+
+        getFacultyService.changeFaculty(new NetId("b"), List.of(new Faculty("EEMCS")));
+
+        assertThat(facultyDirectory.getSnapshot().getFaculties()).containsExactly("EEMCS");
+    }
+
+    @Test
+    public void deletingLastUserDropsFaculty() {
+        save("a", "EEMCS");
+        AppUser b = save("b", "AE");
+        assertThat(facultyDirectory.getSnapshot().getFaculties()).containsExactly("AE", "EEMCS");
+
+        userRepository.delete(b);
+
+        assertThat(facultyDirectory.getSnapshot().getFaculties()).containsExactly("EEMCS");
+    }
+
+    @Test
+    public void findsUsersOfFaculty() {
+        save("b", "EEMCS", "3ME");
+        save("a", "EEMCS");
+        save("c", "AE");
+
+        assertThat(userRepository.findNetIdsByFaculty(new Faculty("EEMCS"))).extracting(NetId::toString)
+                .containsExactly("a", "b");
+        assertThat(userRepository.findNetIdsByFaculty(new Faculty("TPM"))).isEmpty();
+    }
+
+    @Test
+    public void checksMembership() {
+        save("a", "EEMCS", "3ME");
+        save("b", "AE");
+
+        assertThat(userRepository.isMemberOf(new NetId("a"), new Faculty("3ME"))).isTrue();
+        assertThat(userRepository.isMemberOf(new NetId("a"), new Faculty("AE"))).isFalse();
+        assertThat(userRepository.isMemberOf(new NetId("c"), new Faculty("AE"))).isFalse();
+    }
+}
@@ -0,0 +1,155 @@
+package nl.tudelft.sem.template.authentication.domain.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import commons.Faculty;
+import commons.NetId;
+import commons.Role;
+import commons.RoleValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GetFacultyServiceTests {
+    private transient UserRepository userRepository;
+    private transient GetFacultyService service;
+    private transient Map<String, AppUser> users;
+
+    /**
+     * Sets up a service with room for two users in front of a mocked repository.
+     */
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        service = new GetFacultyService(userRepository, 2);
+        users = new HashMap<>();
+        when(userRepository.findByNetId(any())).thenAnswer(i ->
+                Optional.ofNullable(users.get(i.getArgument(0).toString())));
+    }
+
+    private AppUser user(String netId, String... faculties) {
+        ArrayList<Faculty> list = new ArrayList<>();
+        for (String f : faculties) {
+            list.add(new Faculty(f));
+        }
+        AppUser user = new AppUser(new NetId(netId), new HashedPassword("hash"), new Role(RoleValue.EMPLOYEE), list);
+        users.put(netId, user);
+        return user;
+    }
+
+    @Test
+    public void lookupIsOneQueryAndCached() throws Exception {
+        user("itomov", "EEMCS", "3ME");
+
+        List<Faculty> first = service.getFaculty(new NetId("itomov"));
+        List<Faculty> second = service.getFaculty(new NetId("itomov"));
+
+        assertThat(first).extracting(Faculty::toString).containsExactly("EEMCS", "3ME");
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByNetId(any());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    public void unknownUserIsNotCached() {
+        user("itomov", "EEMCS");
+
+        assertThatExceptionOfType(NetIdDoesNotExistException.class)
+                .isThrownBy(() -> service.getFaculty(new NetId("mlica")));
+        assertThat(service.getCacheSize()).isZero();
+    }
+
+    @Test
+    public void changeFacultyInvalidatesCache() throws Exception {
+        AppUser user = user("itomov", "EEMCS");
+        service.getFaculty(new NetId("itomov"));
+
+        service.changeFaculty(new NetId("itomov"), List.of(new Faculty("AE")));
+
+        verify(userRepository).save(user);
+        assertThat(service.getFaculty(new NetId("itomov"))).extracting(Faculty::toString).containsExactly("AE");
+        verify(userRepository, times(3)).findByNetId(any());
+    }
+
+    @Test
+    public void fullCacheIsEmptied() throws Exception {
+        user("itomov", "EEMCS");
+        service.getFaculty(new NetId("itomov"));
+        service.getFaculty(new NetId("itomov"));
+        assertThat(service.getCacheSize()).isEqualTo(1);
+
+        List<AppUser> loaded = List.of(user("a", "AE"), user("b", "3ME"));
+        when(userRepository.findAllByNetIdIn(any())).thenReturn(loaded);
+        service.getFacultiesOf(List.of(new NetId("a"), new NetId("b")));
+
+        assertThat(service.getCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void batchLoadsMissingUsersWithOneQuery() throws Exception {
+        user("itomov", "EEMCS");
+        service.getFaculty(new NetId("itomov"));
+        AppUser other = user("mlica", "3ME");
+        when(userRepository.findAllByNetIdIn(argThat(ids -> ids.size() == 2))).thenReturn(List.of(other));
+
+        Map<String, List<Faculty>> result = service.getFacultiesOf(
+                List.of(new NetId("itomov"), new NetId("mlica"), new NetId("nobody")));
+
+        assertThat(result.keySet()).containsExactly("itomov", "mlica");
+        assertThat(result.get("itomov")).extracting(Faculty::toString).containsExactly("EEMCS");
+        assertThat(result.get("mlica")).extracting(Faculty::toString).containsExactly("3ME");
+        verify(userRepository, times(1)).findAllByNetIdIn(any());
+    }
+
+    @Test
+    public void batchDoesNotCacheUsersChangedWhileLoading() throws Exception {
+        user("itomov", "EEMCS");
+        AppUser stale = new AppUser(new NetId("itomov"), new HashedPassword("hash"), new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS"))));
+        when(userRepository.findAllByNetIdIn(any())).thenAnswer(i -> {
+            // the faculties change after the batch read the user, before it is cached
+            service.changeFaculty(new NetId("itomov"), List.of(new Faculty("AE")));
+            return List.of(stale);
+        });
+
+        service.getFacultiesOf(List.of(new NetId("itomov")));
+
+        assertThat(service.getCacheSize()).isZero();
+        assertThat(service.getFaculty(new NetId("itomov"))).extracting(Faculty::toString).containsExactly("AE");
+    }
+
+    @Test
+    public void lookupDoesNotCacheUserChangedWhileLoading() throws Exception {
+        user("itomov", "EEMCS");
+        AppUser stale = new AppUser(new NetId("itomov"), new HashedPassword("hash"), new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS"))));
+        AtomicBoolean changed = new AtomicBoolean();
+        doAnswer(i -> {
+            if (changed.compareAndSet(false, true)) {
+                // the faculties change after the lookup read the user, before it is cached
+                service.changeFaculty(new NetId("itomov"), List.of(new Faculty("AE")));
+                return Optional.of(stale);
+            }
+            return Optional.ofNullable(users.get(i.getArgument(0).toString()));
+        }).when(userRepository).findByNetId(any());
+
+        assertThat(service.getFaculty(new NetId("itomov"))).extracting(Faculty::toString).containsExactly("EEMCS");
+
+        assertThat(service.getCacheSize()).isZero();
+        assertThat(service.getFaculty(new NetId("itomov"))).extracting(Faculty::toString).containsExactly("AE");
+    }
+}
@@ -2,6 +2,11 @@ package nl.tudelft.sem.template.authentication.domain.user;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import commons.Faculty;
@@ -9,12 +14,16 @@ import commons.NetId;
 import commons.Role;
 import commons.RoleValue;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import nl.tudelft.sem.template.authentication.application.user.UserWasCreatedListener;
 import nl.tudelft.sem.template.authentication.profiles.MockPasswordEncoderProfile;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -40,6 +49,9 @@ public class RegistrationServiceTests {
     @Autowired
     private  UserRepository userRepository;
 
+    @SpyBean
+    private transient UserWasCreatedListener userWasCreatedListener;
+
 
     @Test
     public void createUser_withValidData_worksCorrectly() throws Exception {
@@ -63,6 +75,87 @@ public class RegistrationServiceTests {
         assertThat(savedUser.getPassword()).isEqualTo(testHashedPassword);
     }
 
+    @Test
+    public void registerUsers_skipsNetIdsInUse() {
+        // Arrange
+        final ArrayList<Faculty> faculties = new ArrayList<>(List.of(new Faculty("EEMCS")));
+        userRepository.save(new AppUser(new NetId("existing"), new HashedPassword("old"),
+                new Role(RoleValue.EMPLOYEE), faculties));
+        when(mockPasswordEncoder.hashAll(any())).thenAnswer(invocation -> {
+            List<Password> passwords = invocation.getArgument(0);
+            List<HashedPassword> hashes = new ArrayList<>();
+            passwords.forEach(password -> hashes.add(new HashedPassword("hashed-" + password)));
+            return hashes;
+        });
+
+        // Act
+        List<AppUser> users = registrationService.registerUsers(List.of(
+                new Registration(new NetId("first"), new Password("pw1"), new Role(RoleValue.EMPLOYEE), faculties),
+                new Registration(new NetId("existing"), new Password("pw2"), new Role(RoleValue.EMPLOYEE), faculties),
+                new Registration(new NetId("second"), new Password("pw3"), new Role(RoleValue.ADMIN), faculties),
+                new Registration(new NetId("first"), new Password("pw4"), new Role(RoleValue.EMPLOYEE), faculties)));
+
+        // Assert
+        assertThat(users).extracting(user -> user.getNetId().toString()).containsExactly("first", "second");
+        verify(mockPasswordEncoder).hashAll(argThat(passwords -> passwords.size() == 2));
+        assertThat(userRepository.findByNetId(new NetId("first")).orElseThrow().getPassword().toString())
+                .isEqualTo("hashed-pw1");
+        assertThat(userRepository.findByNetId(new NetId("second")).orElseThrow().getRole().isAdmin()).isTrue();
+        assertThat(userRepository.findByNetId(new NetId("existing")).orElseThrow().getPassword().toString())
+                .isEqualTo("old");
+    }
+
+    @Test
+    public void registerUsers_concurrentRegistration_skipsOnlyTakenNetId() {
+        // Arrange
+        final ArrayList<Faculty> faculties = new ArrayList<>(List.of(new Faculty("EEMCS")));
+        when(mockPasswordEncoder.hashAll(any())).thenAnswer(invocation -> {
+            // another registration takes a NetID after the lookup, before the batch is inserted
+            userRepository.save(new AppUser(new NetId("second"), new HashedPassword("other"),
+                    new Role(RoleValue.EMPLOYEE), faculties));
+            List<Password> passwords = invocation.getArgument(0);
+            List<HashedPassword> hashes = new ArrayList<>();
+            passwords.forEach(password -> hashes.add(new HashedPassword("hashed-" + password)));
+            return hashes;
+        });
+
+        // Act
+        List<AppUser> users = registrationService.registerUsers(List.of(
+                new Registration(new NetId("first"), new Password("pw1"), new Role(RoleValue.EMPLOYEE), faculties),
+                new Registration(new NetId("second"), new Password("pw2"), new Role(RoleValue.EMPLOYEE), faculties),
+                new Registration(new NetId("third"), new Password("pw3"), new Role(RoleValue.EMPLOYEE), faculties)));
+
+        // Assert
+        assertThat(users).extracting(user -> user.getNetId().toString()).containsExactly("first", "third");
+        assertThat(userRepository.findByNetId(new NetId("first")).orElseThrow().getPassword().toString())
+                .isEqualTo("hashed-pw1");
+        assertThat(userRepository.findByNetId(new NetId("second")).orElseThrow().getPassword().toString())
+                .isEqualTo("other");
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void createUser_deliversEventOnEventThread() throws Exception {
+        // Arrange
+        final NetId testUser = new NetId("SomeUser");
+        final Password testPassword = new Password("password123");
+        when(mockPasswordEncoder.hash(testPassword)).thenReturn(new HashedPassword("hashedTestPassword"));
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listenerThread.set(Thread.currentThread());
+            return null;
+        }).when(userWasCreatedListener).onAccountWasCreated(any());
+
+        // Act
+        registrationService.registerUser(testUser, testPassword, new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS"))));
+
+        // Assert
+        verify(userWasCreatedListener, timeout(5000)).onAccountWasCreated(
+                argThat(event -> event.getNetId().toString().equals("SomeUser")));
+        assertThat(listenerThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
     @Test
     public void createUser_withExistingUser_throwsException() {
         // Arrange
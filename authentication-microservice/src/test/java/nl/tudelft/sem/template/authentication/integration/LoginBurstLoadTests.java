@@ -0,0 +1,141 @@
+package nl.tudelft.sem.template.authentication.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import commons.Faculty;
+import commons.FacultyRequestModel;
+import commons.NetId;
+import commons.Role;
+import commons.RoleValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.tudelft.sem.template.authentication.domain.user.AppUser;
+import nl.tudelft.sem.template.authentication.domain.user.HashedPassword;
+import nl.tudelft.sem.template.authentication.domain.user.UserRepository;
+import nl.tudelft.sem.template.authentication.integration.utils.JsonUtil;
+import nl.tudelft.sem.template.authentication.models.AuthenticationRequestModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Load test: a burst of logins with real BCrypt hashing must not slow down /faculty.
+ * The logins that do not fit in the hashing queue are turned away with 503 instead of taking the CPU.
+ * Not part of the regular test run, enable it with -Dbenchmark=true.
+ */
+@SpringBootTest(properties = {
+    "authentication.hashing.bcrypt-strength=10",
+    "authentication.hashing.threads=1",
+    "authentication.hashing.queue-size=2"
+})
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DirtiesContext
+@AutoConfigureMockMvc
+public class LoginBurstLoadTests {
+
+    private static final int LOGIN_THREADS = 16;
+    private static final int SAMPLES = 40;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private transient UserRepository userRepository;
+
+    @Autowired
+    private transient PasswordEncoder passwordEncoder;
+
+    @Test
+    public void facultyLatencyStaysFlatDuringLoginBurst() throws Exception {
+        ArrayList<Faculty> faculties = new ArrayList<>(List.of(new Faculty("EEMCS")));
+        userRepository.save(new AppUser(new NetId("burst"), new HashedPassword(passwordEncoder.encode("secret")),
+                new Role(RoleValue.EMPLOYEE), faculties));
+        FacultyRequestModel faculty = new FacultyRequestModel();
+        faculty.setNetId("burst");
+        String facultyRequest = JsonUtil.serialize(faculty);
+        AuthenticationRequestModel login = new AuthenticationRequestModel();
+        login.setNetId("burst");
+        login.setPassword("secret");
+        String loginRequest = JsonUtil.serialize(login);
+
+        List<Long> baseline = sampleFaculty(facultyRequest);
+
+        AtomicBoolean bursting = new AtomicBoolean(true);
+        ConcurrentMap<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        ExecutorService clients = Executors.newFixedThreadPool(LOGIN_THREADS);
+        for (int i = 0; i < LOGIN_THREADS; i++) {
+            clients.execute(() -> {
+                while (bursting.get()) {
+                    try {
+                        int status = mockMvc.perform(post("/authenticate").contentType(MediaType.APPLICATION_JSON)
+                                .content(loginRequest)).andReturn().getResponse().getStatus();
+                        statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                        // clients back off briefly before they log in again
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        statuses.computeIfAbsent(-1, s -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+            });
+        }
+        List<Long> duringBurst;
+        try {
+            duringBurst = sampleFaculty(facultyRequest);
+        } finally {
+            bursting.set(false);
+            clients.shutdown();
+            assertThat(clients.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        long baselineMedian = median(baseline);
+        long burstMedian = median(duringBurst);
+        assertThat(statuses.get(200)).isNotNull();
+        assertThat(statuses.get(503)).isNotNull();
+        assertThat(statuses).doesNotContainKey(-1);
+        // one BCrypt hash of strength 10 takes tens of milliseconds; /faculty stays well below that
+        assertThat(burstMedian).as("/faculty median during the login burst, %d ns before", baselineMedian)
+                .isLessThan(Math.max(10 * baselineMedian, TimeUnit.MILLISECONDS.toNanos(25)));
+    }
+
+    private List<Long> sampleFaculty(String request) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            mockMvc.perform(post("/faculty").contentType(MediaType.APPLICATION_JSON).content(request))
+                    .andExpect(status().isOk());
+            latencies.add(System.nanoTime() - start);
+            Thread.sleep(5);
+        }
+        return latencies;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
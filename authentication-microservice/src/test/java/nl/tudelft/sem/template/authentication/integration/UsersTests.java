@@ -6,18 +6,27 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import commons.Faculty;
+import commons.FacultyBatchRequestModel;
+import commons.FacultyBatchResponseModel;
+import commons.FacultyResponseModel;
+import commons.JwkModel;
+import commons.JwkSetModel;
 import commons.NetId;
 import commons.Role;
 import commons.RoleValue;
+import commons.security.AuthManager;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import nl.tudelft.sem.template.authentication.authentication.AuthManager;
+import nl.tudelft.sem.template.authentication.authentication.JwtKeyStore;
 import nl.tudelft.sem.template.authentication.authentication.JwtTokenGenerator;
+import nl.tudelft.sem.template.authentication.authentication.RefreshTokenService;
 import nl.tudelft.sem.template.authentication.domain.user.AppUser;
 import nl.tudelft.sem.template.authentication.domain.user.GetFacultyService;
 import nl.tudelft.sem.template.authentication.domain.user.HashedPassword;
@@ -28,16 +37,24 @@ import nl.tudelft.sem.template.authentication.integration.utils.JsonUtil;
 import nl.tudelft.sem.template.authentication.models.AuthenticationRequestModel;
 import nl.tudelft.sem.template.authentication.models.AuthenticationResponseModel;
 import nl.tudelft.sem.template.authentication.models.ChangeFacultyRequestModel;
+import nl.tudelft.sem.template.authentication.models.RefreshRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationBatchRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationBatchResponseModel;
 import nl.tudelft.sem.template.authentication.models.RegistrationRequestModel;
+import nl.tudelft.sem.template.authentication.models.RegistrationResultModel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -71,6 +88,12 @@ public class UsersTests {
     @Autowired
     private transient UserRepository userRepository;
 
+    @Autowired
+    private transient RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private transient JwtKeyStore jwtKeyStore;
+
     @Test
     public void register_withValidData_worksCorrectly() throws Exception {
         // Arrange
@@ -134,6 +157,65 @@ public class UsersTests {
         assertThat(savedUser.getPassword()).isEqualTo(existingTestPassword);
     }
 
+    @Test
+    public void registerBatch_returnsResultPerUser() throws Exception {
+        // Arrange
+        when(mockAuthManager.getRole()).thenReturn(new Role(RoleValue.ADMIN));
+        when(mockPasswordEncoder.hashAll(any())).thenAnswer(invocation -> {
+            List<Password> passwords = invocation.getArgument(0);
+            List<HashedPassword> hashes = new ArrayList<>();
+            passwords.forEach(password -> hashes.add(new HashedPassword("hashed-" + password)));
+            return hashes;
+        });
+        userRepository.save(new AppUser(new NetId("existing"), new HashedPassword("old"),
+                new Role(RoleValue.EMPLOYEE), new ArrayList<>(List.of(new Faculty("EEMCS")))));
+        RegistrationBatchRequestModel model = new RegistrationBatchRequestModel();
+        model.setUsers(List.of(registration("new", "EMPLOYEE"), registration("existing", "EMPLOYEE"),
+                registration("wrongRole", "JANITOR"), registration("new", "ADMIN")));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/register/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isOk()).andReturn();
+
+        // Assert
+        RegistrationBatchResponseModel response = JsonUtil.deserialize(result.getResponse().getContentAsString(),
+                RegistrationBatchResponseModel.class);
+        assertThat(response.getResults()).extracting(RegistrationResultModel::getStatus).containsExactly(
+                RegistrationResultModel.CREATED, RegistrationResultModel.NETID_IN_USE,
+                RegistrationResultModel.INVALID, RegistrationResultModel.NETID_IN_USE);
+        AppUser savedUser = userRepository.findByNetId(new NetId("new")).orElseThrow();
+        assertThat(savedUser.getPassword().toString()).isEqualTo("hashed-pw-new");
+        assertThat(savedUser.getRole().isAdmin()).isFalse();
+    }
+
+    @Test
+    public void registerBatch_asEmployee_isUnauthorized() throws Exception {
+        // Arrange
+        when(mockAuthManager.getRole()).thenReturn(new Role(RoleValue.EMPLOYEE));
+        RegistrationBatchRequestModel model = new RegistrationBatchRequestModel();
+        model.setUsers(List.of(registration("new", "EMPLOYEE")));
+
+        // Act
+        ResultActions resultActions = mockMvc.perform(post("/register/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)));
+
+        // Assert
+        resultActions.andExpect(status().isUnauthorized());
+        assertThat(userRepository.findAll()).isEmpty();
+    }
+
+    private static RegistrationRequestModel registration(String netId, String role) {
+        RegistrationRequestModel model = new RegistrationRequestModel();
+        model.setNetId(netId);
+        model.setPassword("pw-" + netId);
+        model.setRole(role);
+        model.setFaculty("EEMCS");
+        return model;
+    }
+
     @Test
     public void login_withValidUser_returnsToken() throws Exception {
         // Arrange
@@ -186,6 +268,95 @@ public class UsersTests {
                     && testPassword.toString().equals(authentication.getCredentials())));
     }
 
+    @Test
+    public void login_reusesAuthenticatedUser() throws Exception {
+        // Arrange
+        final NetId testUser = new NetId("SomeUser");
+        final UserDetails principal = new User(testUser.toString(), "", List.of(new Role(RoleValue.EMPLOYEE)));
+        when(mockAuthenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(mockJwtTokenGenerator.generateToken(principal)).thenReturn("testJWTToken");
+
+        AuthenticationRequestModel model = new AuthenticationRequestModel();
+        model.setNetId(testUser.toString());
+        model.setPassword("password123");
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert: the user is not in the database, so the token can only come from the authenticated principal
+        AuthenticationResponseModel responseModel = JsonUtil.deserialize(result.getResponse().getContentAsString(),
+                AuthenticationResponseModel.class);
+        assertThat(responseModel.getToken()).isEqualTo("testJWTToken");
+        assertThat(refreshTokenService.verify(responseModel.getRefreshToken())).isEqualTo(testUser.toString());
+    }
+
+    @Test
+    public void refresh_withValidToken_returnsNewAccessToken() throws Exception {
+        // Arrange
+        final NetId testUser = new NetId("SomeUser");
+        userRepository.save(new AppUser(testUser, new HashedPassword("hashedTestPassword"), new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS")))));
+        when(mockJwtTokenGenerator.generateToken(
+            argThat(userDetails -> userDetails.getUsername().equals(testUser.toString())))
+        ).thenReturn("refreshedJWTToken");
+        RefreshRequestModel model = new RefreshRequestModel();
+        model.setRefreshToken(refreshTokenService.generateToken(testUser.toString()));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        AuthenticationResponseModel responseModel = JsonUtil.deserialize(result.getResponse().getContentAsString(),
+                AuthenticationResponseModel.class);
+        assertThat(responseModel.getToken()).isEqualTo("refreshedJWTToken");
+        assertThat(responseModel.getRefreshToken()).isEqualTo(model.getRefreshToken());
+        verify(mockAuthenticationManager, times(0)).authenticate(any());
+    }
+
+    @Test
+    public void refresh_withInvalidToken_returnsUnauthorized() throws Exception {
+        RefreshRequestModel model = new RefreshRequestModel();
+        model.setRefreshToken("not-a-token");
+
+        mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isUnauthorized());
+
+        model.setRefreshToken(refreshTokenService.generateToken("UnknownUser"));
+        mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isUnauthorized());
+        verify(mockJwtTokenGenerator, times(0)).generateToken(any());
+    }
+
+    @Test
+    public void refresh_afterFacultyChange_returnsUnauthorized() throws Exception {
+        final NetId testUser = new NetId("SomeUser");
+        userRepository.save(new AppUser(testUser, new HashedPassword("hashedTestPassword"), new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS")))));
+        RefreshRequestModel model = new RefreshRequestModel();
+        model.setRefreshToken(refreshTokenService.generateToken(testUser.toString()));
+
+        new GetFacultyService(userRepository).changeFaculty(testUser, List.of(new Faculty("3ME")));
+
+        mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isUnauthorized());
+        verify(mockJwtTokenGenerator, times(0)).generateToken(any());
+    }
+
     @Test
     public void changeFacultyTest() throws Exception {
         // Arrange
@@ -299,4 +470,77 @@ public class UsersTests {
 
         verify(mockJwtTokenGenerator, times(0)).generateToken(any());
     }
+
+    @Test
+    public void facultyBatch_returnsExistingUsers() throws Exception {
+        // Arrange
+        final HashedPassword testHashedPassword = new HashedPassword("hashedTestPassword");
+        userRepository.save(new AppUser(new NetId("first"), testHashedPassword, new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("EEMCS"), new Faculty("3ME")))));
+        userRepository.save(new AppUser(new NetId("second"), testHashedPassword, new Role(RoleValue.EMPLOYEE),
+                new ArrayList<>(List.of(new Faculty("AE")))));
+
+        FacultyBatchRequestModel model = new FacultyBatchRequestModel();
+        model.setNetIds(List.of("second", "nobody", "first"));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/faculty/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(model)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        FacultyBatchResponseModel response = JsonUtil.deserialize(result.getResponse().getContentAsString(),
+                FacultyBatchResponseModel.class);
+        assertThat(response.getFaculties()).containsOnlyKeys("second", "first");
+        assertThat(response.getFaculties().get("first")).containsExactly("EEMCS", "3ME");
+        assertThat(response.getFaculties().get("second")).containsExactly("AE");
+    }
+
+    @Test
+    public void facultyBatch_withoutNetIds_returns400() throws Exception {
+        mockMvc.perform(post("/faculty/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void faculties_supportsConditionalGet() throws Exception {
+        // Arrange
+        userRepository.save(new AppUser(new NetId("first"), new HashedPassword("hashedTestPassword"),
+                new Role(RoleValue.EMPLOYEE), new ArrayList<>(List.of(new Faculty("EEMCS"), new Faculty("3ME")))));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/faculties"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        FacultyResponseModel response = JsonUtil.deserialize(result.getResponse().getContentAsString(),
+                FacultyResponseModel.class);
+        assertThat(response.getFaculty()).containsExactly("3ME", "EEMCS");
+        mockMvc.perform(get("/faculties").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/faculties").header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void keySet_publishesSigningKey() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        JwkSetModel response = JsonUtil.deserialize(result.getResponse().getContentAsString(), JwkSetModel.class);
+        JwtKeyStore.SigningKey signingKey = jwtKeyStore.getSigningKey();
+        JwkModel published = response.getKeys().stream()
+                .filter(key -> key.getKid().equals(signingKey.getKeyId())).findFirst().orElseThrow();
+        assertThat(published.toPublicKey()).isEqualTo(signingKey.getPublicKey());
+    }
 }
@@ -28,4 +28,12 @@ public class AuthenticationResponseModelTest {
     public void getTokenTest() {
         assertThat(model.getToken()).isEqualTo("token");
     }
+
+    @Test
+    public void refreshTokenTest() {
+        model = new AuthenticationResponseModel("token", "refresh");
+
+        assertThat(model.getToken()).isEqualTo("token");
+        assertThat(model.getRefreshToken()).isEqualTo("refresh");
+    }
 }
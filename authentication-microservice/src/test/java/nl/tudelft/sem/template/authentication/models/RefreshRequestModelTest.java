@@ -0,0 +1,16 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class RefreshRequestModelTest {
+
+    @Test
+    public void getRefreshTokenTest() {
+        RefreshRequestModel model = new RefreshRequestModel();
+        model.setRefreshToken("refresh");
+
+        assertThat(model.getRefreshToken()).isEqualTo("refresh");
+    }
+}
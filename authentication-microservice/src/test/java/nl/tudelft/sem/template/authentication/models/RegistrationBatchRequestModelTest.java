@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationBatchRequestModelTest {
+
+    @Test
+    public void getUsersTest() {
+        RegistrationRequestModel user = new RegistrationRequestModel();
+        user.setNetId("itomov");
+        RegistrationBatchRequestModel model = new RegistrationBatchRequestModel();
+        model.setUsers(List.of(user));
+
+        assertThat(model.getUsers()).containsExactly(user);
+    }
+}
@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.authentication.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationBatchResponseModelTest {
+
+    @Test
+    public void getResultsTest() {
+        RegistrationResultModel result = new RegistrationResultModel("itomov", RegistrationResultModel.CREATED);
+        RegistrationBatchResponseModel model = new RegistrationBatchResponseModel(List.of(result));
+
+        assertThat(model.getResults()).containsExactly(result);
+        assertThat(result.getNetId()).isEqualTo("itomov");
+        assertThat(result.getStatus()).isEqualTo("CREATED");
+    }
+}
@@ -0,0 +1,77 @@
+package nl.tudelft.sem.template.example;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import commons.FacultyResource;
+import commons.ObjectMapperProvider;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import nl.tudelft.sem.template.example.domain.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares JSON round trips with a new ObjectMapper per call against the shared ObjectMapper.
+ * Run with ./gradlew :clusters-microservice:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectMapperBenchmark {
+
+    private static final int SIZE = 50;
+
+    private FacultyResource[] facultyResources;
+    private Node[] nodes;
+
+    /**
+     * Creates the objects that are serialized in every round trip.
+     */
+    @Setup
+    public void setup() {
+        facultyResources = new FacultyResource[SIZE];
+        nodes = new Node[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            facultyResources[i] = new FacultyResource("faculty" + i, LocalDate.now().plusDays(i), i, i, i);
+            nodes[i] = new Node("user" + i, "url" + i, "faculty" + i, "token" + i, 10, 5, 5);
+            nodes[i].setReleased(LocalDate.now());
+        }
+    }
+
+    private static ObjectMapper newObjectMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Benchmark
+    public FacultyResource[] facultyResourcesNewMapper() throws Exception {
+        String json = newObjectMapper().writeValueAsString(facultyResources);
+        return newObjectMapper().readValue(json, FacultyResource[].class);
+    }
+
+    @Benchmark
+    public FacultyResource[] facultyResourcesSharedMapper() throws Exception {
+        String json = ObjectMapperProvider.serialize(facultyResources);
+        return ObjectMapperProvider.deserialize(json, FacultyResource[].class);
+    }
+
+    @Benchmark
+    public Node[] nodesNewMapper() throws Exception {
+        String json = newObjectMapper().writeValueAsString(nodes);
+        return newObjectMapper().readValue(json, Node[].class);
+    }
+
+    @Benchmark
+    public Node[] nodesSharedMapper() throws Exception {
+        String json = ObjectMapperProvider.serialize(nodes);
+        return ObjectMapperProvider.deserialize(json, Node[].class);
+    }
+}
@@ -1,13 +1,18 @@
 package nl.tudelft.sem.template.example;
 
+import commons.security.JwtSecurityConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Example microservice application.
  */
 @SpringBootApplication
+@Import(JwtSecurityConfig.class)
+@EnableScheduling
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
@@ -1,7 +1,7 @@
 package nl.tudelft.sem.template.example.config;
 
-import nl.tudelft.sem.template.example.authentication.JwtAuthenticationEntryPoint;
-import nl.tudelft.sem.template.example.authentication.JwtRequestFilter;
+import commons.security.JwtAuthenticationEntryPoint;
+import commons.security.JwtRequestFilter;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -25,7 +25,8 @@ public class RequestAuthenticationConfig extends WebSecurityConfigurerAdapter {
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf().disable()
-            .authorizeRequests().antMatchers("/cluster/facultyDayResource").permitAll()
+            .authorizeRequests().antMatchers("/cluster/facultyDayResource", "/cluster/facultiesResources",
+                "/cluster/heartbeat").permitAll()
             .and()
             .authorizeRequests().anyRequest().authenticated()
                 .and()
@@ -1,7 +1,6 @@
 package nl.tudelft.sem.template.example.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import commons.ObjectMapperProvider;
 import java.util.Arrays;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,8 +16,7 @@ public class JasonUtil {
      */
     public String jsonSerializer(Object object) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.writeValueAsString(object);
+            return ObjectMapperProvider.serialize(object);
         } catch (Exception e) {
             System.out.println(Arrays.toString(e.getStackTrace()));
             return null;
@@ -33,8 +31,7 @@ public class JasonUtil {
      */
     public <T> T jsonDeserialiser(String jsonString, Class<T> type) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.readValue(jsonString, type);
+            return ObjectMapperProvider.deserialize(jsonString, type);
         } catch (Exception e) {
             System.out.println(Arrays.toString(e.getStackTrace()));
             return null;
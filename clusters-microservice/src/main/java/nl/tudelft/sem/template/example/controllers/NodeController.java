@@ -1,12 +1,16 @@
 package nl.tudelft.sem.template.example.controllers;
 
+import commons.FacultiesResourceModel;
 import commons.FacultyResource;
 import commons.FacultyResourceModel;
 import commons.Resource;
+import commons.security.AuthManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
 import nl.tudelft.sem.template.example.domain.CheckHelper;
 import nl.tudelft.sem.template.example.domain.GetResourceService;
+import nl.tudelft.sem.template.example.domain.HeartbeatService;
 import nl.tudelft.sem.template.example.domain.ModifyRepoService;
 import nl.tudelft.sem.template.example.domain.Node;
 import nl.tudelft.sem.template.example.exceptions.InvalidDateException;
@@ -16,6 +20,7 @@ import nl.tudelft.sem.template.example.exceptions.InvalidPeriodException;
 import nl.tudelft.sem.template.example.exceptions.NullValueException;
 import nl.tudelft.sem.template.example.exceptions.ObjectIsNullException;
 import nl.tudelft.sem.template.example.exceptions.ResourceMismatchException;
+import nl.tudelft.sem.template.example.models.HeartbeatModel;
 import nl.tudelft.sem.template.example.models.ReleaseFacultyModel;
 import nl.tudelft.sem.template.example.models.ToaRequestModel;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +41,7 @@ public class NodeController extends CheckHelper {
     private final transient AuthManager authManager;
     private final transient ModifyRepoService modifyRepoService;
     private final transient GetResourceService getResourceService;
+    private final transient HeartbeatService heartbeatService;
 
     /**
      * Constructor for the NodeController.
@@ -45,10 +51,12 @@ public class NodeController extends CheckHelper {
     @Autowired
     public NodeController(AuthManager authManager,
                           ModifyRepoService modifyRepoService,
-                          GetResourceService getResourceService) {
+                          GetResourceService getResourceService,
+                          HeartbeatService heartbeatService) {
         this.authManager = authManager;
         this.modifyRepoService = modifyRepoService;
         this.getResourceService = getResourceService;
+        this.heartbeatService = heartbeatService;
     }
 
     /**
@@ -82,6 +90,44 @@ public class NodeController extends CheckHelper {
         return ResponseEntity.ok(facultyResources);
     }
 
+    /**
+     * Gets the number of free resources available for several faculties at once.
+     * Returns one entry per faculty per day between date and endDate (inclusive).
+     *
+     * @param request request model for the faculties and the period
+     */
+    @PostMapping(path = {"/facultiesResources"})
+    public ResponseEntity<List<FacultyResource>> getFacultiesAvailableResources(
+            @RequestBody FacultiesResourceModel request) {
+        if (request.getFaculties() == null || request.getDate() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate end = request.getEndDate() == null ? request.getDate() : request.getEndDate();
+        if (end.isBefore(request.getDate())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(getResourceService.getFacultiesAvailableResources(
+                request.getFaculties(), request.getDate(), end));
+    }
+
+    /**
+     * Endpoint the nodes report their liveness and current usage to.
+     * The heartbeat is only queued, it is written to the database with the next flush.
+     * Responds with 503 when the queue is full so that the node retries later.
+     *
+     * @param heartbeat heartbeat of the node, identified by its token
+     */
+    @PostMapping(path = {"/heartbeat"})
+    public ResponseEntity<Void> heartbeat(@RequestBody HeartbeatModel heartbeat) {
+        if (heartbeat.getToken() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!heartbeatService.offer(heartbeat)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Endpoint where you can add node; The node has to belong to the faculty you are in.
      * The nodes resources has to match cpu >= gpu && cpu >= mem.
@@ -91,7 +137,7 @@ public class NodeController extends CheckHelper {
     @PostMapping(path = {"/addNode"})
     public ResponseEntity<Node> addNode(@RequestBody Node node) throws ObjectIsNullException, NullValueException,
             InvalidOwnerException, InvalidFacultyException, ResourceMismatchException {
-        List<String> faculties = getFaculty(authManager);
+        List<String> faculties = new ArrayList<>(getFaculty(authManager));
         faculties.add("FreePool");
         setNodeFaculty(node, authManager);
         Node newNode = modifyRepoService.addNode(node, authManager.getNetId(), faculties);
@@ -107,7 +153,7 @@ public class NodeController extends CheckHelper {
     @PostMapping(path = {"/addNodeMutant"})
     public ResponseEntity<Node> addNodeMutant(@RequestBody Node node) throws ObjectIsNullException, NullValueException,
         InvalidOwnerException, InvalidFacultyException, ResourceMismatchException {
-        List<String> faculties = getFaculty(authManager);
+        List<String> faculties = new ArrayList<>(getFaculty(authManager));
         faculties.add("FreePool");
         setNodeFaculty(node, authManager);
         Node newNode = modifyRepoService.addNodeMutant(node, authManager.getNetId(), faculties);
@@ -128,7 +174,7 @@ public class NodeController extends CheckHelper {
 
     /**
      * Marks Node with the id as deleted.
-     * Later when database clearer is called it will actually delete it from database.
+     * The NodeCompactionService later archives it and deletes it from the database.
      *
      * @param token token of access
      */
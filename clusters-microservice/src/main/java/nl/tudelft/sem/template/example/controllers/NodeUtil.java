@@ -1,6 +1,7 @@
 package nl.tudelft.sem.template.example.controllers;
 
 import commons.Resource;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -62,4 +63,20 @@ public class NodeUtil {
         }
         return answer;
     }
+
+    /**
+     * Filters the nodes that can be used by a faculty on a day.
+     * These are the nodes the faculty owns and the nodes released to the free pool on that day.
+     *
+     * @param nodes nodes to filter
+     * @param faculty faculty that wants to use the nodes
+     * @param date day the nodes should be available on
+     */
+    public static List<Node> availableOn(List<Node> nodes, String faculty, LocalDate date) {
+        return nodes.stream()
+                .filter(n -> n.getFaculty().equals(faculty)
+                        || (n.getReleased() != null && n.getReleaseEndTime() != null
+                        && !n.getReleased().isAfter(date) && !n.getReleaseEndTime().isBefore(date)))
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,68 @@
+package nl.tudelft.sem.template.example.domain;
+
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A node that was removed from the cluster and moved out of the NODE table by the compaction.
+ */
+@Entity
+@Table(name = "NODE_HISTORY")
+@Getter
+@NoArgsConstructor
+public class ArchivedNode {
+
+    @Id
+    private long id;
+
+    @Column(name = "netId", nullable = false)
+    private String name;
+
+    @Column(name = "url", nullable = false)
+    private String url;
+
+    @Column(name = "faculty", nullable = false)
+    private String faculty;
+
+    @Column(name = "token", nullable = false)
+    private String token;
+
+    @Column(name = "cpu", nullable = false)
+    private int cpu;
+
+    @Column(name = "gpu", nullable = false)
+    private int gpu;
+
+    @Column(name = "memory", nullable = false)
+    private int memory;
+
+    @Column(name = "REMOVEDDATE", nullable = false)
+    private LocalDate removedDate;
+
+    @Column(name = "ARCHIVEDDATE", nullable = false)
+    private LocalDate archivedDate;
+
+    /**
+     * Creates the archived copy of a removed node.
+     *
+     * @param node the removed node
+     * @param archivedDate the day the node was archived on
+     */
+    public ArchivedNode(Node node, LocalDate archivedDate) {
+        this.id = node.getId();
+        this.name = node.getName();
+        this.url = node.getUrl();
+        this.faculty = node.getFaculty();
+        this.token = node.getToken();
+        this.cpu = node.getCpu();
+        this.gpu = node.getGpu();
+        this.memory = node.getMemory();
+        this.removedDate = node.getRemovedDate();
+        this.archivedDate = archivedDate;
+    }
+}
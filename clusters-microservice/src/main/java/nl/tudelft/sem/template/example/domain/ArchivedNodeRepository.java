@@ -0,0 +1,8 @@
+package nl.tudelft.sem.template.example.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedNodeRepository extends JpaRepository<ArchivedNode, Long> {
+}
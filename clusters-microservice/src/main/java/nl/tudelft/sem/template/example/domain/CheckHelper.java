@@ -2,10 +2,8 @@ package nl.tudelft.sem.template.example.domain;
 
 import commons.Resource;
 import commons.RoleValue;
-import java.util.ArrayList;
-import java.util.Arrays;
+import commons.security.AuthManager;
 import java.util.List;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
 import nl.tudelft.sem.template.example.exceptions.InvalidDateException;
 import nl.tudelft.sem.template.example.exceptions.InvalidFacultyException;
 import nl.tudelft.sem.template.example.exceptions.InvalidPeriodException;
@@ -115,8 +113,13 @@ public class CheckHelper {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns the faculties of the user, as split once by the JwtRequestFilter.
+     *
+     * @param authManager contains details about the user
+     * @return unmodifiable list of the faculty names of the user
+     */
     public List<String> getFaculty(AuthManager authManager) {
-        String facultiesString = authManager.getFaculty().getAuthority();
-        return new ArrayList<>(Arrays.asList(facultiesString.split(";")));
+        return authManager.getFaculties();
     }
 }
@@ -5,6 +5,7 @@ import commons.Resource;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import nl.tudelft.sem.template.example.controllers.NodeUtil;
@@ -17,9 +18,11 @@ import org.springframework.web.client.RestTemplate;
 public class GetResourceService {
 
     private final transient NodeRepository repo;
+    private final transient HeartbeatService heartbeatService;
 
-    GetResourceService(NodeRepository repo) {
+    GetResourceService(NodeRepository repo, HeartbeatService heartbeatService) {
         this.repo = repo;
+        this.heartbeatService = heartbeatService;
     }
 
     /**
@@ -53,8 +56,9 @@ public class GetResourceService {
      */
     public Object[] getFacultyAvailableResourcesForDay(String faculty, LocalDate date) {
         List<FacultyResource> answer = new ArrayList<>();
-        if (repo.getAvailableResources(faculty, date).isPresent()) {
-            List<Node> n = repo.getAvailableResources(faculty, date).get();
+        Optional<List<Node>> available = repo.getAvailableResources(faculty, date, heartbeatService.aliveSince());
+        if (available.isPresent()) {
+            List<Node> n = available.get();
             List<Resource> resources = NodeUtil.resourceCreatorForDifferentClusters(n);
 
             for (Resource r : resources) {
@@ -68,18 +72,34 @@ public class GetResourceService {
      * Get resources for next day of every faculty.
      */
     public List<FacultyResource> getResourcesNextDay(List<String> faculties) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        return getFacultiesAvailableResources(faculties, tomorrow, tomorrow);
+    }
+
+    /**
+     * Gets the number of free resources available for every faculty on every day of a period.
+     * All nodes are retrieved with a single query and grouped per faculty and day afterwards.
+     *
+     * @param faculties faculties requested
+     * @param start first day of the period
+     * @param end last day of the period
+     * @return one FacultyResource per faculty per day
+     */
+    public List<FacultyResource> getFacultiesAvailableResources(List<String> faculties, LocalDate start,
+                                                                LocalDate end) {
         List<FacultyResource> res = new ArrayList<>();
+        if (faculties.isEmpty()) {
+            return res;
+        }
+        List<Node> nodes = repo.getAvailableResourcesForFaculties(faculties, start, end,
+                heartbeatService.aliveSince());
 
-        for (String f : faculties) {
-            List<Node> n = repo.getAvailableResources(f, LocalDate.now().plusDays(1)).get();
-            Resource r = NodeUtil.resourceCreator(n);
-            FacultyResource facultyResources = new FacultyResource(f, LocalDate.now().plusDays(1),
-                    r.getCpu(), r.getGpu(), r.getMem());
-            res.add(facultyResources);
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            for (String f : faculties) {
+                Resource r = NodeUtil.resourceCreator(NodeUtil.availableOn(nodes, f, date));
+                res.add(new FacultyResource(f, date, r.getCpu(), r.getGpu(), r.getMem()));
+            }
         }
         return res;
     }
-
-
-
 }
@@ -0,0 +1,118 @@
+package nl.tudelft.sem.template.example.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.example.models.HeartbeatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Collects the heartbeats the nodes send and writes them to the database in batches.
+ * Incoming heartbeats only go into a lock-free ring buffer, so the request path never touches the database.
+ * A scheduled flush drains the buffer, keeps the latest heartbeat of every node and
+ * updates all of them with one JDBC batch.
+ */
+@Service
+public class HeartbeatService {
+
+    private static final String UPDATE_NODE = "UPDATE NODE SET LASTHEARTBEAT = ?, CPUINUSE = ?, GPUINUSE = ?, "
+            + "MEMORYINUSE = ? WHERE token = ?";
+
+    private final transient RingBuffer<Heartbeat> buffer;
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient long staleAfterSeconds;
+    private final transient Counter accepted;
+    private final transient Counter dropped;
+    private final transient Counter flushed;
+    private final transient Timer flushTime;
+
+    /**
+     * Constructor for the HeartbeatService.
+     *
+     * @param jdbcTemplate template used for the batched updates
+     * @param meterRegistry registry the heartbeat metrics are published to
+     * @param capacity number of heartbeats the buffer holds between two flushes
+     * @param staleAfterSeconds seconds without a heartbeat after which a node is considered down
+     */
+    public HeartbeatService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                            @Value("${clusters.heartbeat.buffer-size:65536}") int capacity,
+                            @Value("${clusters.heartbeat.stale-after-seconds:60}") long staleAfterSeconds) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.staleAfterSeconds = staleAfterSeconds;
+        this.accepted = meterRegistry.counter("clusters.heartbeat.accepted");
+        this.dropped = meterRegistry.counter("clusters.heartbeat.dropped");
+        this.flushed = meterRegistry.counter("clusters.heartbeat.flushed");
+        this.flushTime = meterRegistry.timer("clusters.heartbeat.flush.time");
+    }
+
+    /**
+     * Queues a heartbeat to be written with the next flush.
+     *
+     * @param heartbeat heartbeat sent by a node
+     * @return false if the buffer is full and the heartbeat was dropped
+     */
+    public boolean offer(HeartbeatModel heartbeat) {
+        if (buffer.offer(new Heartbeat(heartbeat, LocalDateTime.now()))) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Writes the queued heartbeats to the database.
+     * Runs every second by default.
+     *
+     * @return the number of nodes that were updated
+     */
+    @Scheduled(fixedDelayString = "${clusters.heartbeat.flush-interval-ms:1000}")
+    public int flush() {
+        return flushTime.record(() -> {
+            List<Heartbeat> drained = new ArrayList<>();
+            buffer.drainTo(drained, buffer.capacity());
+            if (drained.isEmpty()) {
+                return 0;
+            }
+            Map<String, Heartbeat> latest = new LinkedHashMap<>();
+            for (Heartbeat h : drained) {
+                latest.put(h.model.getToken(), h);
+            }
+            List<Object[]> args = latest.values().stream()
+                    .map(h -> new Object[] {Timestamp.valueOf(h.receivedAt), h.model.getCpuUsage(),
+                        h.model.getGpuUsage(), h.model.getMemoryUsage(), h.model.getToken()})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(UPDATE_NODE, args);
+            flushed.increment(drained.size());
+            return latest.size();
+        });
+    }
+
+    /**
+     * Returns the moment from which on a node has to have reported to count as alive.
+     */
+    public LocalDateTime aliveSince() {
+        return LocalDateTime.now().minusSeconds(staleAfterSeconds);
+    }
+
+    private static final class Heartbeat {
+        private final transient HeartbeatModel model;
+        private final transient LocalDateTime receivedAt;
+
+        private Heartbeat(HeartbeatModel model, LocalDateTime receivedAt) {
+            this.model = model;
+            this.receivedAt = receivedAt;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package nl.tudelft.sem.template.example.domain;
 
 import commons.FacultyResource;
-import commons.Resource;
 import java.time.LocalDate;
 import java.util.List;
-import nl.tudelft.sem.template.example.controllers.NodeUtil;
+import java.util.Optional;
 import nl.tudelft.sem.template.example.exceptions.InvalidDateException;
 import nl.tudelft.sem.template.example.exceptions.InvalidFacultyException;
 import nl.tudelft.sem.template.example.exceptions.InvalidOwnerException;
@@ -25,37 +24,40 @@ public class ModifyRepoService extends ModifyRepoHelper {
 
     private final transient NodeRepository repo;
     private final transient RestTemplate restTemplate;
+    private final transient HeartbeatService heartbeatService;
 
-    ModifyRepoService(NodeRepository repo, RestTemplate restTemplate) {
+    ModifyRepoService(NodeRepository repo, RestTemplate restTemplate, HeartbeatService heartbeatService) {
         this.repo = repo;
         this.restTemplate = restTemplate;
+        this.heartbeatService = heartbeatService;
     }
 
     /**
      * Marks Node with the id as deleted.
-     * Later when database cleaner is called it will actually delete from database.
+     * The NodeCompactionService later archives it and deletes it from the database.
      *
      * @param tokenOfAccess token of access
      * @param faculties faculties of the user
      */
     public String disableNodeFromRepo(String tokenOfAccess, List<String> faculties) throws ObjectIsNullException {
         checkIfObjectIsNull(tokenOfAccess);
-        if (repo.getNodeByToken(tokenOfAccess).isEmpty()) {
+        Optional<Node> node = repo.getNodeByToken(tokenOfAccess);
+        if (node.isEmpty()) {
             System.out.println("There are no nodes that can be accessed with this token");
             return null;
-        } else if (!faculties.contains(repo.getNodeByToken(tokenOfAccess).get().getFaculty())) {
+        } else if (!faculties.contains(node.get().getFaculty())) {
             System.out.println("Faculties don't match");
             return null;
         }
-        repo.setAsDeleted(tokenOfAccess, LocalDate.now().plusDays(1L));
-        Node n = repo.getNodeByToken(tokenOfAccess).get();
+        LocalDate removedDate = LocalDate.now().plusDays(1L);
+        repo.setAsDeleted(tokenOfAccess, removedDate);
 
         try {
-            String response = notifySchedulerOfResourceChange(LocalDate.now().plusDays(1L), n.getFaculty());
-            return response + " " + n.getRemovedDate().toString();
+            String response = notifySchedulerOfResourceChange(removedDate, node.get().getFaculty());
+            return response + " " + removedDate;
         } catch (Exception e) {
             e.printStackTrace();
-            System.out.println("Failed to notify but " + n.getRemovedDate().toString() + " updated remove date");
+            System.out.println("Failed to notify but " + removedDate + " updated remove date");
             return null;
         }
     }
@@ -63,14 +65,8 @@ public class ModifyRepoService extends ModifyRepoHelper {
     private String notifySchedulerOfResourceChange(LocalDate date, String faculty) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        List<Node> n;
-        if (repo.getAvailableResources(faculty, date).isPresent()) {
-            n = repo.getAvailableResources(faculty, date).get();
-        } else {
-            n = List.of(new Node("", "", "", "", 0, 0, 0));
-        }
-        Resource r = NodeUtil.resourceCreator(n);
-        FacultyResource f = new FacultyResource(faculty, date, r.getCpu(), r.getGpu(), r.getMem());
+        ResourceSum r = repo.sumAvailableResources(faculty, date, heartbeatService.aliveSince());
+        FacultyResource f = new FacultyResource(faculty, date, (int) r.getCpu(), (int) r.getGpu(), (int) r.getMemory());
         HttpEntity<FacultyResource> requestEntity = new HttpEntity<>(f, headers);
         ResponseEntity<String> updated = restTemplate.postForEntity("http://localhost:8084/resource-update",
                 requestEntity, String.class);
@@ -3,18 +3,24 @@ package nl.tudelft.sem.template.example.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import lombok.NoArgsConstructor;
 import nl.tudelft.sem.template.example.dtos.AddNode;
 import org.jetbrains.annotations.NotNull;
 
 @Entity
-@Table(name = "NODE")
+@Table(name = "NODE", indexes = {
+    @Index(name = "IDX_NODE_TOKEN", columnList = "token"),
+    @Index(name = "IDX_NODE_FACULTY", columnList = "faculty"),
+    @Index(name = "IDX_NODE_RELEASED", columnList = "RELEASEDSTART, RELEASEDEND")
+})
 @NoArgsConstructor
 public class Node implements Comparable {
 
@@ -53,6 +59,18 @@ public class Node implements Comparable {
     @Column(name = "REMOVEDDATE")
     private LocalDate removedDate = null;
 
+    @Column(name = "LASTHEARTBEAT")
+    private LocalDateTime lastHeartbeat = null;
+
+    @Column(name = "CPUINUSE")
+    private Integer cpuInUse = null;
+
+    @Column(name = "GPUINUSE")
+    private Integer gpuInUse = null;
+
+    @Column(name = "MEMORYINUSE")
+    private Integer memoryInUse = null;
+
     /**
      * Constructor for the Node class, represent the nodes in the culster.
      *
@@ -165,6 +183,22 @@ public class Node implements Comparable {
         this.removedDate = removedDate;
     }
 
+    public LocalDateTime getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+
+    public Integer getCpuInUse() {
+        return cpuInUse;
+    }
+
+    public Integer getGpuInUse() {
+        return gpuInUse;
+    }
+
+    public Integer getMemoryInUse() {
+        return memoryInUse;
+    }
+
     /**
      * Comparator for Node.
      *
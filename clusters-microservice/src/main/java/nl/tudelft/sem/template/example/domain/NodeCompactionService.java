@@ -0,0 +1,93 @@
+package nl.tudelft.sem.template.example.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Physically deletes the nodes that were marked as removed.
+ * The nodes are copied to the NODE_HISTORY table and deleted from NODE in batches,
+ * every batch in its own transaction so that a run never holds long locks on the NODE table.
+ */
+@Service
+public class NodeCompactionService {
+
+    private final transient NodeRepository nodeRepository;
+    private final transient ArchivedNodeRepository archivedNodeRepository;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient Counter compactedNodes;
+    private final transient Timer compactionTime;
+    private final transient int batchSize;
+
+    /**
+     * Constructor for the NodeCompactionService.
+     *
+     * @param nodeRepository repository of the live nodes
+     * @param archivedNodeRepository repository of the archived nodes
+     * @param transactionManager transaction manager used to commit every batch separately
+     * @param meterRegistry registry the compaction metrics are published to
+     * @param batchSize maximum number of nodes moved in one transaction
+     */
+    public NodeCompactionService(NodeRepository nodeRepository, ArchivedNodeRepository archivedNodeRepository,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${clusters.compaction.batch-size:500}") int batchSize) {
+        this.nodeRepository = nodeRepository;
+        this.archivedNodeRepository = archivedNodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.compactedNodes = meterRegistry.counter("clusters.compaction.nodes");
+        this.compactionTime = meterRegistry.timer("clusters.compaction.time");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives and deletes all nodes whose removal date has been reached.
+     * Runs every night, by default at 1am.
+     */
+    @Scheduled(cron = "${clusters.compaction.cron:0 0 1 * * ?}")
+    public void compactRemovedNodes() {
+        compactRemovedNodes(LocalDate.now());
+    }
+
+    /**
+     * Archives and deletes all nodes removed on or before the date.
+     *
+     * @param date nodes removed on or before this date are compacted
+     * @return the number of nodes that were compacted
+     */
+    public int compactRemovedNodes(LocalDate date) {
+        return compactionTime.record(() -> {
+            int total = 0;
+            int compacted;
+            do {
+                compacted = compactBatch(date);
+                total += compacted;
+            } while (compacted == batchSize);
+            return total;
+        });
+    }
+
+    private int compactBatch(LocalDate date) {
+        Integer compacted = transactionTemplate.execute(status -> {
+            List<Node> removed = nodeRepository.getRemovedNodes(date, batchSize);
+            if (removed.isEmpty()) {
+                return 0;
+            }
+            archivedNodeRepository.saveAll(removed.stream()
+                    .map(n -> new ArchivedNode(n, LocalDate.now()))
+                    .collect(Collectors.toList()));
+            nodeRepository.deleteNodes(removed.stream().map(Node::getId).collect(Collectors.toList()));
+            return removed.size();
+        });
+        int count = compacted == null ? 0 : compacted;
+        compactedNodes.increment(count);
+        return count;
+    }
+}
@@ -4,6 +4,7 @@ package nl.tudelft.sem.template.example.domain;
 import commons.FacultyResource;
 import commons.Resource;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -64,17 +65,55 @@ public interface NodeRepository extends JpaRepository<Node, Long> {
     /**
      * Gets all nodes that belong to faculty.
      * And Nodes that are released.
+     * Nodes whose last heartbeat is older than aliveSince are left out.
      *
      * @param  faculty you want to get the nodes of
      * @param date date you want to get the resources on
+     * @param aliveSince nodes that did not report since this moment are considered down
      * @return Optional of a Node list from the specific faculty
      */
     @Query(
             nativeQuery = true,
             value = "SELECT * FROM Node "
-                    + "WHERE removedDate IS NULL AND (faculty = ?1 OR "
-                    + "(releasedStart <= ?2 AND releasedEND >= ?2))")
-    Optional<List<Node>> getAvailableResources(String faculty, LocalDate date);
+                    + "WHERE removedDate IS NULL AND (lastHeartbeat IS NULL OR lastHeartbeat >= ?3) "
+                    + "AND (faculty = ?1 OR (releasedStart <= ?2 AND releasedEND >= ?2))")
+    Optional<List<Node>> getAvailableResources(String faculty, LocalDate date, LocalDateTime aliveSince);
+
+    /**
+     * Sums up the resources of the nodes that belong to faculty.
+     * And Nodes that are released.
+     * Nodes whose last heartbeat is older than aliveSince are left out.
+     *
+     * @param  faculty you want to get the resources of
+     * @param date date you want to get the resources on
+     * @param aliveSince nodes that did not report since this moment are considered down
+     * @return the summed up resources, zero when there are no nodes
+     */
+    @Query(
+            nativeQuery = true,
+            value = "SELECT COALESCE(SUM(cpu), 0) AS cpu, COALESCE(SUM(gpu), 0) AS gpu, "
+                    + "COALESCE(SUM(memory), 0) AS memory FROM Node "
+                    + "WHERE removedDate IS NULL AND (lastHeartbeat IS NULL OR lastHeartbeat >= ?3) "
+                    + "AND (faculty = ?1 OR (releasedStart <= ?2 AND releasedEND >= ?2))")
+    ResourceSum sumAvailableResources(String faculty, LocalDate date, LocalDateTime aliveSince);
+
+    /**
+     * Gets all nodes that belong to one of the faculties.
+     * And Nodes that are released at some point between start and end.
+     *
+     * @param faculties faculties you want to get the nodes of
+     * @param start first date you want to get the resources on
+     * @param end last date you want to get the resources on
+     * @param aliveSince nodes that did not report since this moment are considered down
+     * @return list of the nodes available to any of the faculties in the period
+     */
+    @Query(
+            nativeQuery = true,
+            value = "SELECT * FROM Node "
+                    + "WHERE removedDate IS NULL AND (lastHeartbeat IS NULL OR lastHeartbeat >= ?4) "
+                    + "AND (faculty IN ?1 OR (releasedStart <= ?3 AND releasedEND >= ?2))")
+    List<Node> getAvailableResourcesForFaculties(List<String> faculties, LocalDate start, LocalDate end,
+                                                 LocalDateTime aliveSince);
 
     /**
      * Gets all nodes that belong to faculty.
@@ -128,6 +167,28 @@ public interface NodeRepository extends JpaRepository<Node, Long> {
             value = "UPDATE NODE SET removedDate = ?2 WHERE token = ?1")
     void setAsDeleted(String token, LocalDate date);
 
+    /**
+     * Returns a batch of nodes whose removal date has been reached.
+     *
+     * @param date nodes removed on or before this date are returned
+     * @param limit maximum number of nodes returned
+     */
+    @Query(
+            nativeQuery = true,
+            value = "SELECT * FROM NODE WHERE removedDate <= ?1 ORDER BY id LIMIT ?2")
+    List<Node> getRemovedNodes(LocalDate date, int limit);
+
+    /**
+     * Physically deletes the nodes with the ids from the database.
+     *
+     * @param ids ids of the nodes you want to delete
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(
+            nativeQuery = true,
+            value = "DELETE FROM NODE WHERE id IN ?1")
+    int deleteNodes(List<Long> ids);
+
     /**
      * Returns node with the token.
      *
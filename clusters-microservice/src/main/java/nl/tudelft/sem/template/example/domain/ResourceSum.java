@@ -0,0 +1,12 @@
+package nl.tudelft.sem.template.example.domain;
+
+/**
+ * Projection of the summed up resources of a set of nodes.
+ */
+public interface ResourceSum {
+    long getCpu();
+
+    long getGpu();
+
+    long getMemory();
+}
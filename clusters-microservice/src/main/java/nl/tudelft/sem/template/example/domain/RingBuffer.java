@@ -0,0 +1,121 @@
+package nl.tudelft.sem.template.example.domain;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue backed by a ring of slots.
+ * Every slot carries a sequence number telling producers and consumers whose turn it is,
+ * so offer and poll only need a compare-and-set on the shared position.
+ * Safe for any number of producers and consumers.
+ *
+ * @param <T> type of the elements
+ */
+public class RingBuffer<T> {
+
+    private final transient AtomicReferenceArray<T> slots;
+    private final transient AtomicLongArray sequences;
+    private final transient int mask;
+    private final transient AtomicLong tail = new AtomicLong();
+    private final transient AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element if there is a free slot.
+     *
+     * @param element element to add
+     * @return false if the buffer is full
+     */
+    public boolean offer(T element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return the oldest element or null if the buffer is empty
+     */
+    public T poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T element = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.set(index, pos + mask + 1);
+                    return element;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to max elements, oldest first, into the collection.
+     *
+     * @param sink collection to add the elements to
+     * @param max maximum number of elements moved
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super T> sink, int max) {
+        int drained = 0;
+        T element;
+        while (drained < max && (element = poll()) != null) {
+            sink.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+}
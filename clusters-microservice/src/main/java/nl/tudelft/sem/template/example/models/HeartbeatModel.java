@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model for the liveness and current usage a node reports.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HeartbeatModel {
+    String token;
+    int cpuUsage;
+    int gpuUsage;
+    int memoryUsage;
+}
@@ -0,0 +1,88 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Measures the latency of deleting a node from a cluster with 100k nodes.
+ * Not part of the regular test run, enable it with -Dbenchmark=true.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DeleteNodeBenchmark {
+
+    private static final int NODES = 100_000;
+    private static final int FACULTIES = 20;
+    private static final int DELETES = 500;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private transient DataSource dataSource;
+
+    @Autowired
+    private transient ModifyRepoService modifyRepoService;
+
+    @Test
+    void deleteNodeLatency() throws Exception {
+        Mockito.when(restTemplate.postForEntity(ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(String.class))).thenReturn(ResponseEntity.ok("Updated"));
+
+        jdbcTemplate.update("DELETE FROM NODE");
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < NODES; i++) {
+            LocalDate released = i % 10 == 0 ? today : null;
+            rows.add(new Object[] {i + 1L, "user" + i, "url", "faculty" + (i % FACULTIES), "token" + i,
+                10, 5, 5, released, released == null ? null : today.plusDays(7)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO NODE (id, net_id, url, faculty, token, cpu, gpu, memory, "
+                + "RELEASEDSTART, RELEASEDEND) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        Random random = new Random(42);
+        long[] latencies = new long[DELETES];
+        // the data source is not pooled, keep one connection open so H2 does not reopen the database file
+        // while the deletes run; it is only closed, never used
+        Connection keepOpen = dataSource.getConnection();
+        try {
+            for (int i = 0; i < DELETES; i++) {
+                int node = random.nextInt(NODES);
+                long start = System.nanoTime();
+                String response = modifyRepoService.disableNodeFromRepo("token" + node,
+                        List.of("faculty" + (node % FACULTIES)));
+                latencies[i] = System.nanoTime() - start;
+                assertThat(response).isNotNull();
+            }
+        } finally {
+            keepOpen.close();
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("deleteNode over %d nodes: mean %.2f ms, p50 %.2f ms, p99 %.2f ms%n", NODES,
+                Arrays.stream(latencies).average().orElse(0) / 1e6,
+                latencies[DELETES / 2] / 1e6, latencies[DELETES * 99 / 100] / 1e6);
+    }
+}
@@ -49,4 +49,29 @@ class GetResourceServiceTest {
         assertThat(answer.stream().mapToInt(FacultyResource::getGpuUsage).sum()).isEqualTo(12);
         assertThat(answer.stream().mapToInt(FacultyResource::getMemoryUsage).sum()).isEqualTo(15);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFacultiesAvailableResources() {
+        nodeRepository.saveAll(List.of(new Node("XYZ", "XYZ", "EEMCS2", "XYZ", 10, 10, 10),
+                new Node("XYZ2", "XYZ2", "EEMCS2", "XYZ2", 15, 2, 5),
+                new Node("XYZ3", "XYZ3", "3ME3", "XYZ3", 10, 10, 10),
+                new Node("XYZ4", "XYZ4", "TPM", "XYZ4", 4, 4, 4)));
+
+        LocalDate start = LocalDate.now().plusDays(1);
+        nodeRepository.updateRelease("TPM", start.plusDays(1), start.plusDays(1));
+
+        var answer = getResourceService.getFacultiesAvailableResources(List.of("EEMCS2", "3ME3"),
+                start, start.plusDays(1));
+        assertThat(answer).containsExactly(
+                new FacultyResource("EEMCS2", start, 25, 12, 15),
+                new FacultyResource("3ME3", start, 10, 10, 10),
+                new FacultyResource("EEMCS2", start.plusDays(1), 29, 16, 19),
+                new FacultyResource("3ME3", start.plusDays(1), 14, 14, 14));
+    }
+
+    @Test
+    void getFacultiesAvailableResourcesNoFaculties() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        assertThat(getResourceService.getFacultiesAvailableResources(List.of(), start, start)).isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.FacultyResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import nl.tudelft.sem.template.example.models.HeartbeatModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+
+@SpringBootTest(properties = {"clusters.heartbeat.buffer-size=4", "clusters.heartbeat.flush-interval-ms=3600000"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class HeartbeatServiceTest {
+
+    @Autowired
+    private transient NodeRepository nodeRepository;
+
+    @Autowired
+    private transient HeartbeatService heartbeatService;
+
+    @Autowired
+    private transient GetResourceService getResourceService;
+
+    @Autowired
+    private transient JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    @Test
+    void flushKeepsLatestHeartbeat() {
+        nodeRepository.deleteAll();
+        nodeRepository.saveAll(List.of(new Node("XYZ", "XYZ", "EEMCS", "A", 10, 10, 10),
+                new Node("XYZ2", "XYZ2", "EEMCS", "B", 15, 2, 5)));
+
+        assertThat(heartbeatService.offer(new HeartbeatModel("A", 1, 1, 1))).isTrue();
+        assertThat(heartbeatService.offer(new HeartbeatModel("A", 5, 4, 3))).isTrue();
+
+        assertThat(heartbeatService.flush()).isEqualTo(1);
+
+        Node a = nodeRepository.getNodeByToken("A").get();
+        assertThat(a.getLastHeartbeat()).isNotNull();
+        assertThat(a.getCpuInUse()).isEqualTo(5);
+        assertThat(a.getGpuInUse()).isEqualTo(4);
+        assertThat(a.getMemoryInUse()).isEqualTo(3);
+        assertThat(nodeRepository.getNodeByToken("B").get().getLastHeartbeat()).isNull();
+        assertThat(meterRegistry.counter("clusters.heartbeat.flushed").count()).isEqualTo(2.0);
+        assertThat(heartbeatService.flush()).isEqualTo(0);
+    }
+
+    @Test
+    void fullBufferDropsHeartbeats() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(heartbeatService.offer(new HeartbeatModel("A", i, i, i))).isTrue();
+        }
+        assertThat(heartbeatService.offer(new HeartbeatModel("A", 0, 0, 0))).isFalse();
+        assertThat(meterRegistry.counter("clusters.heartbeat.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void staleNodesAreNotAvailable() {
+        nodeRepository.deleteAll();
+        nodeRepository.saveAll(List.of(new Node("XYZ", "XYZ", "EEMCS", "A", 10, 10, 10),
+                new Node("XYZ2", "XYZ2", "EEMCS", "B", 15, 2, 5),
+                new Node("XYZ3", "XYZ3", "EEMCS", "C", 4, 4, 4)));
+        heartbeatService.offer(new HeartbeatModel("A", 0, 0, 0));
+        heartbeatService.flush();
+        jdbcTemplate.update("UPDATE NODE SET LASTHEARTBEAT = ? WHERE token = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), "B");
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        List<FacultyResource> answer = getResourceService.getFacultiesAvailableResources(
+                List.of("EEMCS"), tomorrow, tomorrow);
+
+        assertThat(answer).hasSize(1);
+        assertThat(answer.get(0).getCpuUsage()).isEqualTo(14);
+    }
+}
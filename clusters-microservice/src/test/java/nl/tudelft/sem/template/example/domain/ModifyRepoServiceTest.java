@@ -0,0 +1,72 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.FacultyResource;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+class ModifyRepoServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Captor
+    private ArgumentCaptor<HttpEntity<FacultyResource>> captor;
+
+    @Autowired
+    private transient NodeRepository nodeRepository;
+
+    @Autowired
+    private transient ModifyRepoService modifyRepoService;
+
+    @BeforeEach
+    void setup() {
+        nodeRepository.deleteAll();
+        nodeRepository.saveAll(List.of(new Node("XYZ", "XYZ", "EEMCS", "A", 10, 10, 10),
+                new Node("XYZ2", "XYZ2", "EEMCS", "B", 15, 2, 5),
+                new Node("XYZ3", "XYZ3", "3ME", "C", 10, 10, 10)));
+        Mockito.when(restTemplate.postForEntity(ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(String.class))).thenReturn(ResponseEntity.ok("Updated"));
+    }
+
+    @Test
+    void disableNodeFromRepo() throws Exception {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        String response = modifyRepoService.disableNodeFromRepo("A", List.of("EEMCS"));
+
+        assertThat(response).isEqualTo("Updated " + tomorrow);
+        assertThat(nodeRepository.getNodeByToken("A").get().getRemovedDate()).isEqualTo(tomorrow);
+        Mockito.verify(restTemplate).postForEntity(ArgumentMatchers.eq("http://localhost:8084/resource-update"),
+                captor.capture(), ArgumentMatchers.eq(String.class));
+        assertThat(captor.getValue().getBody()).isEqualTo(new FacultyResource("EEMCS", tomorrow, 15, 2, 5));
+    }
+
+    @Test
+    void disableNodeFromRepoOtherFaculty() throws Exception {
+        assertThat(modifyRepoService.disableNodeFromRepo("C", List.of("EEMCS"))).isNull();
+        assertThat(nodeRepository.getNodeByToken("C").get().getRemovedDate()).isNull();
+        Mockito.verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void disableNodeFromRepoUnknownToken() throws Exception {
+        assertThat(modifyRepoService.disableNodeFromRepo("Z", List.of("EEMCS"))).isNull();
+        Mockito.verifyNoInteractions(restTemplate);
+    }
+}
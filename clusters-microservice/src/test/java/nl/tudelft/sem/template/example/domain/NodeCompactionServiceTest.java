@@ -0,0 +1,64 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+
+@SpringBootTest(properties = "clusters.compaction.batch-size=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class NodeCompactionServiceTest {
+
+    @Autowired
+    private transient NodeRepository nodeRepository;
+
+    @Autowired
+    private transient ArchivedNodeRepository archivedNodeRepository;
+
+    @Autowired
+    private transient NodeCompactionService nodeCompactionService;
+
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    @Test
+    void compactRemovedNodes() {
+        nodeRepository.deleteAll();
+        nodeRepository.saveAll(List.of(new Node("XYZ", "XYZ", "EEMCS", "A", 10, 10, 10),
+                new Node("XYZ2", "XYZ2", "EEMCS", "B", 15, 2, 5),
+                new Node("XYZ3", "XYZ3", "3ME", "C", 10, 10, 10),
+                new Node("XYZ4", "XYZ4", "3ME", "D", 10, 10, 10),
+                new Node("XYZ5", "XYZ5", "TPM", "E", 10, 10, 10)));
+        nodeRepository.setAsDeleted("A", LocalDate.now().minusDays(1));
+        nodeRepository.setAsDeleted("B", LocalDate.now());
+        nodeRepository.setAsDeleted("C", LocalDate.now());
+        nodeRepository.setAsDeleted("D", LocalDate.now().plusDays(1));
+
+        int compacted = nodeCompactionService.compactRemovedNodes(LocalDate.now());
+
+        assertThat(compacted).isEqualTo(3);
+        assertThat(nodeRepository.findAll().stream().map(Node::getToken).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("D", "E");
+        assertThat(archivedNodeRepository.findAll().stream().map(ArchivedNode::getToken)
+                .collect(Collectors.toList())).containsExactlyInAnyOrder("A", "B", "C");
+        assertThat(meterRegistry.counter("clusters.compaction.nodes").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("clusters.compaction.time").count()).isEqualTo(1L);
+    }
+
+    @Test
+    void compactNothing() {
+        nodeRepository.deleteAll();
+        nodeRepository.save(new Node("XYZ", "XYZ", "EEMCS", "A", 10, 10, 10));
+
+        assertThat(nodeCompactionService.compactRemovedNodes(LocalDate.now())).isEqualTo(0);
+        assertThat(nodeRepository.findAll()).hasSize(1);
+        assertThat(archivedNodeRepository.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    @Test
+    void capacityIsRoundedUp() {
+        assertThat(new RingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new RingBuffer<Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerAndPollInOrder() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        assertThat(buffer.poll()).isNull();
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.size()).isEqualTo(0);
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> received = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (received.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            received.addAll(batch);
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -17,18 +17,18 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import commons.Faculties;
 import commons.Faculty;
 import commons.FacultyResourceModel;
 import commons.NetId;
 import commons.Role;
 import commons.RoleValue;
+import commons.security.AuthManager;
+import commons.security.JwtTokenVerifier;
+import io.jsonwebtoken.Jwts;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
-import nl.tudelft.sem.template.example.authentication.JwtTokenVerifier;
 import nl.tudelft.sem.template.example.controllers.NodeController;
 import nl.tudelft.sem.template.example.domain.GetResourceService;
 import nl.tudelft.sem.template.example.domain.Node;
@@ -83,10 +83,9 @@ public class ClustersTest {
     @BeforeEach
     public void init() throws JsonProcessingException {
         nodeRepository.deleteAll();
-        when(mockTokenVerifier.validateToken(anyString())).thenReturn(true);
-        when(mockTokenVerifier.getNetIdFromToken(anyString())).thenReturn("SomeUser");
+        when(mockTokenVerifier.verify(anyString())).thenReturn(Jwts.claims().setSubject("SomeUser"));
         when(mockAuthManager.getNetId()).thenReturn("SomeUser");
-        when(mockAuthManager.getFaculty()).thenReturn(new Faculties("EEMCS"));
+        when(mockAuthManager.getFaculties()).thenReturn(List.of("EEMCS"));
 
 
     }
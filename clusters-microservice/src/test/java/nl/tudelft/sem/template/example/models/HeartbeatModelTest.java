@@ -0,0 +1,33 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+public class HeartbeatModelTest {
+    HeartbeatModel model;
+
+    @BeforeEach
+    public void init() {
+        model = new HeartbeatModel("token", 1, 2, 3);
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new HeartbeatModel();
+        model.setToken("token");
+
+        assertNotNull(model);
+        assertThat(model.getToken()).isEqualTo("token");
+    }
+
+    @Test
+    public void getUsageTest() {
+        assertThat(model.getCpuUsage()).isEqualTo(1);
+        assertThat(model.getGpuUsage()).isEqualTo(2);
+        assertThat(model.getMemoryUsage()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,71 @@
+package nl.tudelft.sem.template.example.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates a fleet of nodes sending heartbeats to a running clusters microservice, for load testing.
+ * Run it with {@code gradle simulateNodes --args="<url> <nodes> <beats per node per second> <seconds>"},
+ * all arguments are optional. The nodes use the tokens sim-0, sim-1, ..., only nodes added with those
+ * tokens are updated in the database.
+ */
+public final class NodeSimulator {
+
+    private NodeSimulator() {
+    }
+
+    /**
+     * Starts the simulation.
+     *
+     * @param args url of the heartbeat endpoint, number of nodes, heartbeats per node per second and duration
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String url = args.length > 0 ? args[0] : "http://localhost:8085/cluster/heartbeat";
+        int nodes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long intervalNanos = (long) (1_000_000_000L / (nodes * rate));
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long next = System.nanoTime();
+        long sent = 0;
+
+        while (System.nanoTime() < end) {
+            int node = (int) (sent % nodes);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String body = String.format("{\"token\":\"sim-%d\",\"cpuUsage\":%d,\"gpuUsage\":%d,\"memoryUsage\":%d}",
+                    node, random.nextInt(100), random.nextInt(100), random.nextInt(100));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+                if (e != null) {
+                    failed.incrementAndGet();
+                } else if (response.statusCode() == 200) {
+                    ok.incrementAndGet();
+                } else {
+                    rejected.incrementAndGet();
+                }
+            });
+            sent++;
+            next += intervalNanos;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+            }
+        }
+        Thread.sleep(2000);
+        System.out.printf("sent %d heartbeats in %d s: %d accepted, %d rejected, %d failed%n",
+                sent, seconds, ok.get(), rejected.get(), failed.get());
+    }
+}
@@ -0,0 +1,20 @@
+package commons;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request model for the available resources of several faculties over a range of days.
+ * When endDate is not set only the resources on date are requested.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacultiesResourceModel {
+    private List<String> faculties;
+    private LocalDate date;
+    private LocalDate endDate;
+}
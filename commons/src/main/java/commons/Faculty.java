@@ -1,12 +1,10 @@
 package commons;
 
-import lombok.EqualsAndHashCode;
-import org.springframework.security.core.GrantedAuthority;
+import java.util.Objects;
 
 /**
  * A DDD value object representing a Faculty in our domain.
  */
-@EqualsAndHashCode
 public class Faculty {
     private final transient String facultyName;
 
@@ -15,6 +13,25 @@ public class Faculty {
         this.facultyName = facultyName;
     }
 
+    /**
+     * Faculties are equal when their names are; Hibernate relies on this to notice a changed faculty list.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Objects.equals(facultyName, ((Faculty) o).facultyName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(facultyName);
+    }
+
     @Override
     public String toString() {
         return facultyName;
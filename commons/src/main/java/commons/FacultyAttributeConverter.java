@@ -9,11 +9,11 @@ public class FacultyAttributeConverter implements AttributeConverter<Faculty, St
 
     @Override
     public String convertToDatabaseColumn(Faculty faculty) {
-        return faculty.toString();
+        return faculty == null ? null : faculty.toString();
     }
 
     @Override
     public Faculty convertToEntityAttribute(String dbData) {
-        return new Faculty(dbData);
+        return dbData == null ? null : new Faculty(dbData);
     }
 }
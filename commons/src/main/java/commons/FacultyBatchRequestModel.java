@@ -0,0 +1,12 @@
+package commons;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Model for retrieving the faculties of several users at once.
+ */
+@Data
+public class FacultyBatchRequestModel {
+    private List<String> netIds;
+}
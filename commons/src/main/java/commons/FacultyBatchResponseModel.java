@@ -0,0 +1,17 @@
+package commons;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model holding the faculties of several users, by netId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacultyBatchResponseModel {
+    private Map<String, List<String>> faculties;
+}
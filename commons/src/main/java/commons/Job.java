@@ -1,5 +1,6 @@
 package commons;
 
+import exceptions.InvalidTransitionException;
 import java.time.LocalDate;
 import java.util.Objects;
 import javax.persistence.Column;
@@ -8,17 +9,38 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_status_date", columnList = "status, preferred_date"),
+    @Index(name = "idx_jobs_net_id", columnList = "net_id"),
+    @Index(name = "idx_jobs_faculty", columnList = "faculty")
+})
 @NoArgsConstructor
 public class Job {
 
+    /**
+     * Name of the database sequence the ids of the Jobs are taken from.
+     * Every value of the sequence reserves the block of ID_BLOCK_SIZE ids starting at it,
+     * both for Hibernate and for the batched inserts of the jobs microservice.
+     */
+    public static final String ID_SEQUENCE = "job_ids";
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id
     @Column(name = "job_id", nullable = false, unique = true)
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @GenericGenerator(name = ID_SEQUENCE, strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+        @Parameter(name = "increment_size", value = "" + ID_BLOCK_SIZE),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private long jobId;
 
     @Column(name = "net_id", nullable = false)
@@ -50,6 +72,10 @@ public class Job {
     @Column(name = "date_created", nullable = false)
     private LocalDate dateCreated;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
 
     /**
      * Constructor for the Job class, which represents jobs that need to be done.
@@ -136,6 +162,27 @@ public class Job {
         this.status = status;
     }
 
+    /**
+     * Moves the Job to a new status, if the current status allows it.
+     *
+     * @param next the new status
+     * @throws InvalidTransitionException if the Job cannot move from its current status to next
+     */
+    public void transitionTo(Status next) throws InvalidTransitionException {
+        if (!status.canBecome(next)) {
+            throw new InvalidTransitionException(status, next);
+        }
+        this.status = next;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public LocalDate getPreferredDate() {
         return preferredDate;
     }
@@ -0,0 +1,81 @@
+package commons;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model of one public key in a JSON Web Key Set, as published by the authentication service.
+ * Only RSA signing keys are used, so only their fields are kept.
+ */
+@Data
+@NoArgsConstructor
+public class JwkModel {
+    public static final String RSA = "RSA";
+    public static final String RS256 = "RS256";
+
+    private String kty;
+    private String kid;
+    private String use;
+    private String alg;
+    /**
+     * The modulus of the key, named n in the key set.
+     */
+    @JsonProperty("n")
+    private String modulus;
+
+    /**
+     * The public exponent of the key, named e in the key set.
+     */
+    @JsonProperty("e")
+    private String exponent;
+
+    /**
+     * Creates the model of an RSA signing key.
+     *
+     * @param kid the id of the key, put in the header of the tokens signed with it
+     * @param key the public key
+     */
+    public JwkModel(String kid, RSAPublicKey key) {
+        this.kty = RSA;
+        this.kid = kid;
+        this.use = "sig";
+        this.alg = RS256;
+        this.modulus = encode(key.getModulus());
+        this.exponent = encode(key.getPublicExponent());
+    }
+
+    /**
+     * Creates the public key of the model.
+     *
+     * @return the RSA public key
+     * @throws GeneralSecurityException if the model does not hold a valid RSA key
+     */
+    public PublicKey toPublicKey() throws GeneralSecurityException {
+        if (!RSA.equals(kty) || modulus == null || exponent == null) {
+            throw new GeneralSecurityException("Not an RSA key: " + kid);
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return KeyFactory.getInstance(RSA).generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(modulus)), new BigInteger(1, decoder.decode(exponent))));
+    }
+
+    /**
+     * Encodes a number as unsigned big-endian bytes in base64url without padding.
+     */
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
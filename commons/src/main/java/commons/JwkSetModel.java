@@ -0,0 +1,16 @@
+package commons;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model of the JSON Web Key Set the authentication service publishes at /.well-known/jwks.json.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwkSetModel {
+    private List<JwkModel> keys;
+}
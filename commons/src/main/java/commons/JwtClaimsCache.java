@@ -0,0 +1,135 @@
+package commons;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded least-recently-used cache of the verified claims of JWT tokens, shared by the JwtTokenVerifiers.
+ * Verifying the signature of a token is the expensive part of authenticating a request,
+ * and clients send the same token until it expires, so a token is only verified the first time it is seen.
+ * An entry is dropped as soon as its token expires; the token is then verified again, which rejects it.
+ */
+public class JwtClaimsCache implements MeterBinder {
+
+    private final transient Function<String, Claims> verifier;
+    private final transient Map<String, Claims> entries;
+    private final transient LongAdder hits = new LongAdder();
+    private final transient LongAdder misses = new LongAdder();
+    private final transient LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param verifier parses a token and verifies its signature and expiration, throwing a JwtException if invalid
+     * @param maxSize maximum number of tokens cached, 0 disables caching
+     */
+    public JwtClaimsCache(Function<String, Claims> verifier, int maxSize) {
+        this.verifier = verifier;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the claims of a token, verifying the token if it is not cached.
+     *
+     * @param token the JWT token
+     * @return the verified claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, wrongly signed or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public Claims get(String token) {
+        Claims claims;
+        synchronized (entries) {
+            claims = entries.get(token);
+            if (claims != null && isExpired(claims)) {
+                entries.remove(token);
+                claims = null;
+            }
+        }
+        if (claims != null) {
+            hits.increment();
+            return claims;
+        }
+        misses.increment();
+        claims = verifier.apply(token);
+        synchronized (entries) {
+            entries.put(token, claims);
+        }
+        return claims;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * Removes all tokens.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return the number of cached tokens
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the share of the lookups that were answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, 0 before the first lookup
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.hits", this, JwtClaimsCache::getHits).register(registry);
+        FunctionCounter.builder("jwt.cache.misses", this, JwtClaimsCache::getMisses).register(registry);
+        FunctionCounter.builder("jwt.cache.evictions", this, JwtClaimsCache::getEvictions).register(registry);
+        Gauge.builder("jwt.cache.size", this, JwtClaimsCache::size).register(registry);
+        Gauge.builder("jwt.cache.hit.rate", this, JwtClaimsCache::getHitRate).register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package commons;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the single ObjectMapper shared by all microservices.
+ * An ObjectMapper is expensive to create, but thread-safe once configured,
+ * so it is built once and the readers and writers derived from it are cached per type.
+ * The configuration matches the mapper Spring Boot would create, plus the additional module,
+ * which the microservices also expose as a bean so Spring Boot adds it to the mapper it builds for Spring MVC.
+ */
+public final class ObjectMapperProvider {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new Jdk8Module())
+            .registerModule(new JavaTimeModule())
+            .registerModule(new ParameterNamesModule())
+            .registerModule(additionalModule())
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private ObjectMapperProvider() {
+    }
+
+    /**
+     * Returns the module the shared mapper has on top of the ones Spring Boot registers.
+     *
+     * @return a new instance of the module
+     */
+    public static Module additionalModule() {
+        return new AfterburnerModule();
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Returns the cached reader for a type.
+     *
+     * @param type the class you want to read
+     * @return reader for the type
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * Returns the cached writer for a type.
+     *
+     * @param type the class you want to write
+     * @return writer for the type
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    /**
+     * Converts the object into a json string.
+     *
+     * @param object object to convert to json
+     * @return the json string
+     * @throws JsonProcessingException if the object can not be serialized
+     */
+    public static String serialize(Object object) throws JsonProcessingException {
+        if (object == null) {
+            return objectMapper.writeValueAsString(null);
+        }
+        return writer(object.getClass()).writeValueAsString(object);
+    }
+
+    /**
+     * Converts a json string into an object.
+     *
+     * @param json json to convert into object
+     * @param type the class you want to convert to
+     * @return the deserialized object
+     * @throws JsonProcessingException if the json can not be deserialized
+     */
+    public static <T> T deserialize(String json, Class<T> type) throws JsonProcessingException {
+        return reader(type).readValue(json);
+    }
+}
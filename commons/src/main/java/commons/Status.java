@@ -1,9 +1,47 @@
 package commons;
 
+/**
+ * The status of a Job.
+ * A Job starts as PENDING and only moves along the transitions of canBecome:
+ * PENDING to ACCEPTED or REJECTED, ACCEPTED to RUNNING or REJECTED (the Scheduler could not fit it)
+ * and RUNNING to FINISHED. REJECTED and FINISHED are final.
+ * An approval can also be undone, see canRevertTo.
+ */
 public enum Status {
     PENDING,
     ACCEPTED,
     REJECTED,
     RUNNING,
-    FINISHED
+    FINISHED;
+
+    /**
+     * Checks whether a Job with this status may move to the next status.
+     *
+     * @param next the new status
+     * @return true if the transition is allowed
+     */
+    public boolean canBecome(Status next) {
+        switch (this) {
+            case PENDING:
+                return next == ACCEPTED || next == REJECTED;
+            case ACCEPTED:
+                return next == RUNNING || next == REJECTED;
+            case RUNNING:
+                return next == FINISHED;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether a Job with this status may go back to the status it came from,
+     * to compensate a transition whose follow-up failed.
+     * Only ACCEPTED can go back to PENDING, when the Scheduler did not take the approved Job.
+     *
+     * @param previous the status to go back to
+     * @return true if the transition may be undone
+     */
+    public boolean canRevertTo(Status previous) {
+        return this == ACCEPTED && previous == PENDING;
+    }
 }
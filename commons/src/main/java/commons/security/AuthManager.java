@@ -0,0 +1,76 @@
+package commons.security;
+
+import commons.Faculties;
+import commons.Role;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authentication Manager.
+ * Gives access to the user of the current request, as set up by the JwtRequestFilter.
+ */
+@Component
+public class AuthManager {
+    /**
+     * Interfaces with spring security to get the name of the user in the current context.
+     *
+     * @return The name of the user.
+     */
+    public String getNetId() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    /**
+     * Interfaces with spring security to get the role of the user in the current context.
+     *
+     * @return The role of the user.
+     * @throws IllegalArgumentException if the role of the user is not a RoleValue
+     */
+    public Role getRole() {
+        AuthenticatedUser user = getUser();
+        if (user.getRole() == null) {
+            return new Role(user.getRoleName());
+        }
+        return user.getRole();
+    }
+
+    /**
+     * Interfaces with spring security to get the faculties of the user in the current context.
+     *
+     * @return The faculties of the user.
+     */
+    public Faculties getFaculty() {
+        return getUser().getFaculty();
+    }
+
+    /**
+     * Interfaces with spring security to get the names of the faculties of the user in the current context.
+     *
+     * @return unmodifiable list of the faculty names of the user
+     */
+    public List<String> getFaculties() {
+        return getUser().getFaculties();
+    }
+
+    /**
+     * Returns the user in the current context.
+     * Requests authenticated by the JwtRequestFilter carry the user as principal; for any other authentication
+     * the user is built from the name, the credentials (the role) and the first authority (the faculties).
+     *
+     * @return the user in the current context
+     */
+    public AuthenticatedUser getUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+            return (AuthenticatedUser) authentication.getPrincipal();
+        }
+        String faculty = authentication.getAuthorities().stream().findFirst()
+                .map(GrantedAuthority::getAuthority).orElse(null);
+        return new AuthenticatedUser(authentication.getName(), Objects.toString(authentication.getCredentials(), null),
+                faculty);
+    }
+}
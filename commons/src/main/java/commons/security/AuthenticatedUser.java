@@ -0,0 +1,156 @@
+package commons.security;
+
+import commons.Faculties;
+import commons.Role;
+import commons.RoleValue;
+import io.jsonwebtoken.Claims;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * The user a request is made by, as read from the claims of its JWT token.
+ * It is built once per request by the JwtRequestFilter and kept as the principal of the Authentication,
+ * so the role is parsed and the faculties are split once instead of on every access.
+ */
+public final class AuthenticatedUser implements Principal {
+
+    public static final String FACULTY_SEPARATOR = ";";
+
+    private static final Map<String, Role> ROLES = new HashMap<>();
+
+    static {
+        for (RoleValue value : RoleValue.values()) {
+            ROLES.put(value.name(), new Role(value));
+        }
+    }
+
+    private final transient String netId;
+    private final transient String roleName;
+    private final transient Role role;
+    private final transient Faculties faculty;
+    private final transient List<String> faculties;
+
+    /**
+     * Creates the user.
+     *
+     * @param netId the netId of the user
+     * @param roleName the name of the role of the user, a RoleValue
+     * @param faculty the faculties of the user, separated by semicolons
+     */
+    public AuthenticatedUser(String netId, String roleName, String faculty) {
+        this(netId, roleName, faculty, faculty == null || faculty.isEmpty() ? List.of()
+                : Collections.unmodifiableList(Arrays.asList(faculty.split(FACULTY_SEPARATOR))));
+    }
+
+    private AuthenticatedUser(String netId, String roleName, String faculty, List<String> faculties) {
+        this.netId = netId;
+        this.roleName = roleName;
+        this.role = roleOf(roleName);
+        this.faculty = new Faculties(faculty);
+        this.faculties = faculties;
+    }
+
+    /**
+     * Creates the user from the claims of a verified JWT token.
+     * The faculty names of a list claim are taken as they are; only the string claim of older tokens is split.
+     *
+     * @param claims the claims of the token
+     * @return the user the token was issued to
+     */
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        String roleName = Objects.toString(claims.get("role"), null);
+        Object claim = claims.get("faculty");
+        if (claim instanceof Collection) {
+            List<String> faculties = ((Collection<?>) claim).stream().map(Object::toString)
+                    .collect(Collectors.toUnmodifiableList());
+            return new AuthenticatedUser(claims.getSubject(), roleName, String.join(FACULTY_SEPARATOR, faculties),
+                    faculties);
+        }
+        return new AuthenticatedUser(claims.getSubject(), roleName, Objects.toString(claim, null));
+    }
+
+    /**
+     * Reads the faculty claim of a token.
+     * Tokens hold the faculty names as a list; older tokens hold them as one string separated by semicolons.
+     *
+     * @param claim the value of the faculty claim
+     * @return the faculty names separated by semicolons, null if there is no claim
+     */
+    public static String facultyOf(Object claim) {
+        if (claim instanceof Collection) {
+            StringJoiner joiner = new StringJoiner(FACULTY_SEPARATOR);
+            for (Object faculty : (Collection<?>) claim) {
+                joiner.add(faculty.toString());
+            }
+            return joiner.toString();
+        }
+        return Objects.toString(claim, null);
+    }
+
+    /**
+     * Returns the shared Role object of a role name.
+     *
+     * @param roleName the name of a RoleValue
+     * @return the Role, null if the name is not a RoleValue
+     */
+    public static Role roleOf(String roleName) {
+        return roleName == null ? null : ROLES.get(roleName);
+    }
+
+    @Override
+    public String getName() {
+        return netId;
+    }
+
+    public String getNetId() {
+        return netId;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    /**
+     * Returns the role of the user.
+     *
+     * @return the role, null if the token did not hold a known role
+     */
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return role != null && role.isAdmin();
+    }
+
+    /**
+     * Returns the faculties of the user as one authority, the names joined with semicolons.
+     *
+     * @return the faculties of the user
+     */
+    public Faculties getFaculty() {
+        return faculty;
+    }
+
+    /**
+     * Returns the names of the faculties of the user.
+     *
+     * @return unmodifiable list of the faculty names
+     */
+    public List<String> getFaculties() {
+        return faculties;
+    }
+
+    @Override
+    public String toString() {
+        return netId;
+    }
+}
@@ -0,0 +1,105 @@
+package commons.security;
+
+import commons.JwkModel;
+import commons.JwkSetModel;
+import commons.ObjectMapperProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the public keys of the authentication service from the key set it publishes.
+ * The key set is fetched the first time a key is needed and the keys are kept, so tokens are verified locally.
+ * When a token names a key that is not known yet, because the authentication service rotated its keys,
+ * the key set is fetched again, at most once per refresh interval.
+ * The key set can also be read from a file: URL, such as in tests.
+ * Fetching the key set is bounded by a connect and a read timeout, as it happens while a request waits.
+ */
+@Component
+public class JwksKeyResolver implements JwtKeyResolver {
+    public static final int DEFAULT_TIMEOUT_MS = 2000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeyResolver.class);
+
+    private final transient String jwksUri;
+    private final transient long minRefreshMs;
+    private final transient int timeoutMs;
+    private final transient Map<String, PublicKey> keys = new ConcurrentHashMap<>();
+    private transient long fetchedAt;
+    private transient boolean fetched;
+
+    public JwksKeyResolver(String jwksUri, long minRefreshMs) {
+        this(jwksUri, minRefreshMs, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Creates the resolver.
+     *
+     * @param jwksUri URL of the key set, keys are not resolved when it is empty
+     * @param minRefreshMs minimum time between two fetches of the key set
+     * @param timeoutMs connect and read timeout of a fetch of the key set
+     */
+    @Autowired
+    public JwksKeyResolver(@Value("${jwt.jwks-uri:}") String jwksUri,
+                           @Value("${jwt.jwks-min-refresh-ms:60000}") long minRefreshMs,
+                           @Value("${jwt.jwks-timeout-ms:2000}") int timeoutMs) {
+        this.jwksUri = jwksUri;
+        this.minRefreshMs = minRefreshMs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public PublicKey resolve(String keyId) {
+        PublicKey key = keys.get(keyId);
+        if (key == null && refresh()) {
+            key = keys.get(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Fetches the key set, unless it was fetched less than the refresh interval ago.
+     *
+     * @return whether the key set was fetched
+     */
+    private synchronized boolean refresh() {
+        long now = System.currentTimeMillis();
+        if (jwksUri.isEmpty() || (fetched && now - fetchedAt < minRefreshMs)) {
+            return false;
+        }
+        fetched = true;
+        fetchedAt = now;
+        try (InputStream in = open()) {
+            JwkSetModel keySet = ObjectMapperProvider.reader(JwkSetModel.class).readValue(in);
+            Map<String, PublicKey> published = new HashMap<>();
+            for (JwkModel jwk : keySet.getKeys()) {
+                published.put(jwk.getKid(), jwk.toPublicKey());
+            }
+            // keys the authentication service no longer publishes have expired together with their tokens
+            keys.putAll(published);
+            keys.keySet().retainAll(published.keySet());
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.warn("Unable to fetch the JWT signing keys from {}", jwksUri, e);
+            return false;
+        }
+    }
+
+    private InputStream open() throws IOException {
+        URLConnection connection = new URL(jwksUri).openConnection();
+        connection.setConnectTimeout(timeoutMs);
+        connection.setReadTimeout(timeoutMs);
+        return connection.getInputStream();
+    }
+}
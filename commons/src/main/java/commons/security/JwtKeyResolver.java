@@ -0,0 +1,17 @@
+package commons.security;
+
+import java.security.PublicKey;
+
+/**
+ * Finds the public key a JWT token was signed with, by the key id in the header of the token.
+ */
+public interface JwtKeyResolver {
+
+    /**
+     * Returns the public key with the id.
+     *
+     * @param keyId the id of the key
+     * @return the public key, or null if there is no key with the id
+     */
+    PublicKey resolve(String keyId);
+}
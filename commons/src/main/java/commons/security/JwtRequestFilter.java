@@ -1,6 +1,6 @@
-package nl.tudelft.sem.template.example.authentication;
+package commons.security;
 
-import commons.Faculties;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import java.io.IOException;
@@ -63,14 +63,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 String token = directives[1];
 
                 try {
-                    if (jwtTokenVerifier.validateToken(token)) {
-                        String netId = jwtTokenVerifier.getNetIdFromToken(token);
-                        String role = jwtTokenVerifier.getRoleFromToken(token);
-                        Faculties faculty = new Faculties(jwtTokenVerifier.getFacultyFromToken(token));
+                    // the token is verified and parsed once, all claims are read from the result
+                    Claims claims = jwtTokenVerifier.verify(token);
+                    if (claims != null) {
+                        AuthenticatedUser user = AuthenticatedUser.fromClaims(claims);
 
                         var authenticationToken = new UsernamePasswordAuthenticationToken(
-                                netId,
-                                role, List.of(faculty)
+                                user,
+                                user.getRoleName(), List.of(user.getFaculty())
                         );
                         authenticationToken.setDetails(new WebAuthenticationDetailsSource()
                                 .buildDetails(request));
@@ -86,10 +86,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 } catch (IllegalArgumentException | JwtException e) {
                     System.err.println("Unable to parse JWT token");
                 }
+            } else {
+                System.err.println("Invalid authorization header");
             }
-            System.err.println("Invalid authorization header");
         }
 
         filterChain.doFilter(request, response);
     }
+
+
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package commons.security;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the shared authentication components: the AuthManager, the JwtTokenVerifier,
+ * the JwtRequestFilter and the JwtAuthenticationEntryPoint.
+ * Microservices import this configuration instead of keeping their own copies.
+ */
+@Configuration
+@ComponentScan(basePackageClasses = JwtSecurityConfig.class)
+public class JwtSecurityConfig {
+}
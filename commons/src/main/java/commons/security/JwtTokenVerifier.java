@@ -0,0 +1,146 @@
+package commons.security;
+
+import commons.JwtClaimsCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.function.Function;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies the JWT token in the request for validity.
+ * Tokens are signed by the authentication service with RS256 and carry the id of the signing key in their header;
+ * the public key is found with the JwtKeyResolver, so no service but the authentication service holds a secret.
+ * Tokens without a key id are only accepted when jwt.secret is set, to verify HS512 tokens during the switch.
+ * Verified tokens are cached, so the signature of a token is only checked the first time it is seen.
+ */
+@Component
+public class JwtTokenVerifier {
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    @Value("${jwt.secret:}")  // automatically loads jwt.secret from resources/application.properties
+    private transient String jwtSecret;
+
+    private final transient JwtKeyResolver keyResolver;
+
+    private final transient JwtClaimsCache claimsCache;
+
+    private final transient SigningKeyResolverAdapter signingKeys = new SigningKeyResolverAdapter() {
+        // jjwt 0.9.1 declares this method with a raw JwsHeader, so an override with JwsHeader<?> does not compile
+        @SuppressWarnings("rawtypes")
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return signingKey(header);
+        }
+    };
+
+    public JwtTokenVerifier() {
+        this(keyId -> null);
+    }
+
+    public JwtTokenVerifier(JwtKeyResolver keyResolver) {
+        this.keyResolver = keyResolver;
+        this.claimsCache = new JwtClaimsCache(this::parse, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a verifier whose cache publishes its hit rate to the meter registry, if there is one.
+     *
+     * @param cacheSize maximum number of verified tokens kept
+     * @param keyResolver finds the public keys of the authentication service
+     * @param meterRegistry registry the metrics of the cache are published to
+     */
+    @Autowired
+    public JwtTokenVerifier(@Value("${jwt.cache-size:10000}") int cacheSize, JwtKeyResolver keyResolver,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.keyResolver = keyResolver;
+        this.claimsCache = new JwtClaimsCache(this::parse, cacheSize);
+        meterRegistry.ifAvailable(claimsCache::bindTo);
+    }
+
+    /**
+     * Verifies the signature and expiration of the token and returns its claims.
+     * The request filter reads all claims from the result, so a token is parsed once per request.
+     *
+     * @param token the JWT token
+     * @return the claims of the token
+     */
+    public Claims verify(String token) {
+        return claimsCache.get(token);
+    }
+
+    /**
+     * Validate the JWT token for expiration.
+     */
+    public boolean validateToken(String token) {
+        return !isTokenExpired(token);
+    }
+
+    public String getNetIdFromToken(String token) {
+        return getClaimFromToken(token, Claims::getSubject);
+    }
+
+    public String getRoleFromToken(String token) {
+        Claims claims = getClaims(token);
+        return claims.get("role").toString();
+    }
+
+    public String getFacultyFromToken(String token) {
+        Claims claims = getClaims(token);
+        return AuthenticatedUser.facultyOf(claims.get("faculty"));
+    }
+
+    public Date getExpirationDateFromToken(String token) {
+        return getClaimFromToken(token, Claims::getExpiration);
+    }
+
+    private Boolean isTokenExpired(String token) {
+        final Date expiration = getExpirationDateFromToken(token);
+        return expiration.before(new Date());
+    }
+
+    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = getClaims(token);
+        return claimsResolver.apply(claims);
+    }
+
+    private Claims getClaims(String token) {
+        return verify(token);
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parser().setSigningKeyResolver(signingKeys).parseClaimsJws(token).getBody();
+    }
+
+    private Key signingKey(JwsHeader<?> header) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+        if (header.getKeyId() != null) {
+            // only accept the algorithm the keys are published for, so a public key is never used as an HMAC secret
+            if (algorithm != SignatureAlgorithm.RS256) {
+                throw new UnsupportedJwtException("Unsupported algorithm " + algorithm);
+            }
+            PublicKey key = keyResolver.resolve(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Unknown signing key " + header.getKeyId());
+            }
+            return key;
+        }
+        if (jwtSecret == null || jwtSecret.isEmpty() || !algorithm.isHmac()) {
+            throw new UnsupportedJwtException("Token has no signing key id");
+        }
+        return new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), algorithm.getJcaName());
+    }
+}
@@ -0,0 +1,21 @@
+package exceptions;
+
+import commons.Status;
+
+/**
+ * Exception to indicate a Job cannot move from its current status to the requested one.
+ */
+public class InvalidTransitionException extends Exception {
+
+    static final long serialVersionUID = -3387516993124229948L;
+
+    /**
+     * Constructor for InvalidTransitionException.
+     *
+     * @param from the current status of the Job
+     * @param to the requested status
+     */
+    public InvalidTransitionException(Status from, Status to) {
+        super(from + " -> " + to);
+    }
+}
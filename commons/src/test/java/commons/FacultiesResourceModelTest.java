@@ -0,0 +1,44 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FacultiesResourceModelTest {
+    FacultiesResourceModel model;
+
+    /**
+     * Initialising a FacultiesResourceModel.
+     */
+    @BeforeEach
+    public void init() {
+        model = new FacultiesResourceModel(List.of("EEMCS", "3ME"), LocalDate.now(), LocalDate.now().plusDays(2));
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new FacultiesResourceModel();
+        model.setFaculties(List.of("EEMCS"));
+        model.setDate(LocalDate.now());
+
+        assertNotNull(model);
+        assertThat(model.getFaculties()).containsExactly("EEMCS");
+        assertThat(model.getDate()).isEqualTo(LocalDate.now());
+        assertThat(model.getEndDate()).isNull();
+    }
+
+    @Test
+    public void getFacultiesTest() {
+        assertThat(model.getFaculties()).containsExactly("EEMCS", "3ME");
+    }
+
+    @Test
+    public void getDatesTest() {
+        assertThat(model.getDate()).isEqualTo(LocalDate.now());
+        assertThat(model.getEndDate()).isEqualTo(LocalDate.now().plusDays(2));
+    }
+}
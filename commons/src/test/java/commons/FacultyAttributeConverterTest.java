@@ -30,4 +30,10 @@ class FacultyAttributeConverterTest {
         Faculty actualFaculty = fac.convertToEntityAttribute(dbValue);
         assertThat(actualFaculty).isEqualTo(faculty);
     }
-}
\ No newline at end of file
+
+    @Test
+    void convertNull() {
+        assertThat(fac.convertToDatabaseColumn(null)).isNull();
+        assertThat(fac.convertToEntityAttribute(null)).isNull();
+    }
+}
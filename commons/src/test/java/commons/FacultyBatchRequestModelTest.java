@@ -0,0 +1,17 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class FacultyBatchRequestModelTest {
+
+    @Test
+    public void getNetIdsTest() {
+        FacultyBatchRequestModel model = new FacultyBatchRequestModel();
+        model.setNetIds(List.of("itomov", "mlica"));
+
+        assertThat(model.getNetIds()).containsExactly("itomov", "mlica");
+    }
+}
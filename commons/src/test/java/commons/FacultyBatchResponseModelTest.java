@@ -0,0 +1,27 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class FacultyBatchResponseModelTest {
+
+    @Test
+    public void constructorTest() {
+        Map<String, List<String>> faculties = Map.of("itomov", List.of("EEMCS", "3ME"));
+        FacultyBatchResponseModel model = new FacultyBatchResponseModel(faculties);
+
+        assertThat(model.getFaculties()).isEqualTo(faculties);
+        assertThat(model).isEqualTo(new FacultyBatchResponseModel(faculties));
+    }
+
+    @Test
+    public void setFacultiesTest() {
+        FacultyBatchResponseModel model = new FacultyBatchResponseModel();
+        model.setFaculties(Map.of());
+
+        assertThat(model.getFaculties()).isEmpty();
+    }
+}
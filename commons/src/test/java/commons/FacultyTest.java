@@ -18,4 +18,11 @@ class FacultyTest {
     void testToString() {
         assertThat(faculty.toString()).isEqualTo("EEMCS");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEquals() {
+        assertThat(faculty).isEqualTo(new Faculty("EEMCS")).hasSameHashCodeAs(new Faculty("EEMCS"));
+        assertThat(faculty).isNotEqualTo(new Faculty("3ME"));
+        assertThat(faculty).isNotEqualTo(null);
+    }
+}
@@ -3,8 +3,10 @@ package commons;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import exceptions.InvalidTransitionException;
 import java.time.LocalDate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -155,4 +157,26 @@ class JobTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void transitionTo() throws Exception {
+        job1.transitionTo(Status.ACCEPTED);
+        job1.transitionTo(Status.RUNNING);
+        job1.transitionTo(Status.FINISHED);
+        assertThat(job1.getStatus()).isEqualTo(Status.FINISHED);
+    }
+
+    @Test
+    void illegalTransition() {
+        Exception e = assertThrows(InvalidTransitionException.class, () -> job1.transitionTo(Status.FINISHED));
+        assertThat(e.getMessage()).isEqualTo("PENDING -> FINISHED");
+        assertThat(job1.getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void version() {
+        assertThat(job1.getVersion()).isEqualTo(0L);
+        job1.setVersion(3L);
+        assertThat(job1.getVersion()).isEqualTo(3L);
+    }
+
+}
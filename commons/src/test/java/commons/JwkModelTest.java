@@ -0,0 +1,36 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import org.junit.jupiter.api.Test;
+
+public class JwkModelTest {
+
+    @Test
+    public void convertsPublicKey() throws Exception {
+        RSAPublicKey key = (RSAPublicKey) KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+
+        JwkModel model = ObjectMapperProvider.deserialize(
+                ObjectMapperProvider.serialize(new JwkModel("k1", key)), JwkModel.class);
+
+        assertThat(model.getKid()).isEqualTo("k1");
+        assertThat(model.getKty()).isEqualTo("RSA");
+        assertThat(model.getAlg()).isEqualTo("RS256");
+        assertThat(model.getUse()).isEqualTo("sig");
+        assertThat(model.getExponent()).isEqualTo("AQAB");
+        assertThat(ObjectMapperProvider.serialize(model)).contains("\"n\":", "\"e\":\"AQAB\"");
+        assertThat(model.toPublicKey()).isEqualTo(key);
+    }
+
+    @Test
+    public void rejectsOtherKeyTypes() {
+        JwkModel model = new JwkModel();
+        model.setKty("EC");
+
+        assertThatExceptionOfType(GeneralSecurityException.class).isThrownBy(model::toPublicKey);
+    }
+}
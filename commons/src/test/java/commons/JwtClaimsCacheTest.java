@@ -0,0 +1,122 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JwtClaimsCacheTest {
+    private final String secret = "testSecret123";
+    private AtomicInteger parses;
+    private JwtClaimsCache cache;
+
+    /**
+     * Initialising a cache of two tokens that counts the parses.
+     */
+    @BeforeEach
+    public void init() {
+        parses = new AtomicInteger();
+        cache = new JwtClaimsCache(token -> {
+            parses.incrementAndGet();
+            return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        }, 2);
+    }
+
+    private String token(String netId, long expirationOffset) {
+        return Jwts.builder().setSubject(netId)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationOffset))
+                .signWith(SignatureAlgorithm.HS512, secret).compact();
+    }
+
+    @Test
+    public void verifiesOnlyOnceTest() {
+        String token = token("user123", 10_000_000);
+
+        Claims first = cache.get(token);
+        Claims second = cache.get(token);
+
+        assertThat(first.getSubject()).isEqualTo("user123");
+        assertThat(second).isSameAs(first);
+        assertThat(parses.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTest() {
+        String a = token("a", 10_000_000);
+        String b = token("b", 10_000_000);
+        String c = token("c", 10_000_000);
+        cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        cache.get(a);
+        assertThat(parses.get()).isEqualTo(3);
+        cache.get(b);
+        assertThat(parses.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void expiredTokenIsVerifiedAgainTest() throws InterruptedException {
+        // the expiration of a signed token only has second precision, so the claims are built directly
+        JwtClaimsCache shortLived = new JwtClaimsCache(token -> {
+            if (parses.incrementAndGet() > 1) {
+                throw new ExpiredJwtException(null, null, "expired");
+            }
+            return Jwts.claims().setSubject(token).setExpiration(new Date(System.currentTimeMillis() + 50));
+        }, 2);
+        shortLived.get("user123");
+        Thread.sleep(100);
+
+        assertThatExceptionOfType(ExpiredJwtException.class).isThrownBy(() -> shortLived.get("user123"));
+        assertThat(parses.get()).isEqualTo(2);
+        assertThat(shortLived.size()).isZero();
+    }
+
+    @Test
+    public void invalidTokenIsNotCachedTest() {
+        String token = Jwts.builder().setSubject("user123").signWith(SignatureAlgorithm.HS512, "other").compact();
+
+        assertThatExceptionOfType(SignatureException.class).isThrownBy(() -> cache.get(token));
+        assertThatExceptionOfType(SignatureException.class).isThrownBy(() -> cache.get(token));
+        assertThat(parses.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void disabledCacheTest() {
+        cache = new JwtClaimsCache(token -> Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody(), 0);
+        cache.get(token("user123", 10_000_000));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void metricsTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        String token = token("user123", 10_000_000);
+        cache.get(token);
+        cache.get(token);
+        cache.get(token);
+
+        assertThat(registry.get("jwt.cache.hits").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("jwt.cache.misses").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.cache.size").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("jwt.cache.hit.rate").gauge().value()).isEqualTo(2.0 / 3);
+    }
+}
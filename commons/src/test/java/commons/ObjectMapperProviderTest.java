@@ -0,0 +1,67 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+public class ObjectMapperProviderTest {
+
+    @Test
+    public void sameMapperTest() {
+        assertThat(ObjectMapperProvider.getObjectMapper()).isSameAs(ObjectMapperProvider.getObjectMapper());
+    }
+
+    @Test
+    public void additionalModuleIsRegisteredTest() {
+        assertThat(ObjectMapperProvider.getObjectMapper().getRegisteredModuleIds())
+                .contains(ObjectMapperProvider.additionalModule().getTypeId());
+    }
+
+    @Test
+    public void cachedReaderAndWriterTest() {
+        assertThat(ObjectMapperProvider.reader(FacultyResource.class))
+                .isSameAs(ObjectMapperProvider.reader(FacultyResource.class));
+        assertThat(ObjectMapperProvider.writer(FacultyResource.class))
+                .isSameAs(ObjectMapperProvider.writer(FacultyResource.class));
+    }
+
+    @Test
+    public void serializeDateTest() throws Exception {
+        FacultyResource resource = new FacultyResource("EEMCS", LocalDate.of(2022, 12, 24), 1, 2, 3);
+        assertThat(ObjectMapperProvider.serialize(resource)).isEqualTo("{\"faculty\":\"EEMCS\",\"date\":\"2022-12-24\","
+                + "\"cpuUsage\":1,\"gpuUsage\":2,\"memoryUsage\":3}");
+    }
+
+    @Test
+    public void serializeNullTest() throws Exception {
+        assertThat(ObjectMapperProvider.serialize(null)).isEqualTo("null");
+    }
+
+    @Test
+    public void roundTripArrayTest() throws Exception {
+        FacultyResource[] resources = {
+            new FacultyResource("EEMCS", LocalDate.now(), 1, 2, 3),
+            new FacultyResource("3ME", LocalDate.now(), 4, 5, 6)
+        };
+        String json = ObjectMapperProvider.serialize(resources);
+        assertThat(ObjectMapperProvider.deserialize(json, FacultyResource[].class)).containsExactly(resources);
+    }
+
+    @Test
+    public void unknownPropertiesIgnoredTest() throws Exception {
+        FacultyResourceModel model = ObjectMapperProvider.deserialize(
+                "{\"faculty\":\"EEMCS\",\"date\":\"2022-12-24\",\"extra\":1}", FacultyResourceModel.class);
+        assertThat(model).isEqualTo(new FacultyResourceModel("EEMCS", LocalDate.of(2022, 12, 24)));
+    }
+
+    @Test
+    public void constructorOnlyClassTest() throws Exception {
+        ScheduleJob job = ObjectMapperProvider.deserialize("{\"jobId\":1,\"faculty\":null,"
+                + "\"scheduleBefore\":\"2022-12-24\",\"cpuUsage\":3,\"gpuUsage\":2,\"memoryUsage\":1}",
+                ScheduleJob.class);
+        assertThat(job.getJobId()).isEqualTo(1L);
+        assertThat(job.getScheduleBefore()).isEqualTo(LocalDate.of(2022, 12, 24));
+        assertThat(job.getCpuUsage()).isEqualTo(3);
+    }
+}
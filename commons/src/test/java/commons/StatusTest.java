@@ -0,0 +1,45 @@
+package commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StatusTest {
+
+    @Test
+    void pending() {
+        assertThat(Status.PENDING.canBecome(Status.ACCEPTED)).isTrue();
+        assertThat(Status.PENDING.canBecome(Status.REJECTED)).isTrue();
+        assertThat(Status.PENDING.canBecome(Status.RUNNING)).isFalse();
+        assertThat(Status.PENDING.canBecome(Status.PENDING)).isFalse();
+    }
+
+    @Test
+    void accepted() {
+        assertThat(Status.ACCEPTED.canBecome(Status.RUNNING)).isTrue();
+        assertThat(Status.ACCEPTED.canBecome(Status.REJECTED)).isTrue();
+        assertThat(Status.ACCEPTED.canBecome(Status.PENDING)).isFalse();
+        assertThat(Status.ACCEPTED.canBecome(Status.FINISHED)).isFalse();
+    }
+
+    @Test
+    void running() {
+        assertThat(Status.RUNNING.canBecome(Status.FINISHED)).isTrue();
+        assertThat(Status.RUNNING.canBecome(Status.REJECTED)).isFalse();
+    }
+
+    @Test
+    void revert() {
+        assertThat(Status.ACCEPTED.canRevertTo(Status.PENDING)).isTrue();
+        assertThat(Status.RUNNING.canRevertTo(Status.ACCEPTED)).isFalse();
+        assertThat(Status.REJECTED.canRevertTo(Status.PENDING)).isFalse();
+    }
+
+    @Test
+    void finalStatuses() {
+        for (Status next : Status.values()) {
+            assertThat(Status.REJECTED.canBecome(next)).isFalse();
+            assertThat(Status.FINISHED.canBecome(next)).isFalse();
+        }
+    }
+}
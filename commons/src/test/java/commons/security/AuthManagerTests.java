@@ -0,0 +1,89 @@
+package commons.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import commons.Faculties;
+import commons.RoleValue;
+import java.util.List;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class AuthManagerTests {
+    private transient AuthManager authManager;
+
+    @BeforeEach
+    public void setup() {
+        authManager = new AuthManager();
+    }
+
+    @Test
+    public void getNetidTest() {
+        // Arrange
+        String expected = "user123";
+        var authenticationToken = new UsernamePasswordAuthenticationToken(
+                expected,
+                null, List.of() // no credentials and no authorities
+        );
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+        // Act
+        String actual = authManager.getNetId();
+
+        // Assert
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void getUserFromPrincipalTest() {
+        // Arrange
+        AuthenticatedUser user = new AuthenticatedUser("user123", "ADMIN", "EEMCS;AE");
+        var authenticationToken = new UsernamePasswordAuthenticationToken(
+                user,
+                user.getRoleName(), List.of(user.getFaculty())
+        );
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+        // Assert
+        assertThat(authManager.getUser()).isSameAs(user);
+        assertThat(authManager.getNetId()).isEqualTo("user123");
+        assertThat(authManager.getRole()).isSameAs(user.getRole());
+        assertThat(authManager.getFaculty().getAuthority()).isEqualTo("EEMCS;AE");
+        assertThat(authManager.getFaculties()).containsExactly("EEMCS", "AE");
+    }
+
+    @Test
+    public void getUserFromOtherAuthenticationTest() {
+        // Arrange
+        var authenticationToken = new UsernamePasswordAuthenticationToken(
+                "user123",
+                "EMPLOYEE", List.of(new Faculties("EEMCS"))
+        );
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+        // Assert
+        assertThat(authManager.getNetId()).isEqualTo("user123");
+        assertThat(authManager.getRole().getRoleValue()).isEqualTo(RoleValue.EMPLOYEE);
+        assertThat(authManager.getFaculties()).containsExactly("EEMCS");
+    }
+
+    @Test
+    public void getUnknownRoleTest() {
+        // Arrange
+        var authenticationToken = new UsernamePasswordAuthenticationToken(
+                "user123",
+                "employee", List.of()
+        );
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+        // Act
+        ThrowableAssert.ThrowingCallable action = () -> authManager.getRole();
+
+        // Assert
+        assertThatIllegalArgumentException().isThrownBy(action);
+        assertThat(authManager.getFaculties()).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package commons.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import commons.RoleValue;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class AuthenticatedUserTest {
+
+    @Test
+    public void fromClaims() {
+        Claims claims = Jwts.claims().setSubject("user123");
+        claims.put("role", "FAC_ACC");
+        claims.put("faculty", "EEMCS;AE");
+
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(claims);
+
+        assertThat(user.getName()).isEqualTo("user123");
+        assertThat(user.getNetId()).isEqualTo("user123");
+        assertThat(user.getRoleName()).isEqualTo("FAC_ACC");
+        assertThat(user.getRole().getRoleValue()).isEqualTo(RoleValue.FAC_ACC);
+        assertThat(user.isAdmin()).isFalse();
+        assertThat(user.getFaculty().getAuthority()).isEqualTo("EEMCS;AE");
+        assertThat(user.getFaculties()).containsExactly("EEMCS", "AE");
+        assertThat(user.toString()).isEqualTo("user123");
+    }
+
+    @Test
+    public void fromClaimsWithFacultyList() {
+        Claims claims = Jwts.claims().setSubject("user123");
+        claims.put("role", "EMPLOYEE");
+        claims.put("faculty", List.of("EEMCS", "AE"));
+
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(claims);
+
+        assertThat(user.getFaculty().getAuthority()).isEqualTo("EEMCS;AE");
+        assertThat(user.getFaculties()).containsExactly("EEMCS", "AE");
+        assertThat(AuthenticatedUser.facultyOf(List.of())).isEmpty();
+        assertThat(AuthenticatedUser.facultyOf(null)).isNull();
+    }
+
+    @Test
+    public void rolesAreShared() {
+        AuthenticatedUser first = new AuthenticatedUser("a", "ADMIN", "EEMCS");
+        AuthenticatedUser second = new AuthenticatedUser("b", "ADMIN", "AE");
+
+        assertThat(first.getRole()).isSameAs(second.getRole());
+        assertThat(first.isAdmin()).isTrue();
+    }
+
+    @Test
+    public void unknownRoleAndNoFaculty() {
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(Jwts.claims().setSubject("user123"));
+
+        assertThat(user.getRole()).isNull();
+        assertThat(user.isAdmin()).isFalse();
+        assertThat(user.getFaculties()).isEmpty();
+        assertThat(AuthenticatedUser.roleOf("employee")).isNull();
+    }
+
+    @Test
+    public void facultiesAreUnmodifiable() {
+        AuthenticatedUser user = new AuthenticatedUser("user123", "EMPLOYEE", "EEMCS");
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> user.getFaculties().add("AE"));
+    }
+}
@@ -0,0 +1,107 @@
+package commons.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.JwkModel;
+import commons.JwkSetModel;
+import commons.ObjectMapperProvider;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JwksKeyResolverTests {
+    private static KeyPair first;
+    private static KeyPair second;
+
+    @TempDir
+    transient Path directory;
+
+    private transient Path keySet;
+
+    /**
+     * Generates the key pairs once, generating RSA keys is slow.
+     */
+    @BeforeAll
+    public static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        first = generator.generateKeyPair();
+        second = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    public void setup() {
+        keySet = directory.resolve("jwks.json");
+    }
+
+    private void publish(JwkModel... keys) throws Exception {
+        Files.writeString(keySet, ObjectMapperProvider.serialize(new JwkSetModel(List.of(keys))));
+    }
+
+    @Test
+    public void resolvesPublishedKeys() throws Exception {
+        publish(new JwkModel("k1", (RSAPublicKey) first.getPublic()));
+        JwksKeyResolver resolver = new JwksKeyResolver(keySet.toUri().toString(), 60_000);
+
+        assertThat(resolver.resolve("k1")).isEqualTo(first.getPublic());
+        assertThat(resolver.resolve("k2")).isNull();
+    }
+
+    @Test
+    public void fetchesOnceWithinRefreshInterval() throws Exception {
+        publish(new JwkModel("k1", (RSAPublicKey) first.getPublic()));
+        JwksKeyResolver resolver = new JwksKeyResolver(keySet.toUri().toString(), 60_000);
+        assertThat(resolver.resolve("k1")).isNotNull();
+
+        publish(new JwkModel("k1", (RSAPublicKey) first.getPublic()), new JwkModel("k2", (RSAPublicKey) second.getPublic()));
+
+        assertThat(resolver.resolve("k2")).isNull();
+    }
+
+    @Test
+    public void fetchesRotatedKeys() throws Exception {
+        publish(new JwkModel("k1", (RSAPublicKey) first.getPublic()));
+        JwksKeyResolver resolver = new JwksKeyResolver(keySet.toUri().toString(), 0);
+        assertThat(resolver.resolve("k1")).isNotNull();
+
+        publish(new JwkModel("k2", (RSAPublicKey) second.getPublic()));
+
+        assertThat(resolver.resolve("k2")).isEqualTo(second.getPublic());
+        assertThat(resolver.resolve("k1")).isNull();
+    }
+
+    @Test
+    public void resolvesNothingWithoutKeySet() {
+        JwksKeyResolver resolver = new JwksKeyResolver("", 0);
+
+        assertThat(resolver.resolve("k1")).isNull();
+    }
+
+    @Test
+    public void resolvesNothingWhenKeySetIsMissing() {
+        JwksKeyResolver resolver = new JwksKeyResolver(keySet.toUri().toString(), 0);
+
+        assertThat(resolver.resolve("k1")).isNull();
+    }
+
+    @Test
+    public void unresponsiveKeySetTimesOut() throws Exception {
+        // the socket accepts connections through its backlog but never answers
+        try (ServerSocket server = new ServerSocket(0)) {
+            JwksKeyResolver resolver = new JwksKeyResolver(
+                    "http://localhost:" + server.getLocalPort() + "/.well-known/jwks.json", 0, 200);
+
+            long start = System.nanoTime();
+            assertThat(resolver.resolve("k1")).isNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -1,12 +1,14 @@
-package nl.tudelft.sem.template.example.authentication;
+package commons.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import java.io.IOException;
 import java.util.stream.Stream;
 import javax.servlet.FilterChain;
@@ -20,6 +22,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mockito;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 public class JwtRequestFilterTests {
@@ -57,10 +60,8 @@ public class JwtRequestFilterTests {
         // Arrange
         String token = "randomtoken123";
         String user = "user123";
-        String role = "employee";
         when(mockRequest.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(mockJwtTokenVerifier.validateToken(token)).thenReturn(true);
-        when(mockJwtTokenVerifier.getNetIdFromToken(token)).thenReturn(user);
+        when(mockJwtTokenVerifier.verify(token)).thenReturn(claims(user));
 
         // Act
         jwtRequestFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
@@ -68,16 +69,33 @@ public class JwtRequestFilterTests {
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
                 .isEqualTo(user);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getCredentials())
+                .isEqualTo("Employee");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("EEMCS");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(AuthenticatedUser.class, u -> {
+                    assertThat(u.getNetId()).isEqualTo(user);
+                    assertThat(u.getFaculties()).containsExactly("EEMCS");
+                });
+        // the token is parsed once, not once per claim
+        verify(mockJwtTokenVerifier).verify(token);
+        verifyNoMoreInteractions(mockJwtTokenVerifier);
+    }
+
+    private static Claims claims(String netId) {
+        Claims claims = Jwts.claims().setSubject(netId);
+        claims.put("role", "Employee");
+        claims.put("faculty", "EEMCS");
+        return claims;
     }
 
     @Test
     public void invalidToken() throws ServletException, IOException {
         // Arrange
         String token = "randomtoken123";
-        String user = "user123";
         when(mockRequest.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(mockJwtTokenVerifier.validateToken(token)).thenReturn(false);
-        when(mockJwtTokenVerifier.getNetIdFromToken(token)).thenReturn(user);
+        when(mockJwtTokenVerifier.verify(token)).thenReturn(null);
 
         // Act
         jwtRequestFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
@@ -98,10 +116,8 @@ public class JwtRequestFilterTests {
             throws ServletException, IOException {
         // Arrange
         String token = "randomtoken123";
-        String user = "user123";
         when(mockRequest.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(mockJwtTokenVerifier.validateToken(token)).thenThrow(throwable);
-        when(mockJwtTokenVerifier.getNetIdFromToken(token)).thenReturn(user);
+        when(mockJwtTokenVerifier.verify(token)).thenThrow(throwable);
 
         // Act
         jwtRequestFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
@@ -139,8 +155,7 @@ public class JwtRequestFilterTests {
         String token = "randomtoken123";
         String user = "user123";
         when(mockRequest.getHeader("Authorization")).thenReturn("Bearer1 " + token);
-        when(mockJwtTokenVerifier.validateToken(token)).thenReturn(true);
-        when(mockJwtTokenVerifier.getNetIdFromToken(token)).thenReturn(user);
+        when(mockJwtTokenVerifier.verify(token)).thenReturn(claims(user));
 
         // Act
         jwtRequestFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
@@ -156,8 +171,7 @@ public class JwtRequestFilterTests {
         String token = "randomtoken123";
         String user = "user123";
         when(mockRequest.getHeader("Authorization")).thenReturn(token);
-        when(mockJwtTokenVerifier.validateToken(token)).thenReturn(true);
-        when(mockJwtTokenVerifier.getNetIdFromToken(token)).thenReturn(user);
+        when(mockJwtTokenVerifier.verify(token)).thenReturn(claims(user));
 
         // Act
         jwtRequestFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
@@ -1,4 +1,4 @@
-package nl.tudelft.sem.template.example.authentication;
+package commons.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -8,7 +8,10 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import java.lang.reflect.Field;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -91,6 +94,54 @@ public class JwtTokenVerifierTests {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    public void verifiesTokenSignedWithPublishedKey() throws Exception {
+        // Arrange
+        KeyPair keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        JwtTokenVerifier verifier = new JwtTokenVerifier(keyId -> "k1".equals(keyId) ? keyPair.getPublic() : null);
+        String token = Jwts.builder().setHeaderParam("kid", "k1").setSubject("user123")
+                .setExpiration(new Date(System.currentTimeMillis() + 10_000_000))
+                .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate()).compact();
+        String unknownKey = Jwts.builder().setHeaderParam("kid", "k2").setSubject("user123")
+                .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate()).compact();
+
+        // Act
+        String actual = verifier.getNetIdFromToken(token);
+
+        // Assert
+        assertThat(actual).isEqualTo("user123");
+        assertThatExceptionOfType(SignatureException.class)
+                .isThrownBy(() -> verifier.getNetIdFromToken(unknownKey));
+    }
+
+    @Test
+    public void rejectsHmacTokenWithKeyId() {
+        // Arrange
+        String token = Jwts.builder().setHeaderParam("kid", "k1").setSubject("user123")
+                .signWith(SignatureAlgorithm.HS512, secret).compact();
+
+        // Act
+        ThrowableAssert.ThrowingCallable action = () -> jwtTokenVerifier.getNetIdFromToken(token);
+
+        // Assert
+        assertThatExceptionOfType(UnsupportedJwtException.class)
+                .isThrownBy(action);
+    }
+
+    @Test
+    public void rejectsTokenWithoutKeyIdWithoutSecret() {
+        // Arrange
+        JwtTokenVerifier verifier = new JwtTokenVerifier();
+        String token = generateToken(secret, "user123", -10_000_000, 10_000_000);
+
+        // Act
+        ThrowableAssert.ThrowingCallable action = () -> verifier.getNetIdFromToken(token);
+
+        // Assert
+        assertThatExceptionOfType(UnsupportedJwtException.class)
+                .isThrownBy(action);
+    }
+
     private String generateToken(String jwtSecret, String netid, long issuanceOffset, long expirationOffset) {
         Map<String, Object> claims = new HashMap<>();
         return Jwts.builder().setClaims(claims).setSubject(netid)
@@ -1,12 +1,15 @@
 package nl.tudelft.sem.template.example;
 
+import commons.security.JwtSecurityConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 /**
  * Example microservice application.
  */
 @SpringBootApplication
+@Import(JwtSecurityConfig.class)
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
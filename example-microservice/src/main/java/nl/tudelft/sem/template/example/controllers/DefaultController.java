@@ -1,7 +1,7 @@
 package nl.tudelft.sem.template.example.controllers;
 
 import commons.Faculties;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
+import commons.security.AuthManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
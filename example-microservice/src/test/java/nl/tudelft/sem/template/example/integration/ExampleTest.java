@@ -6,8 +6,10 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import nl.tudelft.sem.template.example.authentication.AuthManager;
-import nl.tudelft.sem.template.example.authentication.JwtTokenVerifier;
+import commons.security.AuthManager;
+import commons.security.JwtTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,9 +45,9 @@ public class ExampleTest {
         // Notice how some custom parts of authorisation need to be mocked.
         // Otherwise, the integration test would never be able to authorise as the authorisation server is offline.
         when(mockAuthenticationManager.getNetId()).thenReturn("ExampleUser");
-        when(mockJwtTokenVerifier.validateToken(anyString())).thenReturn(true);
-        when(mockJwtTokenVerifier.getNetIdFromToken(anyString())).thenReturn("ExampleUser");
-        when(mockJwtTokenVerifier.getRoleFromToken(anyString())).thenReturn("employee");
+        Claims claims = Jwts.claims().setSubject("ExampleUser");
+        claims.put("role", "employee");
+        when(mockJwtTokenVerifier.verify(anyString())).thenReturn(claims);
 
         // Act
         // Still include Bearer token as AuthFilter itself is not mocked
@@ -2,6 +2,7 @@ package nl.tudelft.sem.template.example;
 
 import commons.Job;
 import commons.NetId;
+import commons.security.JwtSecurityConfig;
 import nl.tudelft.sem.template.example.domain.JobRepository;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,13 +10,15 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Example microservice application.
  */
 @SpringBootApplication
-@EntityScan(basePackages = {"commons"})
+@Import(JwtSecurityConfig.class)
+@EntityScan(basePackages = {"commons", "nl.tudelft.sem.template.example.domain"})
 @EnableScheduling
 public class Application {
 
@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.example.chain;
+
+import commons.Job;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Outcome of handling several Jobs at once.
+ * Jobs contains the handled Jobs with their new status,
+ * errors the ids of the Jobs that could not be handled with the reason.
+ */
+@Getter
+public class BatchResult {
+    private final transient List<Job> jobs = new ArrayList<>();
+    private final transient Map<Long, String> errors = new LinkedHashMap<>();
+}
@@ -0,0 +1,163 @@
+package nl.tudelft.sem.template.example.chain;
+
+import commons.FacultiesResourceModel;
+import commons.Faculty;
+import commons.FacultyRequestModel;
+import commons.FacultyResource;
+import commons.FacultyResponseModel;
+import commons.NetId;
+import exceptions.InvalidNetIdException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Loads the remote data the chain of responsibility needs, in parallel and through a short-lived cache.
+ * Faculties come from the Authentication microservice, free resources from the Clusters microservice.
+ * The remote calls run on a fixed number of threads behind a bounded queue; a call that does not fit in the queue
+ * fails right away with CHAIN_BUSY instead of piling up behind a slow microservice.
+ */
+@Service
+public class ChainDataLoader {
+
+    private final transient RestTemplate restTemplate;
+    private final transient ThreadPoolExecutor executor;
+    private final transient ExpiringCache<String, List<Faculty>> facultyCache;
+    private final transient ExpiringCache<String, List<FacultyResource>> resourceCache;
+
+    /**
+     * Constructor for the ChainDataLoader.
+     *
+     * @param restTemplate RestTemplate used for the calls to the other microservices
+     * @param threads number of remote calls that can run at the same time
+     * @param queueSize number of remote calls that can wait for a thread
+     * @param facultyTtl milliseconds the faculties of a user are cached
+     * @param resourceTtl milliseconds the free resources of a set of faculties are cached
+     */
+    public ChainDataLoader(RestTemplate restTemplate,
+                           @Value("${jobs.chain.threads:8}") int threads,
+                           @Value("${jobs.chain.queue-size:100}") int queueSize,
+                           @Value("${jobs.chain.faculty-cache-ttl-ms:30000}") long facultyTtl,
+                           @Value("${jobs.chain.resource-cache-ttl-ms:2000}") long resourceTtl) {
+        this.restTemplate = restTemplate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.AbortPolicy());
+        this.facultyCache = new ExpiringCache<>(facultyTtl, 10_000);
+        this.resourceCache = new ExpiringCache<>(resourceTtl, 1_000);
+    }
+
+    /**
+     * Gets the faculties of a user from the Authentication microservice.
+     *
+     * @param netId netId of the user
+     * @return future completed with the faculties of the user
+     */
+    public CompletableFuture<List<Faculty>> getFaculty(NetId netId) {
+        return facultyCache.get(netId.toString(),
+            key -> submit(() -> fetchFaculty(key)));
+    }
+
+    /**
+     * Gets the free resources of several faculties on a day from the Clusters microservice.
+     *
+     * @param faculties faculties to get the resources of
+     * @param date day of the free resources
+     * @return future completed with one FacultyResource per faculty
+     */
+    public CompletableFuture<List<FacultyResource>> getResources(List<Faculty> faculties, LocalDate date) {
+        return getResources(faculties, date, date);
+    }
+
+    /**
+     * Gets the free resources of several faculties on every day of a period from the Clusters microservice.
+     *
+     * @param faculties faculties to get the resources of
+     * @param start first day of the period
+     * @param end last day of the period
+     * @return future completed with one FacultyResource per faculty per day
+     */
+    public CompletableFuture<List<FacultyResource>> getResources(List<Faculty> faculties, LocalDate start,
+                                                                 LocalDate end) {
+        List<String> names = faculties.stream().map(Faculty::toString).sorted().distinct()
+                .collect(Collectors.toList());
+        return resourceCache.get(String.join(";", names) + "@" + start + "/" + end,
+            key -> submit(() -> fetchResources(names, start, end)));
+    }
+
+    /**
+     * Empties the caches, so that the next requests go to the other microservices again.
+     */
+    public void invalidateCaches() {
+        facultyCache.invalidateAll();
+        resourceCache.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            // a failed future is not kept by the caches, so the next request tries again
+            return CompletableFuture.failedFuture(new JobRejectedException("CHAIN_BUSY"));
+        }
+    }
+
+    private List<Faculty> fetchFaculty(String netId) {
+        FacultyRequestModel requestModel = new FacultyRequestModel();
+        requestModel.setNetId(netId);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<FacultyRequestModel> entity = new HttpEntity<>(requestModel, headers);
+        ResponseEntity<FacultyResponseModel> response = restTemplate
+                .exchange("http://localhost:8081/faculty", HttpMethod.POST, entity, FacultyResponseModel.class);
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new CompletionException(new InvalidNetIdException(netId));
+        }
+        FacultyResponseModel body = response.getBody();
+        if (body == null) {
+            throw new CompletionException(new JobRejectedException("INVALID_BODY"));
+        }
+        return body.getFaculty().stream().map(Faculty::new).collect(Collectors.toUnmodifiableList());
+    }
+
+    private List<FacultyResource> fetchResources(List<String> faculties, LocalDate start, LocalDate end) {
+        FacultiesResourceModel request = new FacultiesResourceModel();
+        request.setFaculties(faculties);
+        request.setDate(start);
+        request.setEndDate(end);
+        ResponseEntity<FacultyResource[]> response = restTemplate
+                .postForEntity("http://localhost:8085/cluster/facultiesResources", request, FacultyResource[].class);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new CompletionException(new JobRejectedException("BAD_REQUEST"));
+        }
+        FacultyResource[] resources = response.getBody();
+        if (resources == null) {
+            throw new CompletionException(new JobRejectedException("INVALID_FACULTY"));
+        }
+        return List.copyOf(Arrays.asList(resources));
+    }
+}
@@ -1,27 +1,30 @@
 package nl.tudelft.sem.template.example.chain;
 
 import commons.Faculty;
-import commons.FacultyRequestModel;
-import commons.FacultyResponseModel;
+import commons.FacultyResource;
 import commons.Job;
 import commons.NetId;
 import commons.RoleValue;
 import commons.Status;
 import exceptions.InvalidIdException;
-import exceptions.InvalidNetIdException;
-import java.util.Collections;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import nl.tudelft.sem.template.example.domain.JobRepository;
+import nl.tudelft.sem.template.example.models.ChainContext;
 import nl.tudelft.sem.template.example.models.JobChainModel;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 @SuppressWarnings("PMD")
 @Service
@@ -30,17 +33,23 @@ public class ChainService {
 
     private final transient JobRepository jobRepository;
 
-    private final RestTemplate restTemplate;
+    private final transient ChainDataLoader chainDataLoader;
+
+    private final transient long timeoutMillis;
 
     /**
      * Constructor for the ChainService service.
      *
      * @param jobRepository Job database in the Jobs microservice
+     * @param chainDataLoader loads the faculties and resources the chain needs
+     * @param timeoutMillis milliseconds to wait for the other microservices
      */
-    public ChainService(JobRepository jobRepository, RestTemplate restTemplate) {
+    public ChainService(JobRepository jobRepository, ChainDataLoader chainDataLoader,
+                        @Value("${jobs.chain.timeout-ms:5000}") long timeoutMillis) {
 
         this.jobRepository = jobRepository;
-        this.restTemplate = restTemplate;
+        this.chainDataLoader = chainDataLoader;
+        this.timeoutMillis = timeoutMillis;
     }
 
     /**
@@ -71,6 +80,9 @@ public class ChainService {
 
     /**
      * Handle a Job from the database by updating the status using chain of responsibility.
+     * All remote data the validators need is fetched concurrently before the chain runs:
+     * the faculties of the approver and of the owner of the Job at the same time,
+     * and the free resources as soon as the faculties of the approver are known.
      *
      * @param netId netId
      * @param role role of the person trying to handle the Job.
@@ -85,49 +97,131 @@ public class ChainService {
             throw new InvalidIdException(id);
         }
         Job j = jobOptional.get();
-        List<Faculty> faculty = getFaculty(netId);
+        CompletableFuture<List<Faculty>> approverFaculty = chainDataLoader.getFaculty(netId);
+        CompletableFuture<List<Faculty>> ownerFaculty = chainDataLoader.getFaculty(j.getNetId());
+        CompletableFuture<List<FacultyResource>> resources = directiveJob == DirectiveJob.Approve
+                ? approverFaculty.thenCompose(f -> chainDataLoader.getResources(withPool(f), j.getPreferredDate()))
+                : CompletableFuture.completedFuture(List.of());
+
+        runChain(j, role, await(approverFaculty), directiveJob,
+                new ChainContext(await(ownerFaculty), await(resources)));
+        return j;
+    }
+
+    /**
+     * Approve several Jobs from the database at once.
+     *
+     * @param netId netId
+     * @param role role of the person trying to approve the Jobs.
+     * @param ids ids of the Jobs in the database
+     * @return the approved or rejected Jobs and the ids that could not be handled
+     * @throws Exception if the faculties of the approver cannot be retrieved
+     */
+    public BatchResult approveJobs(NetId netId, RoleValue role, List<Long> ids) throws Exception {
+        return handleJobs(netId, role, ids, DirectiveJob.Approve);
+    }
+
+    /**
+     * Reject several Jobs from the database at once.
+     *
+     * @param netId netId
+     * @param role role of the person trying to reject the Jobs.
+     * @param ids ids of the Jobs in the database
+     * @return the rejected Jobs and the ids that could not be handled
+     * @throws Exception if the faculties of the approver cannot be retrieved
+     */
+    public BatchResult rejectJobs(NetId netId, RoleValue role, List<Long> ids) throws Exception {
+        return handleJobs(netId, role, ids, DirectiveJob.Reject);
+    }
+
+    /**
+     * Handle several Jobs using chain of responsibility.
+     * The Jobs are loaded with one query, and the remote data is fetched once and concurrently:
+     * the faculties once per distinct owner and the free resources once per distinct preferred date.
+     * The chain then runs locally for every Job against that shared data.
+     *
+     * @param netId netId
+     * @param role role of the person trying to handle the Jobs.
+     * @param ids ids of the Jobs in the database
+     * @param directiveJob whether the person tries to approve or reject the Jobs
+     * @return the handled Jobs and the ids that could not be handled
+     * @throws Exception if the faculties of the approver cannot be retrieved
+     */
+    private BatchResult handleJobs(NetId netId, RoleValue role, List<Long> ids,
+                                   DirectiveJob directiveJob) throws Exception {
+        BatchResult result = new BatchResult();
+        Map<Long, Job> jobs = jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getJobId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        for (Long id : ids) {
+            if (!jobs.containsKey(id)) {
+                result.getErrors().put(id, "INVALID_ID");
+            }
+        }
 
+        CompletableFuture<List<Faculty>> approverFaculty = chainDataLoader.getFaculty(netId);
+        Map<String, CompletableFuture<List<Faculty>>> ownerFaculty = new HashMap<>();
+        Map<LocalDate, CompletableFuture<List<FacultyResource>>> resources = new HashMap<>();
+        for (Job j : jobs.values()) {
+            ownerFaculty.computeIfAbsent(j.getNetId().toString(), n -> chainDataLoader.getFaculty(j.getNetId()));
+            if (directiveJob == DirectiveJob.Approve) {
+                resources.computeIfAbsent(j.getPreferredDate(), d -> approverFaculty
+                        .thenCompose(f -> chainDataLoader.getResources(withPool(f), d)));
+            }
+        }
+        List<Faculty> faculty = await(approverFaculty);
+
+        for (Job j : jobs.values()) {
+            try {
+                List<FacultyResource> r = directiveJob == DirectiveJob.Approve
+                        ? await(resources.get(j.getPreferredDate())) : List.of();
+                runChain(j, role, faculty, directiveJob,
+                        new ChainContext(await(ownerFaculty.get(j.getNetId().toString())), r));
+                result.getJobs().add(j);
+            } catch (Exception e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                result.getErrors().put(j.getJobId(), cause.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private void runChain(Job j, RoleValue role, List<Faculty> faculty, DirectiveJob directiveJob,
+                          ChainContext context) throws Exception {
         // Chain Of Responsibility
         JobChainModel jobChainModel = new JobChainModel();
         jobChainModel.setJob(j);
         jobChainModel.setAuthRole(role);
         jobChainModel.setAuthFaculty(faculty);
         jobChainModel.setDirectiveJob(directiveJob);
+        jobChainModel.setContext(context);
         Validator handler = new FacultyValidator();
         Validator handler2 = new FacultyResourceValidator();
         handler.setNext(handler2);
         handler2.setNext(new PoolResourceValidator());
+        boolean valid;
         try {
-            boolean valid = handler.handle(jobChainModel);
-            if (valid) {
-                j.setStatus(Status.ACCEPTED);
-            } else {
-                j.setStatus(Status.REJECTED);
-            }
-            return j;
+            valid = handler.handle(jobChainModel);
         } catch (Exception e) {
             throw new Exception(e);
         }
+        j.transitionTo(valid ? Status.ACCEPTED : Status.REJECTED);
     }
 
-    private List<Faculty> getFaculty(NetId netId) throws Exception {
-        FacultyRequestModel requestModel = new FacultyRequestModel();
-        requestModel.setNetId(netId.toString());
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-        HttpEntity<FacultyRequestModel> entity = new HttpEntity<>(requestModel, headers);
-        ResponseEntity<FacultyResponseModel> responseModelResponseEntity = restTemplate
-                .exchange("http://localhost:8081/faculty", HttpMethod.POST, entity, FacultyResponseModel.class);
-
-        if (!responseModelResponseEntity.getStatusCode().is2xxSuccessful()) {
-            throw new InvalidNetIdException(netId.toString());
-        }
+    private static List<Faculty> withPool(List<Faculty> faculty) {
+        List<Faculty> all = new ArrayList<>(faculty);
+        all.add(new Faculty("Pool"));
+        return all;
+    }
 
-        FacultyResponseModel response = responseModelResponseEntity.getBody();
-        if (response == null) {
-            throw new Exception("null body");
+    private <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
         }
-        return response.getFaculty().stream().map(Faculty::new).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,85 @@
+package nl.tudelft.sem.template.example.chain;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small cache of asynchronously loaded values that expire after a fixed time.
+ * The futures themselves are cached, so concurrent requests for the same key share one remote call.
+ * Failed loads are evicted right away, so that they are retried by the next request.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class ExpiringCache<K, V> {
+
+    private final transient Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final transient long ttlNanos;
+    private final transient int maxSize;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param ttlMillis milliseconds a value stays in the cache, 0 disables caching
+     * @param maxSize number of entries after which expired entries are purged
+     */
+    public ExpiringCache(long ttlMillis, int maxSize) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached value of the key or starts loading it.
+     *
+     * @param key key of the value
+     * @param loader function starting the load of a missing or expired value
+     * @return future completed with the value
+     */
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.apply(key);
+        }
+        long now = System.nanoTime();
+        Entry<V> entry = entries.compute(key, (k, current) -> current != null && current.expiresAt - now > 0
+                ? current : new Entry<>(loader.apply(k), now + ttlNanos));
+        entry.value.whenComplete((v, e) -> {
+            if (e != null) {
+                entries.remove(key, entry);
+            }
+        });
+        if (entries.size() > maxSize) {
+            purge(now);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void purge(long now) {
+        entries.values().removeIf(e -> e.expiresAt - now <= 0);
+        if (entries.size() > maxSize) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final transient CompletableFuture<V> value;
+        private final transient long expiresAt;
+
+        private Entry(CompletableFuture<V> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package nl.tudelft.sem.template.example.chain;
 
-import commons.Faculty;
 import commons.FacultyResource;
-import commons.Job;
-import commons.Resource;
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import nl.tudelft.sem.template.example.models.JobChainModel;
 
 
@@ -13,15 +11,11 @@ public class FacultyResourceValidator extends BaseResourceValidator {
 
     @Override
     public boolean handle(JobChainModel jobChainModel) throws JobRejectedException {
-        Job job = jobChainModel.getJob();
-        List<Faculty> faculty = jobChainModel.getAuthFaculty();
-        LocalDate localDate = job.getPreferredDate();
-        List<FacultyResource> resources = getFacultyResources(faculty, localDate);
-        int cpuAvailable = resources.stream().mapToInt(FacultyResource::getCpuUsage).sum();
-        int gpuAvailable = resources.stream().mapToInt(FacultyResource::getGpuUsage).sum();
-        int memoryAvailable = resources.stream().mapToInt(FacultyResource::getMemoryUsage).sum();
-        if (job.getCpuUsage() > cpuAvailable || job.getGpuUsage() > gpuAvailable
-                || job.getMemoryUsage() > memoryAvailable) {
+        Set<String> faculty = jobChainModel.getAuthFaculty().stream().map(Object::toString)
+                .collect(Collectors.toSet());
+        List<FacultyResource> resources = jobChainModel.getContext().getResources().stream()
+                .filter(r -> faculty.contains(r.getFaculty())).collect(Collectors.toList());
+        if (!fits(jobChainModel.getJob(), resources)) {
             return super.checkNext(jobChainModel);
         }
         return true; // end of chain of responsibility
@@ -5,16 +5,23 @@ import commons.NetId;
 import commons.Role;
 import commons.ScheduleJob;
 import commons.Status;
+import commons.security.AuthManager;
 import exceptions.InvalidIdException;
 import exceptions.InvalidNetIdException;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
+import exceptions.InvalidTransitionException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.example.chain.BatchResult;
 import nl.tudelft.sem.template.example.chain.ChainService;
-import nl.tudelft.sem.template.example.domain.JobRepository;
 import nl.tudelft.sem.template.example.domain.JobService;
 import nl.tudelft.sem.template.example.models.ApproveRequestModel;
+import nl.tudelft.sem.template.example.models.BatchRequestModel;
+import nl.tudelft.sem.template.example.models.BatchResponseModel;
 import nl.tudelft.sem.template.example.models.JobResponseModel;
 import nl.tudelft.sem.template.example.models.RejectRequestModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -28,7 +35,6 @@ public class ChainController {
     private final transient AuthManager authManager;
     private final transient ChainService chainService;
     private final transient JobService jobService;
-    private final transient JobRepository jobRepository;
 
 
     /**
@@ -40,11 +46,10 @@ public class ChainController {
      */
     @Autowired
     public ChainController(AuthManager authManager, ChainService chainService,
-                           JobService jobService, JobRepository jobRepository) {
+                           JobService jobService) {
         this.authManager = authManager;
         this.chainService = chainService;
         this.jobService = jobService;
-        this.jobRepository = jobRepository;
     }
 
     /**
@@ -61,7 +66,7 @@ public class ChainController {
             Role role = authManager.getRole();
             Long id = request.getId();
             Job approvedJob = chainService.approveJob(netId, role.getRoleValue(), id);
-            jobRepository.save(approvedJob);
+            saveStatusChange(approvedJob);
             if (approvedJob.getStatus() == Status.ACCEPTED) {
                 ScheduleJob scheduleJob = new ScheduleJob(id, approvedJob.getFaculty(),
                         approvedJob.getPreferredDate(), approvedJob.getCpuUsage(), approvedJob.getGpuUsage(),
@@ -75,6 +80,8 @@ public class ChainController {
             return ResponseEntity.ok(jobResponseModel);
         } catch (InvalidIdException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_ID", e);
+        } catch (InvalidTransitionException | ConcurrencyFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
         } catch (InvalidNetIdException e) {
             throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS", e);
         } catch (Exception e) {
@@ -95,7 +102,7 @@ public class ChainController {
             Role role = authManager.getRole();
             Long id = request.getId();
             Job rejectedJob = chainService.rejectJob(netId, role.getRoleValue(), id);
-            jobRepository.save(rejectedJob);
+            saveStatusChange(rejectedJob);
             JobResponseModel jobResponseModel = new JobResponseModel();
             jobResponseModel.setNetId(rejectedJob.getNetId().toString());
             jobResponseModel.setStatus(rejectedJob.getStatus());
@@ -103,10 +110,91 @@ public class ChainController {
             return ResponseEntity.ok(jobResponseModel);
         } catch (InvalidIdException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_ID", e);
+        } catch (InvalidTransitionException | ConcurrencyFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
         } catch (InvalidNetIdException e) {
             throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS", e);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "BAD_REQUEST", e);
         }
     }
+
+    /**
+     * Approve the scheduling of several Jobs by a faculty account at once.
+     * The handled Jobs are saved in one transaction and the accepted ones
+     * are sent to the Scheduler in one request.
+     *
+     * @param request BatchRequestModel with the ids of the Jobs
+     * @return BatchResponseModel with the handled Jobs and the ids that could not be handled
+     */
+    @PostMapping("/approve/batch")
+    public ResponseEntity<BatchResponseModel> approveJobs(@RequestBody BatchRequestModel request) {
+        if (request.getIds() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_ID");
+        }
+        try {
+            NetId netId = new NetId(authManager.getNetId());
+            Role role = authManager.getRole();
+            BatchResult result = chainService.approveJobs(netId, role.getRoleValue(), request.getIds());
+            saveStatusChanges(result);
+            List<ScheduleJob> accepted = result.getJobs().stream()
+                    .filter(j -> j.getStatus() == Status.ACCEPTED)
+                    .map(j -> new ScheduleJob(j.getJobId(), j.getFaculty(), j.getPreferredDate(), j.getCpuUsage(),
+                            j.getGpuUsage(), j.getMemoryUsage()))
+                    .collect(Collectors.toList());
+            if (!accepted.isEmpty()) {
+                jobService.scheduleJobs(accepted);
+            }
+            return ResponseEntity.ok(toResponse(result));
+        } catch (InvalidNetIdException e) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS", e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "BAD_REQUEST", e);
+        }
+    }
+
+    /**
+     * Reject the scheduling of several Jobs by a faculty account at once.
+     * The rejected Jobs are saved in one transaction.
+     *
+     * @param request BatchRequestModel with the ids of the Jobs
+     * @return BatchResponseModel with the rejected Jobs and the ids that could not be handled
+     */
+    @PostMapping("/reject/batch")
+    public ResponseEntity<BatchResponseModel> rejectJobs(@RequestBody BatchRequestModel request) {
+        if (request.getIds() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_ID");
+        }
+        try {
+            NetId netId = new NetId(authManager.getNetId());
+            Role role = authManager.getRole();
+            BatchResult result = chainService.rejectJobs(netId, role.getRoleValue(), request.getIds());
+            saveStatusChanges(result);
+            return ResponseEntity.ok(toResponse(result));
+        } catch (InvalidNetIdException e) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS", e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "BAD_REQUEST", e);
+        }
+    }
+
+    private void saveStatusChange(Job job) {
+        Map<Long, String> conflicts = jobService.saveStatusChanges(List.of(job));
+        if (!conflicts.isEmpty()) {
+            throw new ConcurrencyFailureException(conflicts.get(job.getJobId()));
+        }
+    }
+
+    private void saveStatusChanges(BatchResult result) {
+        Map<Long, String> conflicts = jobService.saveStatusChanges(result.getJobs());
+        result.getJobs().removeIf(j -> conflicts.containsKey(j.getJobId()));
+        result.getErrors().putAll(conflicts);
+    }
+
+    private BatchResponseModel toResponse(BatchResult result) {
+        List<JobResponseModel> jobs = result.getJobs().stream()
+                .map(j -> jobService.populateJobResponseModel(j.getJobId(), j.getStatus(), j.getNetId().toString()))
+                .collect(Collectors.toList());
+        return new BatchResponseModel(jobs, result.getErrors());
+    }
 }
@@ -8,25 +8,41 @@ import commons.Role;
 import commons.RoleValue;
 import commons.Status;
 import commons.UpdateJob;
+import commons.security.AuthManager;
 import exceptions.InvalidIdException;
 import exceptions.InvalidNetIdException;
 import exceptions.InvalidResourcesException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
+import nl.tudelft.sem.template.example.domain.Demand;
+import nl.tudelft.sem.template.example.domain.DemandForecastService;
+import nl.tudelft.sem.template.example.domain.IngestUnavailableException;
+import nl.tudelft.sem.template.example.domain.JobIngestService;
 import nl.tudelft.sem.template.example.domain.JobService;
+import nl.tudelft.sem.template.example.domain.JobStatisticsService;
+import nl.tudelft.sem.template.example.domain.JobSummary;
+import nl.tudelft.sem.template.example.domain.ResponseEntityException;
+import nl.tudelft.sem.template.example.models.DemandResponseModel;
+import nl.tudelft.sem.template.example.models.ForecastResponseModel;
 import nl.tudelft.sem.template.example.models.IdRequestModel;
+import nl.tudelft.sem.template.example.models.JobCountsResponseModel;
+import nl.tudelft.sem.template.example.models.JobFilterModel;
 import nl.tudelft.sem.template.example.models.JobRequestModel;
 import nl.tudelft.sem.template.example.models.JobResponseModel;
 import nl.tudelft.sem.template.example.models.NetIdRequestModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -36,7 +52,11 @@ public class JobController {
 
     private final transient AuthManager authManager;
     private final transient JobService jobService;
+    private final transient JobIngestService jobIngestService;
+    private final transient JobStatisticsService jobStatisticsService;
+    private final transient DemandForecastService demandForecastService;
     private static final String invalidId = "INVALID_ID";
+    private static final int MAX_FORECAST_DAYS = 62;
 
 
     /**
@@ -44,29 +64,37 @@ public class JobController {
      *
      * @param jobService  the service which handles the communication with the database & scheduler microservice
      * @param authManager Spring Security component used to authenticate and authorize the user
+     * @param jobIngestService the service writing new Jobs to the database in batches
+     * @param jobStatisticsService the running totals of the Jobs
+     * @param demandForecastService the service projecting the demand of the Jobs onto the resources of the faculties
      */
     @Autowired
-    public JobController(AuthManager authManager, JobService jobService) {
+    public JobController(AuthManager authManager, JobService jobService, JobIngestService jobIngestService,
+                         JobStatisticsService jobStatisticsService, DemandForecastService demandForecastService) {
         this.authManager = authManager;
         this.jobService = jobService;
+        this.jobIngestService = jobIngestService;
+        this.jobStatisticsService = jobStatisticsService;
+        this.demandForecastService = demandForecastService;
     }
 
     /**
-     * The api GET endpoint to get all Jobs in the database.
+     * The api GET endpoint to get all Jobs in the database, one page at a time.
+     * The query parameters status, faculty, from and to filter the Jobs;
+     * after is the id of the last Job of the previous page and limit the size of the page.
+     * With archived=true the archived Jobs are included.
      *
+     * @param filter the filters and the position of the page
      * @return list of Jobs to be scheduled
      */
     @GetMapping(path = "/getAllJobs")
-    public ResponseEntity<List<JobResponseModel>> getAllJobs() throws Exception {
+    public ResponseEntity<List<JobResponseModel>> getAllJobs(JobFilterModel filter) throws Exception {
         try {
             NetId netId = new NetId(authManager.getNetId());
             NetId authNetId = new NetId(authManager.getNetId());
             RoleValue role = authManager.getRole().getRoleValue();
-            List<Job> jobs = this.jobService.getAllJobs(netId, authNetId, role);
-            List<JobResponseModel> responseModels = jobs.stream()
-                    .map(x -> jobService.populateJobResponseModel(x.getJobId(), x.getStatus(), x.getNetId().toString()))
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(responseModels);
+            List<JobSummary> jobs = this.jobService.getJobsPage(netId, authNetId, role, filter);
+            return ResponseEntity.ok(toResponseModels(jobs));
         } catch (InvalidNetIdException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, invalidId, e);
         } catch (BadCredentialsException e) {
@@ -76,15 +104,21 @@ public class JobController {
 
     /**
      * The api GET endpoint to get all Jobs belonging to the given netId (user).
+     * Archived Jobs are only included if archived is true.
      *
      * @param request the parameters for NetId
+     * @param archived whether to include the archived Jobs of the user
      * @return list of Jobs belonging to the given netId (user)
      */
     @GetMapping(path = "/getJobs")
-    public ResponseEntity<List<JobResponseModel>> getJobsByNetId(@RequestBody NetIdRequestModel request) throws Exception {
+    public ResponseEntity<List<JobResponseModel>> getJobsByNetId(@RequestBody NetIdRequestModel request,
+            @RequestParam(defaultValue = "false") boolean archived) throws Exception {
         try {
             NetId netId = new NetId(request.getNetId());
             NetId authNetId = new NetId(authManager.getNetId());
+            if (archived) {
+                return ResponseEntity.ok(toResponseModels(this.jobService.collectJobsByNetIdWithArchive(netId, authNetId)));
+            }
             List<Job> jobs = this.jobService.collectJobsByNetId(netId, authNetId);
             List<JobResponseModel> responseModels = jobs.stream()
                 .map(x -> jobService.populateJobResponseModel(x.getJobId(), x.getStatus(), x.getNetId().toString()))
@@ -97,23 +131,115 @@ public class JobController {
         }
     }
 
+    /**
+     * The api GET endpoint to get the number of Jobs of a user per status.
+     * Admins can ask for any user, other users only for themselves.
+     *
+     * @param netId the user to count the Jobs of, the authenticated user if left out
+     * @return the number of Jobs per status
+     */
+    @GetMapping(path = "/jobCounts")
+    public ResponseEntity<JobCountsResponseModel> getJobCounts(@RequestParam(required = false) String netId) {
+        String authNetId = authManager.getNetId();
+        String user = netId == null ? authNetId : netId;
+        if (!user.equals(authNetId) && authManager.getRole().getRoleValue() != RoleValue.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS");
+        }
+        return ResponseEntity.ok(new JobCountsResponseModel(user, jobStatisticsService.getStatusCounts(user)));
+    }
+
+    /**
+     * The api GET endpoint to get the resources requested by the open Jobs of a faculty on one day.
+     * Only for admins and faculty accounts.
+     *
+     * @param faculty the name of the faculty
+     * @param date the preferred date of the Jobs
+     * @return the number of Jobs and the summed resources they request
+     */
+    @GetMapping(path = "/demand")
+    public ResponseEntity<DemandResponseModel> getDemand(@RequestParam String faculty,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        if (authManager.getRole().getRoleValue() == RoleValue.EMPLOYEE) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS");
+        }
+        Demand demand = jobStatisticsService.getDemand(faculty, date);
+        return ResponseEntity.ok(new DemandResponseModel(faculty, date, demand.getJobs(), demand.getCpu(),
+                demand.getGpu(), demand.getMemory()));
+    }
+
+    /**
+     * The api GET endpoint to forecast the demand of the open Jobs against the resources of the faculties.
+     * Reports per faculty per day how much more is requested than the faculty has available.
+     * Only for admins and faculty accounts.
+     *
+     * @param from first day of the forecast
+     * @param to last day of the forecast, at most 62 days after from
+     * @param faculty the names of the faculties, all faculties with open Jobs if left out
+     * @return the forecast per faculty per day, sorted by day and then faculty
+     */
+    @GetMapping(path = "/demand/forecast")
+    public ResponseEntity<List<ForecastResponseModel>> getForecast(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> faculty) {
+        if (authManager.getRole().getRoleValue() == RoleValue.EMPLOYEE) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, "BAD_CREDENTIALS");
+        }
+        if (to.isBefore(from) || from.plusDays(MAX_FORECAST_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "INVALID_PERIOD");
+        }
+        Collection<String> faculties = faculty == null ? demandForecastService.getFaculties() : faculty;
+        try {
+            return ResponseEntity.ok(demandForecastService.forecast(faculties, from, to));
+        } catch (ResponseEntityException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
     /**
      * The API POST endpoint to create a Job using the JobRequestModel.
+     * The Job is written to the database in a batch with other new Jobs;
+     * depending on jobs.ingest.ack the response is sent once it is stored or once it is queued.
      *
      * @param request the parameters used to create a new job.
-     * @return 200 ok
+     * @return 200 ok with the id of the Job, 503 if the ingest queue is full
      */
     @PostMapping("/addJob")
     public ResponseEntity addJob(@RequestBody JobRequestModel request) throws Exception {
+        List<JobResponseModel> responseModels = addJobs(List.of(request));
+        return ResponseEntity.ok(responseModels.get(0));
+    }
+
+    /**
+     * The API POST endpoint to create several Jobs at once.
+     * Either all Jobs are created or none of them.
+     *
+     * @param requests the parameters used to create the new jobs
+     * @return 200 ok with the ids of the Jobs in the order of the requests, 503 if the ingest queue is full
+     */
+    @PostMapping("/addJobs")
+    public ResponseEntity<List<JobResponseModel>> addJobsBatch(@RequestBody List<JobRequestModel> requests)
+            throws Exception {
+        return ResponseEntity.ok(addJobs(requests));
+    }
+
+    private List<JobResponseModel> addJobs(List<JobRequestModel> requests) {
         try {
-            Job createdJob = this.jobService.createJob(
-                new NetId(request.getNetId()), new NetId(authManager.getNetId()),
-                new Faculty(request.getFaculty()), request.getDescription(),
-                request.getCpuUsage(), request.getGpuUsage(), request.getMemoryUsage(),
-                authManager.getRole().getRoleValue(), LocalDate.now());
-            JobResponseModel jobResponseModel = jobService.populateJobResponseModel(createdJob.getJobId(),
-                Status.PENDING, createdJob.getNetId().toString());
-            return ResponseEntity.ok(jobResponseModel);
+            NetId authNetId = new NetId(authManager.getNetId());
+            RoleValue role = authManager.getRole().getRoleValue();
+            List<Job> jobs = new ArrayList<>(requests.size());
+            for (JobRequestModel request : requests) {
+                Job job = new Job(new NetId(request.getNetId()), new Faculty(request.getFaculty()),
+                    request.getDescription(), request.getCpuUsage(), request.getGpuUsage(),
+                    request.getMemoryUsage(), LocalDate.now());
+                this.jobService.checkNewJob(authNetId, job, role);
+                jobs.add(job);
+            }
+            return jobIngestService.ingest(jobs).stream()
+                .map(j -> jobService.populateJobResponseModel(j.getJobId(), Status.PENDING, j.getNetId().toString()))
+                .collect(Collectors.toList());
+        } catch (IngestUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
@@ -130,26 +256,28 @@ public class JobController {
             this.jobService.deleteJob(authManager.getNetId(), authManager.getRole().getRoleValue(), jobId.getId());
         } catch (InvalidIdException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, invalidId, e);
+        } catch (ConcurrencyFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
         }
         return ResponseEntity.ok().build();
     }
 
     /**
-     * Allow sysadmin to see all scheduled jobs for all days.
+     * Allow sysadmin to see all scheduled jobs for all days, one page at a time.
+     * Takes the same query parameters as getAllJobs, the status is always ACCEPTED.
      *
+     * @param filter the filters and the position of the page
      * @return response indicating if the operation was successful
      */
     @GetMapping(path = "/getAllScheduledJobs")
-    public ResponseEntity<List<JobResponseModel>> getAllScheduledJobs() throws Exception {
+    public ResponseEntity<List<JobResponseModel>> getAllScheduledJobs(JobFilterModel filter) throws Exception {
         try {
             NetId netId = new NetId(authManager.getNetId());
             NetId authNetId = new NetId(authManager.getNetId());
             RoleValue role = authManager.getRole().getRoleValue();
-            List<Job> jobs = this.jobService.getAllScheduledJobs(netId, authNetId, role);
-            List<JobResponseModel> responseModels = jobs.stream()
-                .map(x -> jobService.populateJobResponseModel(x.getJobId(), x.getStatus(), x.getNetId().toString()))
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(responseModels);
+            filter.setStatus(Status.ACCEPTED);
+            List<JobSummary> jobs = this.jobService.getJobsPage(netId, authNetId, role, filter);
+            return ResponseEntity.ok(toResponseModels(jobs));
         } catch (InvalidNetIdException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, invalidId, e);
         } catch (BadCredentialsException e) {
@@ -157,7 +285,9 @@ public class JobController {
         }
     }
 
-
-
-
+    private List<JobResponseModel> toResponseModels(List<JobSummary> jobs) {
+        return jobs.stream()
+            .map(x -> jobService.populateJobResponseModel(x.getJobId(), x.getStatus(), x.getNetId().toString()))
+            .collect(Collectors.toList());
+    }
 }
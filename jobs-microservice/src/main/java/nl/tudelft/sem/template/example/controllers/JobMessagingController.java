@@ -4,25 +4,33 @@ import commons.Job;
 import commons.NetId;
 import commons.Status;
 import commons.UpdateJob;
+import commons.security.AuthManager;
 import exceptions.InvalidIdException;
 import exceptions.InvalidNetIdException;
+import exceptions.InvalidTransitionException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
 import nl.tudelft.sem.template.example.domain.JobService;
+import nl.tudelft.sem.template.example.domain.NotificationService;
 import nl.tudelft.sem.template.example.models.IdRequestModel;
 import nl.tudelft.sem.template.example.models.JobNotificationResponseModel;
+import nl.tudelft.sem.template.example.models.NotificationResponseModel;
 import nl.tudelft.sem.template.example.models.StatusResponseModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 public class JobMessagingController {
@@ -30,6 +38,7 @@ public class JobMessagingController {
 
     private final transient AuthManager authManager;
     private final transient JobService jobService;
+    private final transient NotificationService notificationService;
     private static final String invalidId = "INVALID_ID";
 
 
@@ -38,11 +47,43 @@ public class JobMessagingController {
      *
      * @param jobService  the service which handles the communication with the database & scheduler microservice
      * @param authManager Spring Security component used to authenticate and authorize the user
+     * @param notificationService the service keeping the notification log of the users
      */
     @Autowired
-    public JobMessagingController(AuthManager authManager, JobService jobService) {
+    public JobMessagingController(AuthManager authManager, JobService jobService,
+                                  NotificationService notificationService) {
         this.authManager = authManager;
         this.jobService = jobService;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * The api GET endpoint to get the notifications of the User that are newer than the cursor.
+     * Pass the cursor of the last received notification as since to only get the new ones.
+     *
+     * @param since cursor of the last notification the User has seen, 0 for all
+     * @param limit the maximum number of notifications
+     * @return the new notifications, oldest first
+     */
+    @GetMapping(path = "/notifications")
+    public ResponseEntity<List<NotificationResponseModel>> getNotifications(
+            @RequestParam(defaultValue = "0") long since, @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(notificationService.since(authManager.getNetId(), since, limit));
+    }
+
+    /**
+     * The api GET endpoint to stream the notifications of the User with Server-Sent Events.
+     * The notifications newer than the cursor are sent first. A reconnecting client
+     * resumes from the Last-Event-ID header.
+     *
+     * @param since cursor of the last notification the User has seen, 0 for all
+     * @param lastEventId cursor of the last event the client received before reconnecting
+     * @return the stream of notifications
+     */
+    @GetMapping(path = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestParam(defaultValue = "0") long since,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationService.subscribe(authManager.getNetId(), lastEventId == null ? since : lastEventId);
     }
 
     /**
@@ -72,16 +113,20 @@ public class JobMessagingController {
 
     /**
      * The api GET endpoint to get the status of the requested Job.
+     * Archived Jobs are only found if archived is true.
      *
      * @param request the id of a Job stored in the database.
+     * @param archived whether to also look for the Job in the archive
      * @return status of the job
      */
     @GetMapping(path = "/jobStatus")
-    public ResponseEntity<StatusResponseModel> getJobStatusById(@RequestBody IdRequestModel request) throws Exception {
+    public ResponseEntity<StatusResponseModel> getJobStatusById(@RequestBody IdRequestModel request,
+            @RequestParam(defaultValue = "false") boolean archived) throws Exception {
         try {
             NetId authNetId = new NetId(authManager.getNetId());
             long jobId = request.getId();
-            Status status = this.jobService.getJobStatus(authNetId, authNetId, jobId);
+            Status status = archived ? this.jobService.getJobStatusWithArchive(authNetId, authNetId, jobId)
+                : this.jobService.getJobStatus(authNetId, authNetId, jobId);
             StatusResponseModel statusResponseModel = new StatusResponseModel();
             statusResponseModel.setStatus(status.toString());
             return ResponseEntity.ok(statusResponseModel);
@@ -94,7 +139,7 @@ public class JobMessagingController {
      * REST API post request to update the information about a Job.
      *
      * @param request the parameters to find and update
-     * @return 200 HTTP CODE if everything works as planned
+     * @return 200 HTTP CODE if everything works as planned, 409 if the Job cannot move to the status
      */
     @PostMapping("/update")
     public ResponseEntity updateJob(@RequestBody UpdateJob request) throws Exception {
@@ -108,6 +153,8 @@ public class JobMessagingController {
             this.jobService.updateJob(id, status, localDate);
         } catch (InvalidIdException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, invalidId, e);
+        } catch (InvalidTransitionException | ConcurrencyFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
         }
         return ResponseEntity.ok().build();
     }
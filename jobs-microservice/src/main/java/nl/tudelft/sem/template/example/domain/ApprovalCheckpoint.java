@@ -0,0 +1,53 @@
+package nl.tudelft.sem.template.example.domain;
+
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the automatic approval of the Jobs preferred on one date.
+ * The position of the last handled Job is stored after every chunk,
+ * so that a run that stopped halfway continues where it was instead of starting over.
+ */
+@Entity
+@Table(name = "approval_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ApprovalCheckpoint {
+
+    @Id
+    @Column(name = "preferred_date", nullable = false)
+    private LocalDate preferredDate;
+
+    @Column(name = "last_date_created", nullable = false)
+    private LocalDate lastDateCreated;
+
+    @Column(name = "last_job_id", nullable = false)
+    private long lastJobId;
+
+    @Column(name = "approved", nullable = false)
+    private long approved;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private int failedChunks;
+
+    @Column(name = "finished", nullable = false)
+    private boolean finished;
+
+    /**
+     * Creates the checkpoint of a run that did not handle any Job yet.
+     *
+     * @param preferredDate the date the Jobs of the run are preferred on
+     */
+    public ApprovalCheckpoint(LocalDate preferredDate) {
+        this.preferredDate = preferredDate;
+        this.lastDateCreated = LocalDate.of(1970, 1, 1);
+        this.lastJobId = 0;
+    }
+}
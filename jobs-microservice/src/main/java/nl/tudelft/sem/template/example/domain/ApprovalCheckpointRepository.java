@@ -0,0 +1,9 @@
+package nl.tudelft.sem.template.example.domain;
+
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApprovalCheckpointRepository extends JpaRepository<ApprovalCheckpoint, LocalDate> {
+}
@@ -0,0 +1,67 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Faculty;
+import commons.FacultyAttributeConverter;
+import commons.NetId;
+import commons.NetIdAttributeConverter;
+import commons.Status;
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A FINISHED or REJECTED Job that was moved out of the jobs table by the JobArchiveService.
+ * Archived Jobs keep their id and are never changed again.
+ */
+@Entity
+@Immutable
+@Table(name = "jobs_archive", indexes = {
+    @Index(name = "idx_jobs_archive_net_id", columnList = "net_id")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedJob {
+
+    @Id
+    @Column(name = "job_id", nullable = false, unique = true)
+    private long jobId;
+
+    @Column(name = "net_id", nullable = false)
+    @Convert(converter = NetIdAttributeConverter.class)
+    private NetId netId;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "faculty", nullable = false)
+    @Convert(converter = FacultyAttributeConverter.class)
+    private Faculty faculty;
+
+    @Column(name = "cpu_usage", nullable = false)
+    private int cpuUsage;
+
+    @Column(name = "gpu_usage", nullable = false)
+    private int gpuUsage;
+
+    @Column(name = "memory_usage", nullable = false)
+    private int memoryUsage;
+
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "preferred_date", nullable = false)
+    private LocalDate preferredDate;
+
+    @Column(name = "date_created", nullable = false)
+    private LocalDate dateCreated;
+
+    @Column(name = "archived_date", nullable = false)
+    private LocalDate archivedDate;
+}
@@ -0,0 +1,48 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Faculty;
+import commons.NetId;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface ArchivedJobRepository extends JpaRepository<ArchivedJob, Long> {
+
+    /**
+     * Find all the archived Jobs of a user.
+     *
+     * @param netId netId of a user
+     * @return projections of the archived Jobs, ordered by id
+     */
+    List<JobSummary> findSummariesByNetIdOrderByJobId(NetId netId);
+
+    /**
+     * Find one page of archived Jobs matching the filters, ordered by id.
+     * Works like JobRepository.findPage.
+     *
+     * @param after id of the last Job of the previous page, 0 for the first page
+     * @param status the status of the Jobs
+     * @param faculty the faculty of the Jobs
+     * @param from first preferred date of the Jobs
+     * @param to last preferred date of the Jobs
+     * @param page the size of the page
+     * @return projections of the archived Jobs on the page
+     */
+    @Query("SELECT j.jobId AS jobId, j.netId AS netId, j.status AS status FROM ArchivedJob j "
+            + "WHERE j.jobId > :after "
+            + "AND (:status IS NULL OR j.status = :status) "
+            + "AND (:faculty IS NULL OR j.faculty = :faculty) "
+            + "AND (:from IS NULL OR j.preferredDate >= :from) "
+            + "AND (:to IS NULL OR j.preferredDate <= :to) "
+            + "ORDER BY j.jobId")
+    List<JobSummary> findPage(@Param("after") long after, @Param("status") Status status,
+                              @Param("faculty") Faculty faculty, @Param("from") LocalDate from,
+                              @Param("to") LocalDate to, Pageable page);
+}
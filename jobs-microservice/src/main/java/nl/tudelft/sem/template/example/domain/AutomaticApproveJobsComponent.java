@@ -4,65 +4,204 @@ package nl.tudelft.sem.template.example.domain;
 import commons.Job;
 import commons.ScheduleJob;
 import commons.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
+/**
+ * Approves and schedules the Jobs that are still PENDING the evening before their preferred date.
+ * The Jobs are read in chunks ordered by creation date, every chunk is accepted with one update
+ * and sent to the Scheduler in one request. The progress is checkpointed after every chunk.
+ * The Jobs of a chunk that could not be approved or scheduled stay PENDING.
+ */
 @Component
 public class AutomaticApproveJobsComponent {
 
+    private static final int NO_JOBS_LEFT = -1;
+    private static final int FAILED = -2;
+
     public transient JobService jobService;
     public transient JobRepository jobRepository;
+    private final transient ApprovalCheckpointRepository checkpointRepository;
+    private final transient NotificationService notificationService;
+    private final transient JobStatisticsService statistics;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient int chunkSize;
+    private final transient Timer runTime;
+    private final transient Counter approvedJobs;
+    private final transient Counter failedChunks;
+    private final transient DistributionSummary throughput;
 
-
+    /**
+     * Constructor for the AutomaticApproveJobsComponent.
+     *
+     * @param jobService service used to send the Jobs to the Scheduler
+     * @param jobRepository Job database in the Jobs microservice
+     * @param checkpointRepository progress of the runs
+     * @param notificationService the service keeping the notification log of the users
+     * @param statistics the running totals of the Jobs
+     * @param transactionManager transaction manager used to commit every chunk separately
+     * @param meterRegistry registry the metrics of the runs are published to
+     * @param chunkSize number of Jobs handled in one transaction
+     */
     @Autowired
-    public AutomaticApproveJobsComponent(JobService jobService, JobRepository jobRepository) {
+    public AutomaticApproveJobsComponent(JobService jobService, JobRepository jobRepository,
+                                         ApprovalCheckpointRepository checkpointRepository,
+                                         NotificationService notificationService, JobStatisticsService statistics,
+                                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                         @Value("${jobs.auto-approve.chunk-size:200}") int chunkSize) {
         this.jobService = jobService;
         this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.notificationService = notificationService;
+        this.statistics = statistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.runTime = meterRegistry.timer("jobs.auto-approve.time");
+        this.approvedJobs = meterRegistry.counter("jobs.auto-approve.jobs");
+        this.failedChunks = meterRegistry.counter("jobs.auto-approve.chunk.failures");
+        this.throughput = DistributionSummary.builder("jobs.auto-approve.throughput")
+                .baseUnit("jobs/s").register(meterRegistry);
     }
 
     public void setJobService(JobService jobservice) {
-        this.jobService = jobService;
+        this.jobService = jobservice;
     }
 
     /**
      * Approves & schedule automatically every day at 6pm all PENDING jobs that are due tomorrow.
-     *
-     * @throws InvalidScheduleJobException if scheduleJob is null
      */
-    @Scheduled(cron = "0 0 18 * * ?")
-    public void approveJobsAfter6pm() throws InvalidScheduleJobException, ResponseEntityException {
-
-        // 1. get all pending Jobs that are due tomorrow
-        List<Job> filteredPendingJobs = jobRepository.findByStatusAndPreferredDate(
-                Status.PENDING, LocalDate.now().plusDays(1));
+    @Scheduled(cron = "${jobs.auto-approve.cron:0 0 18 * * ?}")
+    public void approveJobsAfter6pm() {
+        approveJobs(LocalDate.now().plusDays(1));
+    }
 
-        // 2. sort jobs according to their creation date
-        List<Job> filteredSortedPendingJobs = sortJobsAccordingCreationDate(filteredPendingJobs);
+    /**
+     * Approves & schedules all PENDING jobs that are due on the date, oldest first.
+     * Continues from the checkpoint if an earlier run for the date did not finish.
+     *
+     * @param date the preferred date of the Jobs
+     * @return the number of Jobs approved by this call
+     */
+    public long approveJobs(LocalDate date) {
+        ApprovalCheckpoint checkpoint = checkpointRepository.findById(date)
+                .orElseGet(() -> new ApprovalCheckpoint(date));
+        if (checkpoint.isFinished()) {
+            return 0;
+        }
+        final long start = System.nanoTime();
+        long approved = 0;
+        int handled;
+        do {
+            handled = approveChunk(checkpoint);
+            approved += Math.max(handled, 0);
+        } while (handled != NO_JOBS_LEFT);
 
-        // 3. approve & send jobs to scheduler
-        for (Job job : filteredSortedPendingJobs) {
-            ScheduleJob scheduleJob = new ScheduleJob(job.getJobId(),
-                    job.getFaculty(), job.getPreferredDate(),
-                    job.getCpuUsage(), job.getGpuUsage(), job.getMemoryUsage());
+        checkpoint.setFinished(true);
+        checkpointRepository.save(checkpoint);
+        long nanos = System.nanoTime() - start;
+        runTime.record(nanos, TimeUnit.NANOSECONDS);
+        throughput.record(approved * 1e9 / Math.max(nanos, 1));
+        return approved;
+    }
 
-            jobService.scheduleJob(scheduleJob);
+    /**
+     * Approves the next chunk after the checkpoint and moves the checkpoint past it.
+     * Only the Jobs of the chunk that are still PENDING are approved, notified and scheduled;
+     * a Job that was rejected, deleted or approved in the meantime is left alone.
+     * The Jobs are sent to the Scheduler after the approval committed, so no rows stay locked during the request.
+     * If the Scheduler does not take them, they are made PENDING again.
+     *
+     * @return the number of approved Jobs, NO_JOBS_LEFT if there are no Jobs left and FAILED if the chunk failed
+     */
+    private int approveChunk(ApprovalCheckpoint checkpoint) {
+        List<Job> chunk = jobRepository.findChunk(Status.PENDING, checkpoint.getPreferredDate(),
+                checkpoint.getLastDateCreated(), checkpoint.getLastJobId(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return NO_JOBS_LEFT;
+        }
+        Job last = chunk.get(chunk.size() - 1);
+        checkpoint.setLastDateCreated(last.getDateCreated());
+        checkpoint.setLastJobId(last.getJobId());
+        final long approvedBefore = checkpoint.getApproved();
+        List<Job> approved;
+        try {
+            approved = transactionTemplate.execute(status -> {
+                List<Job> pending = changeStatus(ids(chunk), Status.PENDING, Status.ACCEPTED);
+                checkpoint.setApproved(approvedBefore + pending.size());
+                checkpointRepository.save(checkpoint);
+                return pending;
+            });
+        } catch (RuntimeException e) {
+            return failed(checkpoint, approvedBefore);
+        }
+        if (approved.isEmpty()) {
+            return 0;
         }
+        try {
+            sendToScheduler(approved);
+        } catch (RuntimeException e) {
+            transactionTemplate.execute(status -> changeStatus(ids(approved), Status.ACCEPTED, Status.PENDING));
+            return failed(checkpoint, approvedBefore);
+        }
+        notificationService.record(approved);
+        approvedJobs.increment(approved.size());
+        return approved.size();
     }
 
     /**
-     * Filter the pending jobs only.
+     * Changes the status of those of the Jobs that still have the expected status, and updates the totals on commit.
+     * The change is either a transition Status.canBecome allows or the undoing of one Status.canRevertTo allows.
      *
-     * @param pendingJobs list of Jobs that have the status "PENDING"
-     * @return a sorted (according to creationDate) list of jobs that are due tomorrow
+     * @return the Jobs that were changed, with their new status
      */
-    public List<Job> sortJobsAccordingCreationDate(List<Job> pendingJobs) {
-        return pendingJobs.stream()
-                .sorted((j1, j2) -> j1.getDateCreated().compareTo(j2.getDateCreated()))
+    private List<Job> changeStatus(List<Long> ids, Status from, Status to) {
+        if (!from.canBecome(to) && !from.canRevertTo(to)) {
+            throw new IllegalArgumentException("A Job cannot move from " + from + " to " + to);
+        }
+        List<Job> jobs = jobRepository.lockWithStatus(ids, from);
+        if (!jobs.isEmpty()) {
+            jobRepository.updateStatus(ids(jobs), from, to);
+        }
+        jobs.forEach(j -> j.setStatus(to));
+        statistics.afterCommit(() -> jobs.forEach(j -> statistics.updated(j, from, j.getPreferredDate())));
+        return jobs;
+    }
+
+    private int failed(ApprovalCheckpoint checkpoint, long approvedBefore) {
+        failedChunks.increment();
+        checkpoint.setApproved(approvedBefore);
+        checkpoint.setFailedChunks(checkpoint.getFailedChunks() + 1);
+        checkpointRepository.save(checkpoint);
+        return FAILED;
+    }
+
+    private static List<Long> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getJobId).collect(Collectors.toList());
+    }
+
+    private void sendToScheduler(List<Job> chunk) {
+        List<ScheduleJob> scheduleJobs = chunk.stream()
+                .map(job -> new ScheduleJob(job.getJobId(), job.getFaculty(), job.getPreferredDate(),
+                        job.getCpuUsage(), job.getGpuUsage(), job.getMemoryUsage()))
                 .collect(Collectors.toList());
+        try {
+            jobService.scheduleJobs(scheduleJobs);
+        } catch (ResponseEntityException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -24,6 +24,21 @@ public class Checks {
         }
     }
 
+    /**
+     * Checks if the description and faculty, which the Job cannot be stored without, are provided.
+     *
+     * @param job job
+     * @throws MissingFieldException exception
+     */
+    public void checkRequiredFields(Job job) throws MissingFieldException {
+        if (job.getDescription() == null) {
+            throw new MissingFieldException("description");
+        }
+        if (job.getFaculty() == null || job.getFaculty().toString() == null) {
+            throw new MissingFieldException("faculty");
+        }
+    }
+
     /**
      * Checks if net id matches with authenticated net id.
      *
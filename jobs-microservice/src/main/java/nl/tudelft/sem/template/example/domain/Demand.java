@@ -0,0 +1,22 @@
+package nl.tudelft.sem.template.example.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The open Jobs of a faculty on one day: how many there are, the resources they request together
+ * and how many of them are still PENDING.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class Demand {
+    private final long jobs;
+    private final long cpu;
+    private final long gpu;
+    private final long memory;
+    private final long pendingJobs;
+}
@@ -0,0 +1,103 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Faculty;
+import commons.FacultyResource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.example.chain.ChainDataLoader;
+import nl.tudelft.sem.template.example.models.ForecastResponseModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Projects the demand of the open Jobs onto the resources of the faculties.
+ * The demand comes from the running totals of the JobStatisticsService, so no Jobs are read;
+ * the resources come from the Clusters microservice in one call for the whole period.
+ */
+@Service
+public class DemandForecastService {
+
+    private final transient JobStatisticsService statistics;
+    private final transient ChainDataLoader chainDataLoader;
+    private final transient long timeout;
+
+    /**
+     * Constructor for the DemandForecastService.
+     *
+     * @param statistics the running totals of the Jobs
+     * @param chainDataLoader loader of the resources of the faculties
+     * @param timeout milliseconds to wait for the Clusters microservice
+     */
+    public DemandForecastService(JobStatisticsService statistics, ChainDataLoader chainDataLoader,
+                                 @Value("${jobs.chain.timeout-ms:5000}") long timeout) {
+        this.statistics = statistics;
+        this.chainDataLoader = chainDataLoader;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the faculties that have open Jobs.
+     *
+     * @return the names of the faculties
+     */
+    public Collection<String> getFaculties() {
+        return statistics.getDemandFaculties();
+    }
+
+    /**
+     * Forecasts the demand of the faculties on every day of a period.
+     *
+     * @param faculties the names of the faculties
+     * @param from first day of the period
+     * @param to last day of the period
+     * @return one entry per faculty per day, sorted by day and then faculty
+     * @throws ResponseEntityException if the resources could not be loaded from the Clusters microservice
+     */
+    public List<ForecastResponseModel> forecast(Collection<String> faculties, LocalDate from, LocalDate to)
+            throws ResponseEntityException {
+        List<ForecastResponseModel> result = new ArrayList<>();
+        if (faculties.isEmpty()) {
+            return result;
+        }
+        Map<String, FacultyResource> capacity = new HashMap<>();
+        for (FacultyResource resource : loadResources(faculties, from, to)) {
+            capacity.put(resource.getFaculty() + "@" + resource.getDate(), resource);
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (String faculty : new TreeSet<>(faculties)) {
+                Demand demand = statistics.getDemand(faculty, date);
+                FacultyResource resource = capacity.get(faculty + "@" + date);
+                long cpuCapacity = resource == null ? 0 : resource.getCpuUsage();
+                long gpuCapacity = resource == null ? 0 : resource.getGpuUsage();
+                long memoryCapacity = resource == null ? 0 : resource.getMemoryUsage();
+                result.add(new ForecastResponseModel(faculty, date, demand.getJobs(), demand.getPendingJobs(),
+                        demand.getCpu(), demand.getGpu(), demand.getMemory(), cpuCapacity, gpuCapacity, memoryCapacity,
+                        Math.max(0, demand.getCpu() - cpuCapacity), Math.max(0, demand.getGpu() - gpuCapacity),
+                        Math.max(0, demand.getMemory() - memoryCapacity)));
+            }
+        }
+        return result;
+    }
+
+    private List<FacultyResource> loadResources(Collection<String> faculties, LocalDate from, LocalDate to)
+            throws ResponseEntityException {
+        List<Faculty> list = faculties.stream().map(Faculty::new).collect(Collectors.toList());
+        try {
+            return chainDataLoader.getResources(list, from, to).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseEntityException();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ResponseEntityException();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package nl.tudelft.sem.template.example.domain;
+
+/**
+ * Thrown when submitted Jobs cannot be taken in, because the ingest queue is full
+ * or the Jobs were not written to the database in time.
+ */
+public class IngestUnavailableException extends Exception {
+    static final long serialVersionUID = -3387516993124229948L;
+
+    public IngestUnavailableException(String message) {
+        super(message);
+    }
+
+    public IngestUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,113 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves FINISHED and REJECTED Jobs whose preferred date is older than the retention window
+ * from the jobs table to the jobs_archive table, so the queries on the jobs table only see the working set.
+ * Jobs are moved in batches ordered by id, every batch in its own transaction.
+ * Those statuses are final, so an archived Job never has to be changed again.
+ */
+@Service
+public class JobArchiveService {
+
+    private static final EnumSet<Status> TERMINAL = EnumSet.of(Status.FINISHED, Status.REJECTED);
+    private static final String COLUMNS = "job_id, net_id, description, faculty, cpu_usage, gpu_usage, "
+            + "memory_usage, status, preferred_date, date_created";
+
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient int retentionDays;
+    private final transient int batchSize;
+    private final transient String terminal;
+    private final transient Timer runTime;
+    private final transient Counter archivedJobs;
+
+    /**
+     * Constructor for the JobArchiveService.
+     *
+     * @param jdbcTemplate template used to move the Jobs
+     * @param transactionManager transaction manager used to commit every batch separately
+     * @param meterRegistry registry the metrics of the runs are published to
+     * @param retentionDays number of days after their preferred date Jobs stay in the jobs table
+     * @param batchSize number of Jobs moved in one transaction
+     */
+    public JobArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${jobs.archive.retention-days:30}") int retentionDays,
+                             @Value("${jobs.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.terminal = TERMINAL.stream().map(s -> String.valueOf(s.ordinal())).collect(Collectors.joining(","));
+        this.runTime = meterRegistry.timer("jobs.archive.time");
+        this.archivedJobs = meterRegistry.counter("jobs.archive.jobs");
+    }
+
+    /**
+     * Archives the Jobs that left the retention window, every night.
+     */
+    @Scheduled(cron = "${jobs.archive.cron:0 30 3 * * ?}")
+    public void archiveJobs() {
+        runTime.record(() -> archive(LocalDate.now()));
+    }
+
+    /**
+     * Archives the FINISHED and REJECTED Jobs whose preferred date is more than the retention window before today.
+     *
+     * @param today the day the retention window ends
+     * @return the number of Jobs that were archived
+     */
+    public int archive(LocalDate today) {
+        final Date before = Date.valueOf(today.minusDays(retentionDays));
+        int total = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT job_id FROM jobs WHERE status IN (" + terminal
+                    + ") AND preferred_date < ? AND job_id > ? ORDER BY job_id LIMIT ?",
+                Long.class, before, after, batchSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            Integer moved = transactionTemplate.execute(status -> move(ids, Date.valueOf(today)));
+            total += moved == null ? 0 : moved;
+            archivedJobs.increment(moved == null ? 0 : moved);
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int move(List<Long> ids, Date archivedDate) {
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        // lock the rows, so a Job deleted in the meantime is neither archived nor deleted twice
+        List<Long> locked = jdbcTemplate.queryForList("SELECT job_id FROM jobs WHERE job_id IN (" + in + ") "
+                + "AND status IN (" + terminal + ") FOR UPDATE", Long.class, ids.toArray());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        String lockedIn = String.join(",", Collections.nCopies(locked.size(), "?"));
+        Object[] args = new Object[locked.size() + 1];
+        args[0] = archivedDate;
+        for (int i = 0; i < locked.size(); i++) {
+            args[i + 1] = locked.get(i);
+        }
+        jdbcTemplate.update("INSERT INTO jobs_archive (" + COLUMNS + ", archived_date) SELECT " + COLUMNS
+                + ", ? FROM jobs WHERE job_id IN (" + lockedIn + ")", args);
+        return jdbcTemplate.update("DELETE FROM jobs WHERE job_id IN (" + lockedIn + ")", locked.toArray());
+    }
+}
@@ -0,0 +1,308 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Takes in new Jobs and writes them to the database behind the request, in batches.
+ * Validated Jobs get their id from a block of preallocated sequence values and are put on a bounded queue;
+ * a single writer thread drains the queue and inserts the Jobs with one JDBC batch per transaction.
+ * When a batch fails its submissions are retried one by one, so only the submissions with a bad Job fail.
+ * With the ack mode FLUSH a submission returns once its Jobs are stored, with ENQUEUE as soon as they are queued,
+ * in which case Jobs that were acknowledged but not yet flushed are lost if the service crashes.
+ * Acknowledged Jobs that fail to insert are tried again a few times, and logged if they still cannot be stored.
+ */
+@Service
+public class JobIngestService {
+
+    /**
+     * The moment a submission is acknowledged.
+     */
+    public enum Ack {
+        ENQUEUE, FLUSH
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobIngestService.class);
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long RETRY_DELAY_MS = 100;
+
+    private static final String INSERT_JOB = "INSERT INTO jobs (job_id, net_id, description, faculty, cpu_usage, "
+            + "gpu_usage, memory_usage, status, preferred_date, date_created, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final transient BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private final transient Semaphore capacity;
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient JobStatisticsService statistics;
+    private final transient ExecutorService writer = Executors.newSingleThreadExecutor();
+    private final transient Ack ack;
+    private final transient int batchSize;
+    private final transient long ackTimeoutMs;
+    private final transient Counter accepted;
+    private final transient Counter rejected;
+    private final transient Counter flushed;
+    private final transient Counter failed;
+    private final transient Timer flushTime;
+    private transient volatile boolean running = true;
+    private transient long nextId;
+    private transient long idLimit;
+
+    /**
+     * Constructor for the JobIngestService.
+     *
+     * @param jdbcTemplate template used for the id allocation and the batched inserts
+     * @param transactionManager transaction manager used to commit every batch at once
+     * @param statistics the running totals of the Jobs, which the batched inserts bypass
+     * @param meterRegistry registry the ingest metrics are published to
+     * @param queueSize number of Jobs that can wait to be written
+     * @param batchSize maximum number of Jobs written with one batch
+     * @param ack whether a submission is acknowledged after the flush or after being queued
+     * @param ackTimeoutMs how long a submission waits for its flush with ack mode FLUSH
+     */
+    public JobIngestService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            JobStatisticsService statistics, MeterRegistry meterRegistry,
+                            @Value("${jobs.ingest.queue-size:10000}") int queueSize,
+                            @Value("${jobs.ingest.batch-size:500}") int batchSize,
+                            @Value("${jobs.ingest.ack:flush}") String ack,
+                            @Value("${jobs.ingest.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statistics = statistics;
+        this.capacity = new Semaphore(queueSize);
+        this.batchSize = batchSize;
+        this.ack = Ack.valueOf(ack.toUpperCase(Locale.ROOT));
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.accepted = meterRegistry.counter("jobs.ingest.accepted");
+        this.rejected = meterRegistry.counter("jobs.ingest.rejected");
+        this.flushed = meterRegistry.counter("jobs.ingest.flushed");
+        this.failed = meterRegistry.counter("jobs.ingest.failed");
+        this.flushTime = meterRegistry.timer("jobs.ingest.flush.time");
+        meterRegistry.gauge("jobs.ingest.queued", capacity, c -> queueSize - c.availablePermits());
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.execute(this::writeLoop);
+    }
+
+    /**
+     * Stops taking in Jobs and writes the Jobs that are still queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        writer.awaitTermination(ackTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Ack getAck() {
+        return ack;
+    }
+
+    /**
+     * Gives the Jobs an id and queues them to be written, all or none of them.
+     * Waits for the Jobs to be stored if the ack mode is FLUSH.
+     *
+     * @param jobs validated Jobs that are not stored yet
+     * @return the Jobs with their ids
+     * @throws IngestUnavailableException if the queue is full or the Jobs were not stored in time
+     */
+    public List<Job> ingest(List<Job> jobs) throws IngestUnavailableException {
+        CompletableFuture<List<Job>> stored = submit(jobs);
+        if (ack == Ack.ENQUEUE) {
+            return jobs;
+        }
+        try {
+            return stored.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IngestUnavailableException("JOBS_NOT_STORED", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IngestUnavailableException("JOBS_NOT_STORED_IN_TIME", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestUnavailableException("INTERRUPTED", e);
+        }
+    }
+
+    /**
+     * Gives the Jobs an id and queues them to be written, all or none of them.
+     *
+     * @param jobs validated Jobs that are not stored yet
+     * @return future completed with the Jobs once they are stored
+     * @throws IngestUnavailableException if the queue has no room for all the Jobs
+     */
+    public CompletableFuture<List<Job>> submit(List<Job> jobs) throws IngestUnavailableException {
+        if (!running || !capacity.tryAcquire(jobs.size())) {
+            rejected.increment(jobs.size());
+            throw new IngestUnavailableException("INGEST_QUEUE_FULL");
+        }
+        assignIds(jobs);
+        Submission submission = new Submission(jobs);
+        queue.add(submission);
+        accepted.increment(jobs.size());
+        return submission.stored;
+    }
+
+    /**
+     * Takes the ids from blocks of the Job sequence, one database round trip per block.
+     * Hibernate reserves its ids from the same sequence, so Jobs stored through the repository do not collide.
+     */
+    private synchronized void assignIds(List<Job> jobs) {
+        for (Job job : jobs) {
+            if (nextId == idLimit) {
+                nextId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Job.ID_SEQUENCE, Long.class);
+                idLimit = nextId + Job.ID_BLOCK_SIZE;
+            }
+            job.setJobId(nextId++);
+        }
+    }
+
+    private void writeLoop() {
+        List<Submission> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                int size = first.jobs.size();
+                Submission next;
+                while (size < batchSize && (next = queue.poll()) != null) {
+                    batch.add(next);
+                    size += next.jobs.size();
+                }
+                flush(batch, size);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // the loop is the only writer, so it goes on with the next batch
+                LOGGER.error("Writing a batch of {} submissions failed", batch.size(), e);
+                batch.stream().filter(s -> !s.stored.isDone()).forEach(s -> fail(s, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Submission> batch, int size) {
+        try {
+            RuntimeException error = insert(batch);
+            if (error != null && batch.size() > 1) {
+                // a single bad Job fails the whole batch, so every submission is retried alone
+                batch.forEach(s -> s.error = insert(List.of(s)));
+            } else {
+                batch.forEach(s -> s.error = error);
+            }
+            if (ack == Ack.ENQUEUE) {
+                batch.stream().filter(s -> s.error != null).forEach(this::retry);
+            }
+        } finally {
+            // room is made before the submitters are told, so a follow-up submission always finds it
+            capacity.release(size);
+        }
+        for (Submission s : batch) {
+            if (s.error == null) {
+                s.stored.complete(s.jobs);
+            } else {
+                fail(s, s.error);
+            }
+        }
+    }
+
+    /**
+     * Inserts the Jobs of a submission that was acknowledged already again, with a growing delay in between.
+     * The delay holds up the writer, but an insert that fails for another reason than the Job itself
+     * would fail for the rest of the queue too.
+     */
+    private void retry(Submission submission) {
+        for (int attempt = 1; attempt < MAX_ATTEMPTS && submission.error != null; attempt++) {
+            try {
+                Thread.sleep(RETRY_DELAY_MS << (attempt - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            submission.error = insert(List.of(submission));
+        }
+    }
+
+    private void fail(Submission submission, RuntimeException error) {
+        failed.increment(submission.jobs.size());
+        if (ack == Ack.ENQUEUE) {
+            // the submitter was told the Jobs are taken in, so they are logged to be restored by hand
+            for (Job j : submission.jobs) {
+                LOGGER.error("Acknowledged Job {} of {} could not be stored: faculty {}, description {}, "
+                        + "cpu {}, gpu {}, memory {}, preferred date {}", j.getJobId(), j.getNetId(), j.getFaculty(),
+                        j.getDescription(), j.getCpuUsage(), j.getGpuUsage(), j.getMemoryUsage(),
+                        j.getPreferredDate(), error);
+            }
+        }
+        submission.stored.completeExceptionally(error);
+    }
+
+    /**
+     * Inserts the Jobs of the submissions in one transaction.
+     *
+     * @return null if the Jobs are stored, otherwise the reason none of them are
+     */
+    private RuntimeException insert(List<Submission> submissions) {
+        List<Job> jobs = submissions.stream().flatMap(s -> s.jobs.stream()).collect(Collectors.toList());
+        try {
+            List<Object[]> args = jobs.stream()
+                    .map(j -> new Object[] {j.getJobId(), j.getNetId().toString(), j.getDescription(),
+                        j.getFaculty().toString(), j.getCpuUsage(), j.getGpuUsage(), j.getMemoryUsage(),
+                        j.getStatus().ordinal(), Date.valueOf(j.getPreferredDate()),
+                        Date.valueOf(j.getDateCreated())})
+                    .collect(Collectors.toList());
+            flushTime.record(() -> transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_JOB, args)));
+        } catch (RuntimeException e) {
+            return e;
+        }
+        flushed.increment(jobs.size());
+        try {
+            submissions.forEach(s -> statistics.inserted(s.jobs));
+        } catch (RuntimeException e) {
+            // the Jobs are stored, only the totals are off until the statistics are rebuilt
+            LOGGER.warn("Updating the statistics for {} inserted Jobs failed", jobs.size(), e);
+        }
+        return null;
+    }
+
+    private static final class Submission {
+        private final transient List<Job> jobs;
+        private final transient CompletableFuture<List<Job>> stored = new CompletableFuture<>();
+        private transient RuntimeException error;
+
+        private Submission(List<Job> jobs) {
+            this.jobs = jobs;
+        }
+    }
+}
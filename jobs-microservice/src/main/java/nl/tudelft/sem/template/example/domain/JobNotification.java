@@ -0,0 +1,60 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Job;
+import commons.Status;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of the notification log of a user, written every time the status of one of their Jobs changes.
+ * The id is increasing and doubles as the cursor of the notification feed.
+ */
+@Entity
+@Table(name = "job_notifications", indexes = {
+    @Index(name = "idx_job_notifications_net_id", columnList = "net_id, id")
+})
+@Getter
+@NoArgsConstructor
+public class JobNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private long id;
+
+    @Column(name = "net_id", nullable = false)
+    private String netId;
+
+    @Column(name = "job_id", nullable = false)
+    private long jobId;
+
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "schedule_date")
+    private LocalDate scheduleDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Creates the notification for the current status of a Job.
+     *
+     * @param job the Job whose status changed
+     */
+    public JobNotification(Job job) {
+        this.netId = job.getNetId().toString();
+        this.jobId = job.getJobId();
+        this.status = job.getStatus();
+        this.scheduleDate = job.getPreferredDate();
+        this.createdAt = LocalDateTime.now();
+    }
+}
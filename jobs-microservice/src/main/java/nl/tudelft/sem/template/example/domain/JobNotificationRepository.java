@@ -0,0 +1,31 @@
+package nl.tudelft.sem.template.example.domain;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobNotificationRepository extends JpaRepository<JobNotification, Long> {
+
+    /**
+     * Find the notifications of a user that are newer than the cursor and older than a bound.
+     *
+     * @param netId netId of the user
+     * @param cursor id of the last notification the user has seen
+     * @param below the notifications from this id on are left out
+     * @param page the maximum number of notifications
+     * @return the notifications, oldest first
+     */
+    List<JobNotification> findByNetIdAndIdGreaterThanAndIdLessThanOrderById(String netId, long cursor, long below,
+                                                                             Pageable page);
+
+    /**
+     * Find the id of the newest notification.
+     *
+     * @return the highest id, 0 if there are no notifications
+     */
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM JobNotification n")
+    long findMaxId();
+}
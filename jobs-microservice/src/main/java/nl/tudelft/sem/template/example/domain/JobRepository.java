@@ -1,12 +1,19 @@
 package nl.tudelft.sem.template.example.domain;
 
+import commons.Faculty;
 import commons.Job;
 import commons.NetId;
 import commons.Status;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -22,6 +29,14 @@ public interface JobRepository extends JpaRepository<Job, Long> {
      */
     Optional<List<Job>> findAllByNetId(NetId netId);
 
+    /**
+     * Find all the jobs of a user, only with the fields the overviews need.
+     *
+     * @param netId netId of a user
+     * @return projections of the Jobs, ordered by id
+     */
+    List<JobSummary> findSummariesByNetIdOrderByJobId(NetId netId);
+
     /**
      * Find all the Job entities associated with a certain status and preferredDate.
      *
@@ -31,4 +46,80 @@ public interface JobRepository extends JpaRepository<Job, Long> {
      */
     List<Job> findByStatusAndPreferredDate(Status status, LocalDate preferredDate);
 
+    /**
+     * Find the next chunk of Jobs with a status and preferred date, ordered by creation date and id.
+     * The chunk starts after the Job with the given creation date and id (keyset pagination).
+     *
+     * @param status the status of the Jobs
+     * @param preferredDate the due date of the Jobs
+     * @param dateCreated creation date of the last Job of the previous chunk
+     * @param jobId id of the last Job of the previous chunk
+     * @param page the size of the chunk
+     * @return the Jobs of the chunk
+     */
+    @Query("SELECT j FROM Job j WHERE j.status = :status AND j.preferredDate = :date "
+            + "AND (j.dateCreated > :created OR (j.dateCreated = :created AND j.jobId > :id)) "
+            + "ORDER BY j.dateCreated, j.jobId")
+    List<Job> findChunk(@Param("status") Status status, @Param("date") LocalDate preferredDate,
+                        @Param("created") LocalDate dateCreated, @Param("id") long jobId, Pageable page);
+
+    /**
+     * Find those of the Jobs that have a status and lock their rows until the end of the transaction,
+     * so their status can not change before they are updated.
+     *
+     * @param ids ids of the Jobs
+     * @param status the status the Jobs are expected to have
+     * @return the Jobs that have the status, ordered by id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Job j WHERE j.jobId IN :ids AND j.status = :status ORDER BY j.jobId")
+    List<Job> lockWithStatus(@Param("ids") List<Long> ids, @Param("status") Status status);
+
+    /**
+     * Change the status of several Jobs at once, if they still have the expected status.
+     * Bulk updates skip the version check of Hibernate, so the version is raised here to make
+     * concurrent writers that read the old row fail.
+     *
+     * @param ids ids of the Jobs
+     * @param from the status the Jobs are expected to have
+     * @param to the new status of the Jobs
+     * @return the number of Jobs that were changed
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :to, j.version = j.version + 1 "
+            + "WHERE j.jobId IN :ids AND j.status = :from")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("from") Status from, @Param("to") Status to);
+
+    /**
+     * Find all the Job entities with a certain status.
+     *
+     * @param status the status of the Job
+     * @return a list of Job entities with the status, ordered by id
+     */
+    List<Job> findAllByStatusOrderByJobId(Status status);
+
+    /**
+     * Find one page of Jobs matching the filters, ordered by id.
+     * Uses keyset pagination: the page starts after the given id, so no rows are skipped with an offset.
+     * Filters that are null are not applied.
+     *
+     * @param after id of the last Job of the previous page, 0 for the first page
+     * @param status the status of the Jobs
+     * @param faculty the faculty of the Jobs
+     * @param from first preferred date of the Jobs
+     * @param to last preferred date of the Jobs
+     * @param page the size of the page
+     * @return projections of the Jobs on the page
+     */
+    @Query("SELECT j.jobId AS jobId, j.netId AS netId, j.status AS status FROM Job j "
+            + "WHERE j.jobId > :after "
+            + "AND (:status IS NULL OR j.status = :status) "
+            + "AND (:faculty IS NULL OR j.faculty = :faculty) "
+            + "AND (:from IS NULL OR j.preferredDate >= :from) "
+            + "AND (:to IS NULL OR j.preferredDate <= :to) "
+            + "ORDER BY j.jobId")
+    List<JobSummary> findPage(@Param("after") long after, @Param("status") Status status,
+                              @Param("faculty") Faculty faculty, @Param("from") LocalDate from,
+                              @Param("to") LocalDate to, Pageable page);
+
 }
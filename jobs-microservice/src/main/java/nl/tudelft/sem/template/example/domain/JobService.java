@@ -13,14 +13,20 @@ import exceptions.InvalidResourcesException;
 import exceptions.ResourceBiggerThanCpuException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import nl.tudelft.sem.template.example.models.JobFilterModel;
 import nl.tudelft.sem.template.example.models.JobIdRequestModel;
 import nl.tudelft.sem.template.example.models.JobResponseModel;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -29,14 +35,63 @@ import org.springframework.web.client.RestTemplate;
 
 @Service
 public class JobService extends JobServiceBasic {
+
+    private static final int MAX_PAGE_SIZE = 10_000;
+
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient ArchivedJobRepository archivedJobRepository;
+
     /**
      * Instantiates a new JobService.
      *
      * @param jobRepository               the job repository
      * @param restTemplate                the template to make REST API calls
+     * @param notificationService         the service keeping the notification log of the users
+     * @param transactionManager          transaction manager used to save several Jobs at once
+     * @param archivedJobRepository       the repository of the archived Jobs
      */
-    public JobService(JobRepository jobRepository, RestTemplate restTemplate) {
-        super(jobRepository, restTemplate);
+    public JobService(JobRepository jobRepository, RestTemplate restTemplate,
+                      NotificationService notificationService, PlatformTransactionManager transactionManager,
+                      ArchivedJobRepository archivedJobRepository) {
+        super(jobRepository, restTemplate, notificationService, transactionManager);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedJobRepository = archivedJobRepository;
+    }
+
+    /**
+     * Save Jobs whose status changed and append the change to the notification logs of their owners.
+     * All Jobs are saved in one transaction, checked against the versions they were read with.
+     * If any of them changed in the meantime, every Job is instead moved to its new status on its latest
+     * version, one by one; a Job whose latest status does not allow the change, or that someone else
+     * already moved to the new status, is left alone and reported.
+     *
+     * @param jobs the Jobs whose status changed
+     * @return the ids of the Jobs that could not be changed, with the reason
+     */
+    public Map<Long, String> saveStatusChanges(List<Job> jobs) {
+        try {
+            transactionTemplate.execute(status -> {
+                jobRepository.saveAll(jobs);
+                jobRepository.flush();
+                notificationService.record(jobs);
+                return null;
+            });
+            return Map.of();
+        } catch (RuntimeException e) {
+            if (!isConflict(e)) {
+                throw e;
+            }
+        }
+        Map<Long, String> conflicts = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            try {
+                Job saved = changeStatus(job.getJobId(), job.getStatus(), null, false);
+                job.setVersion(saved.getVersion());
+            } catch (Exception e) {
+                conflicts.put(job.getJobId(), "CONFLICT: " + e.getMessage());
+            }
+        }
+        return conflicts;
     }
 
 
@@ -57,6 +112,27 @@ public class JobService extends JobServiceBasic {
         return jobs.get();
     }
 
+    /**
+     * Collect all the jobs created by a specific user, including the archived ones.
+     *
+     * @param netId NetId of the request creator
+     * @param authNetId NetId of the authenticated user
+     * @return projections of the live and archived Jobs of the user, ordered by id
+     * @throws Exception if the NetId is invalid or there is no associated Job to the NetId
+     */
+    public List<JobSummary> collectJobsByNetIdWithArchive(NetId netId, NetId authNetId) throws Exception {
+        checkNetIdNull(netId);
+        if (!netId.toString().equals(authNetId.toString())) {
+            throw new InvalidNetIdException(netId.toString());
+        }
+        List<JobSummary> jobs = merge(jobRepository.findSummariesByNetIdOrderByJobId(netId),
+                archivedJobRepository.findSummariesByNetIdOrderByJobId(netId), Integer.MAX_VALUE);
+        if (jobs.isEmpty()) {
+            throw new InvalidNetIdException(netId.toString());
+        }
+        return jobs;
+    }
+
     /**
      * Retrieve the status of a specific Job stored in the database.
      *
@@ -78,6 +154,29 @@ public class JobService extends JobServiceBasic {
         return job.get().getStatus();
     }
 
+    /**
+     * Retrieve the status of a specific Job, looking in the archive if the Job is no longer in the jobs table.
+     *
+     * @param netId NetId of the request creator
+     * @param authNetId NetId of the authenticated user
+     * @param jobId the unique id of the Job
+     * @return the status of the Job
+     * @throws Exception if the NetId is invalid or the NetId does not have permission to access the requested job.
+     */
+    public Status getJobStatusWithArchive(NetId netId, NetId authNetId, long jobId) throws Exception {
+        checkNetIdNull(netId);
+        Optional<ArchivedJob> archived = jobRepository.existsById(jobId)
+                ? Optional.empty() : archivedJobRepository.findById(jobId);
+        if (archived.isEmpty()) {
+            return getJobStatus(netId, authNetId, jobId);
+        }
+        if (!netId.toString().equals(authNetId.toString())
+                || !archived.get().getNetId().toString().equals(netId.toString())) {
+            throw new InvalidNetIdException(netId.toString());
+        }
+        return archived.get().getStatus();
+    }
+
     /**
      * Retrieve all the Job entities from the database.
      *
@@ -110,16 +209,58 @@ public class JobService extends JobServiceBasic {
         checkNetIdAuth(netId, authNetId);
         checkIsAdmin(role);
 
-        List<Job> jobs = new ArrayList<>();
-        List<Job> all = jobRepository.findAll();
-        for (Job j : all) {
-            if (j.getStatus() == Status.ACCEPTED) {
-                System.out.println(j.getJobId());
-                jobs.add(j);
-            }
+        return jobRepository.findAllByStatusOrderByJobId(Status.ACCEPTED);
+    }
+
+    /**
+     * Retrieve one page of Jobs matching the filters, only with the fields the overviews need.
+     * Archived Jobs are only included if the filter asks for them.
+     *
+     * @param netId NetId of the request creator
+     * @param authNetId NetId of the authenticated user
+     * @param role role of the request creator
+     * @param filter the filters and the position of the page
+     * @return the Jobs on the page, ordered by id
+     * @throws Exception if the NetId is invalid or the creator of the request does not have the admin role.
+     */
+    public List<JobSummary> getJobsPage(NetId netId, NetId authNetId, RoleValue role,
+                                        JobFilterModel filter) throws Exception {
+        checkNetIdNull(netId);
+        checkNetIdAuth(netId, authNetId);
+        checkIsAdmin(role);
+
+        int limit = Math.max(1, Math.min(filter.getLimit(), MAX_PAGE_SIZE));
+        Faculty faculty = filter.getFaculty() == null ? null : new Faculty(filter.getFaculty());
+        List<JobSummary> live = jobRepository.findPage(filter.getAfter(), filter.getStatus(), faculty,
+                filter.getFrom(), filter.getTo(), PageRequest.of(0, limit));
+        if (!filter.isArchived()) {
+            return live;
         }
+        return merge(live, archivedJobRepository.findPage(filter.getAfter(), filter.getStatus(), faculty,
+                filter.getFrom(), filter.getTo(), PageRequest.of(0, limit)), limit);
+    }
 
-        return jobs;
+    /**
+     * Merges two lists of Jobs ordered by id into one ordered list.
+     * A Job is either live or archived, so the ids of the lists never overlap.
+     *
+     * @param first the first list, ordered by id
+     * @param second the second list, ordered by id
+     * @param limit the maximum number of Jobs returned
+     * @return the first limit Jobs of both lists, ordered by id
+     */
+    private static List<JobSummary> merge(List<JobSummary> first, List<JobSummary> second, int limit) {
+        List<JobSummary> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size() || i < first.size() && first.get(i).getJobId() < second.get(j).getJobId()) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
     }
 
     /**
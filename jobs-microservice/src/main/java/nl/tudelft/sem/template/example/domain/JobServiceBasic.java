@@ -9,18 +9,30 @@ import commons.Status;
 import exceptions.InvalidIdException;
 import exceptions.InvalidNetIdException;
 import exceptions.InvalidResourcesException;
+import exceptions.InvalidTransitionException;
 import exceptions.ResourceBiggerThanCpuException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import javax.persistence.OptimisticLockException;
 import nl.tudelft.sem.template.example.models.JobIdRequestModel;
+import org.hibernate.StaleStateException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 public class JobServiceBasic extends Checks {
     protected final transient JobRepository jobRepository;
     protected final transient RestTemplate restTemplate;
+    protected final transient NotificationService notificationService;
+    protected final transient TransactionTemplate statusTransaction;
     protected static final String nullValue = "null";
+    protected static final int MAX_ATTEMPTS = 5;
     protected final transient String schedulerUrl = "http://localhost:8084";
     protected final transient String url = "http://localhost:8083";
 
@@ -29,10 +41,15 @@ public class JobServiceBasic extends Checks {
      *
      * @param jobRepository               the job repository
      * @param restTemplate                the template to make REST API calls
+     * @param notificationService         the service keeping the notification log of the users
+     * @param transactionManager          transaction manager used to save a status change with its notification
      */
-    public JobServiceBasic(JobRepository jobRepository, RestTemplate restTemplate) {
+    public JobServiceBasic(JobRepository jobRepository, RestTemplate restTemplate,
+                           NotificationService notificationService, PlatformTransactionManager transactionManager) {
         this.jobRepository = jobRepository;
         this.restTemplate = restTemplate;
+        this.notificationService = notificationService;
+        this.statusTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -56,6 +73,23 @@ public class JobServiceBasic extends Checks {
         return response.getBody();
     }
 
+    /**
+     * Makes one POST request to the Scheduler, to schedule several Jobs.
+     *
+     * @param scheduleJobs the Job objects to be scheduled
+     * @return the response message of the Scheduler
+     * @throws ResponseEntityException if the Scheduler does not respond with a message
+     */
+    public String scheduleJobs(List<ScheduleJob> scheduleJobs) throws ResponseEntityException {
+        ResponseEntity<String> response = restTemplate
+            .postForEntity(schedulerUrl + "/schedule/batch", scheduleJobs, String.class);
+
+        if (response.getBody() == null) {
+            throw new ResponseEntityException();
+        }
+        return response.getBody();
+    }
+
     /**
      * Makes a POST request to the Scheduler to unschedule Jobs.
      *
@@ -89,10 +123,7 @@ public class JobServiceBasic extends Checks {
                          int memoryUsage, RoleValue role, LocalDate preferredDate) throws Exception {
 
         Job newJob = new Job(netId, faculty, desc, cpuUsage, gpuUsage, memoryUsage, preferredDate);
-        checkResourcesJob(newJob);
-        checkNetIdNull(netId);
-        checkNetIdAuth(netId, authNetId);
-        checkIsEmployee(role);
+        checkNewJob(authNetId, newJob, role);
         jobRepository.save(newJob);
 
         return newJob;
@@ -108,53 +139,163 @@ public class JobServiceBasic extends Checks {
      * @throws Exception if the resources of NetId are invalid
      */
     public Job createJob(NetId authNetId, Job job, RoleValue role) throws Exception {
-        checkResourcesJob(job);
-        checkNetIdNull(job.getNetId());
-        checkNetIdAuth(job.getNetId(), authNetId);
-        checkIsEmployee(role);
+        checkNewJob(authNetId, job, role);
 
         jobRepository.save(job);
 
         return job;
     }
 
+    /**
+     * Check that a new job may be created, without storing it.
+     *
+     * @param authNetId NetId of the authenticated user
+     * @param job a job
+     * @param role a role of a user who creates a job
+     * @throws Exception if the resources of NetId are invalid
+     */
+    public void checkNewJob(NetId authNetId, Job job, RoleValue role) throws Exception {
+        checkResourcesJob(job);
+        checkNetIdNull(job.getNetId());
+        checkRequiredFields(job);
+        checkNetIdAuth(job.getNetId(), authNetId);
+        checkIsEmployee(role);
+    }
+
     /**
      * Remove a job from the database.
+     * The delete is checked against the version of the Job that was read and retried on a conflict.
      *
      * @param id the unique id of the Job.
      * @throws Exception if there is no Job with the provided id.
      */
     public void deleteJob(String netId, RoleValue role, long id) throws Exception {
-        if (!jobRepository.existsById(id)) {
-            throw new InvalidIdException(id);
-        }
+        retryOnConflict(() -> {
+            Optional<Job> job = jobRepository.findById(id);
+            if (job.isEmpty()) {
+                throw new InvalidIdException(id);
+            }
 
-        if (role == RoleValue.ADMIN || ((role == RoleValue.EMPLOYEE)
-            && netId.equals(jobRepository.getOne(id).getNetId().toString()))) {
-            jobRepository.deleteById(id);
-        } else {
-            throw new BadCredentialsException("Not admin or not your job");
-        }
+            if (role == RoleValue.ADMIN || ((role == RoleValue.EMPLOYEE)
+                && netId.equals(job.get().getNetId().toString()))) {
+                jobRepository.delete(job.get());
+            } else {
+                throw new BadCredentialsException("Not admin or not your job");
+            }
+            return null;
+        });
     }
 
 
     /**
      * Update information about the Job specified by a microservice.
+     * Sending the current status again only updates the schedule date.
      *
      * @param id id of the Job
      * @param status the new status of the Job
      * @param localDate the time the Job is scheduled to start
      * @throws Exception if the id does not exist in the database
+     * @throws InvalidTransitionException if the Job cannot move from its current status to status
      */
     public void updateJob(long id, Status status, LocalDate localDate) throws Exception {
-        Optional<Job> jobOptional = jobRepository.findById(id);
-        if (jobOptional.isEmpty()) {
-            throw new InvalidIdException(id);
+        changeStatus(id, status, localDate);
+    }
+
+    /**
+     * Moves a Job to a new status on the latest version of its row.
+     * The Job is read, checked against the legal transitions and saved with its version, in the same
+     * transaction as its notification, so notifications are logged in the order the changes were made;
+     * if another request changed the Job in between, all of this is repeated.
+     * A request that changes nothing is not saved, so repeated callbacks are harmless.
+     *
+     * @param id id of the Job
+     * @param status the new status of the Job
+     * @param localDate the new preferred date of the Job, null to keep it
+     * @return the saved Job
+     * @throws Exception if the id does not exist, the transition is not allowed or the Job keeps changing
+     */
+    protected Job changeStatus(long id, Status status, LocalDate localDate) throws Exception {
+        return changeStatus(id, status, localDate, true);
+    }
+
+    /**
+     * Moves a Job to a new status on the latest version of its row, like changeStatus(id, status, localDate).
+     * A decision on a Job, unlike a callback, must not count as made when someone else made it first,
+     * so without repeatable a request that changes nothing fails instead.
+     *
+     * @param id id of the Job
+     * @param status the new status of the Job
+     * @param localDate the new preferred date of the Job, null to keep it
+     * @param repeatable whether a request that changes nothing succeeds
+     * @return the saved Job
+     * @throws Exception if the id does not exist, the transition is not allowed or the Job keeps changing
+     * @throws ConcurrencyFailureException if the change is not repeatable and the Job already has it
+     */
+    protected Job changeStatus(long id, Status status, LocalDate localDate, boolean repeatable) throws Exception {
+        Optional<Job> saved = retryOnConflict(() -> {
+            Optional<Job> jobOptional = jobRepository.findById(id);
+            if (jobOptional.isEmpty()) {
+                throw new InvalidIdException(id);
+            }
+            Job job = jobOptional.get();
+            if (job.getStatus() == status && (localDate == null || localDate.equals(job.getPreferredDate()))) {
+                if (!repeatable) {
+                    throw new ConcurrencyFailureException("Job " + id + " is already " + status);
+                }
+                // repeated request, nothing to change
+                return Optional.empty();
+            }
+            if (job.getStatus() != status) {
+                job.transitionTo(status);
+            }
+            if (localDate != null) {
+                job.setPreferredDate(localDate);
+            }
+            return Optional.ofNullable(statusTransaction.execute(tx -> {
+                Job stored = jobRepository.saveAndFlush(job);
+                notificationService.record(List.of(stored));
+                return stored;
+            }));
+        });
+        if (saved.isEmpty()) {
+            return jobRepository.findById(id).orElseThrow(() -> new InvalidIdException(id));
+        }
+        return saved.get();
+    }
+
+    /**
+     * Runs an optimistic read-modify-write, again if it lost against a concurrent change of the same Job.
+     *
+     * @param attempt the read-modify-write, reading the Job again every time
+     * @return the result of the first attempt that did not conflict
+     * @throws Exception the exception of the attempt, or the conflict after MAX_ATTEMPTS attempts
+     */
+    protected <T> T retryOnConflict(Callable<T> attempt) throws Exception {
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.call();
+            } catch (RuntimeException e) {
+                if (!isConflict(e) || i >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
         }
-        Job job = jobOptional.get();
-        job.setStatus(status);
-        job.setPreferredDate(localDate);
-        jobRepository.save(job);
     }
 
+    /**
+     * Checks whether an exception comes from a version check that failed.
+     * Depending on whether the conflict shows at the merge or at the commit it is wrapped differently.
+     *
+     * @param e the exception
+     * @return true if a concurrent change of the same row caused the exception
+     */
+    protected static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockingFailureException || t instanceof OptimisticLockException
+                    || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
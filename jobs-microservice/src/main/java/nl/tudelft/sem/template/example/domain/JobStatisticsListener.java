@@ -0,0 +1,105 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Job;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passes the Jobs that Hibernate inserted, updated or deleted to the JobStatisticsService,
+ * once the transaction has committed.
+ * Changes made with bulk queries or plain JDBC do not pass through here and update the statistics themselves.
+ */
+@Component
+public class JobStatisticsListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    static final long serialVersionUID = -3387516993124229948L;
+
+    private final transient EntityManagerFactory entityManagerFactory;
+    private final transient JobStatisticsService statistics;
+
+    public JobStatisticsListener(EntityManagerFactory entityManagerFactory, JobStatisticsService statistics) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Registers the listener with Hibernate.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Job) {
+            statistics.inserted(List.of((Job) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (event.getEntity() instanceof Job && oldState != null) {
+            EntityPersister persister = event.getPersister();
+            Status oldStatus = (Status) oldState[persister.getEntityMetamodel().getPropertyIndex("status")];
+            LocalDate oldDate = (LocalDate) oldState[persister.getEntityMetamodel().getPropertyIndex("preferredDate")];
+            statistics.updated((Job) event.getEntity(), oldStatus, oldDate);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Job) {
+            statistics.deleted(List.of((Job) event.getEntity()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * Misspelled predecessor of requiresPostCommitHandling, which Hibernate 5.4 still declares abstract.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // nothing was stored, so there is nothing to count
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // nothing was stored, so there is nothing to count
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // nothing was stored, so there is nothing to count
+    }
+}
@@ -0,0 +1,247 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Job;
+import commons.Status;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps running totals of the Jobs, so dashboards do not have to scan the job table.
+ * It counts the Jobs of every user per status and sums the demand of every faculty per preferred date,
+ * over the Jobs that still need resources (PENDING, ACCEPTED and RUNNING).
+ * Archived Jobs keep counting towards the statuses of their users.
+ * The totals are built with two aggregate queries at startup and updated after every committed change.
+ * Updates share a lock with the rebuild, so none of them is lost in between. The demand of days before today
+ * is dropped every night.
+ */
+@Service
+public class JobStatisticsService {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final EnumSet<Status> DEMANDING = EnumSet.of(Status.PENDING, Status.ACCEPTED, Status.RUNNING);
+    private static final int JOBS = 0;
+    private static final int CPU = 1;
+    private static final int GPU = 2;
+    private static final int MEMORY = 3;
+    private static final int PENDING_JOBS = 4;
+
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient ConcurrentMap<String, AtomicLongArray> statusCounts = new ConcurrentHashMap<>();
+    private final transient ConcurrentMap<String, ConcurrentMap<LocalDate, AtomicLongArray>> demand =
+            new ConcurrentHashMap<>();
+    // updates only change atomic counters, so they share the read lock and exclude the rebuild and the pruning
+    private final transient ReadWriteLock lock = new ReentrantReadWriteLock();
+    private transient volatile LocalDate demandFrom = LocalDate.MIN;
+
+    public JobStatisticsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuilds the totals from the job and archive tables.
+     */
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load(LocalDate.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the demand of the days before today, every night.
+     */
+    @Scheduled(cron = "${jobs.statistics.prune-cron:0 5 0 * * ?}")
+    public void pruneDemand() {
+        pruneDemand(LocalDate.now());
+    }
+
+    /**
+     * Drops the demand of the days before a day; changes to Jobs on those days no longer count towards it.
+     *
+     * @param today the first day whose demand is kept
+     */
+    public void pruneDemand(LocalDate today) {
+        lock.writeLock().lock();
+        try {
+            demandFrom = today;
+            demand.values().forEach(days -> days.keySet().removeIf(date -> date.isBefore(today)));
+            demand.values().removeIf(Map::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load(LocalDate today) {
+        statusCounts.clear();
+        demand.clear();
+        demandFrom = today;
+        jdbcTemplate.query("SELECT net_id, status, COUNT(*) FROM (SELECT net_id, status FROM jobs "
+                + "UNION ALL SELECT net_id, status FROM jobs_archive) GROUP BY net_id, status",
+            rs -> {
+                counts(rs.getString(1)).addAndGet(rs.getInt(2), rs.getLong(3));
+            });
+        String demanding = DEMANDING.stream().map(s -> String.valueOf(s.ordinal())).collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT faculty, preferred_date, COUNT(*), SUM(cpu_usage), SUM(gpu_usage), "
+                + "SUM(memory_usage), SUM(CASE WHEN status = " + Status.PENDING.ordinal() + " THEN 1 ELSE 0 END) "
+                + "FROM jobs WHERE status IN (" + demanding + ") AND preferred_date >= ? "
+                + "GROUP BY faculty, preferred_date",
+            rs -> {
+                AtomicLongArray d = demand(rs.getString(1), rs.getDate(2).toLocalDate());
+                for (int i = JOBS; i <= PENDING_JOBS; i++) {
+                    d.addAndGet(i, rs.getLong(i + 3));
+                }
+            }, Date.valueOf(today));
+    }
+
+    /**
+     * Returns the number of Jobs of a user per status.
+     *
+     * @param netId the netId of the user
+     * @return the number of Jobs for every status, 0 for statuses without Jobs
+     */
+    public Map<Status, Long> getStatusCounts(String netId) {
+        Map<Status, Long> result = new EnumMap<>(Status.class);
+        AtomicLongArray counts = statusCounts.get(netId);
+        for (Status status : STATUSES) {
+            result.put(status, counts == null ? 0 : counts.get(status.ordinal()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of Jobs and the resources they request, for a faculty on one day.
+     * Days before today have no demand.
+     *
+     * @param faculty the name of the faculty
+     * @param date the preferred date of the Jobs
+     * @return the number of Jobs, the summed cpu, gpu and memory usage, and how many of the Jobs are PENDING
+     */
+    public Demand getDemand(String faculty, LocalDate date) {
+        Map<LocalDate, AtomicLongArray> days = demand.get(faculty);
+        AtomicLongArray d = days == null ? null : days.get(date);
+        if (d == null) {
+            return new Demand(0, 0, 0, 0, 0);
+        }
+        return new Demand(d.get(JOBS), d.get(CPU), d.get(GPU), d.get(MEMORY), d.get(PENDING_JOBS));
+    }
+
+    /**
+     * Returns the faculties that have Jobs requesting resources on some day.
+     *
+     * @return the names of the faculties, sorted
+     */
+    public SortedSet<String> getDemandFaculties() {
+        SortedSet<String> faculties = new TreeSet<>();
+        demand.forEach((faculty, days) -> {
+            if (days.values().stream().anyMatch(d -> d.get(JOBS) > 0)) {
+                faculties.add(faculty);
+            }
+        });
+        return faculties;
+    }
+
+    /**
+     * Counts new Jobs.
+     *
+     * @param jobs Jobs that were stored
+     */
+    public void inserted(Collection<Job> jobs) {
+        for (Job job : jobs) {
+            apply(job, job.getStatus(), job.getPreferredDate(), 1);
+        }
+    }
+
+    /**
+     * Removes deleted Jobs from the totals.
+     *
+     * @param jobs Jobs that were deleted, with the values they had in the database
+     */
+    public void deleted(Collection<Job> jobs) {
+        for (Job job : jobs) {
+            apply(job, job.getStatus(), job.getPreferredDate(), -1);
+        }
+    }
+
+    /**
+     * Moves a Job whose status or preferred date changed.
+     * Owner, faculty and resources of a Job never change after it is created.
+     *
+     * @param job the Job with its new values
+     * @param oldStatus the status the Job had before
+     * @param oldDate the preferred date the Job had before
+     */
+    public void updated(Job job, Status oldStatus, LocalDate oldDate) {
+        if (oldStatus == job.getStatus() && oldDate.equals(job.getPreferredDate())) {
+            return;
+        }
+        apply(job, oldStatus, oldDate, -1);
+        apply(job, job.getStatus(), job.getPreferredDate(), 1);
+    }
+
+    /**
+     * Runs an update of the totals once the current transaction commits, or right away without a transaction.
+     *
+     * @param update the update of the totals
+     */
+    public void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void apply(Job job, Status status, LocalDate date, int sign) {
+        lock.readLock().lock();
+        try {
+            counts(job.getNetId().toString()).addAndGet(status.ordinal(), sign);
+            if (DEMANDING.contains(status) && !date.isBefore(demandFrom)) {
+                AtomicLongArray d = demand(job.getFaculty().toString(), date);
+                d.addAndGet(JOBS, sign);
+                d.addAndGet(CPU, (long) sign * job.getCpuUsage());
+                d.addAndGet(GPU, (long) sign * job.getGpuUsage());
+                d.addAndGet(MEMORY, (long) sign * job.getMemoryUsage());
+                if (status == Status.PENDING) {
+                    d.addAndGet(PENDING_JOBS, sign);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private AtomicLongArray counts(String netId) {
+        return statusCounts.computeIfAbsent(netId, n -> new AtomicLongArray(STATUSES.length));
+    }
+
+    private AtomicLongArray demand(String faculty, LocalDate date) {
+        return demand.computeIfAbsent(faculty, f -> new ConcurrentHashMap<>())
+                .computeIfAbsent(date, d -> new AtomicLongArray(PENDING_JOBS + 1));
+    }
+}
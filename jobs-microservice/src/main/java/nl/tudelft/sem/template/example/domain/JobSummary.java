@@ -0,0 +1,16 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.NetId;
+import commons.Status;
+
+/**
+ * Projection of a Job on the fields the overview endpoints return.
+ */
+public interface JobSummary {
+
+    long getJobId();
+
+    NetId getNetId();
+
+    Status getStatus();
+}
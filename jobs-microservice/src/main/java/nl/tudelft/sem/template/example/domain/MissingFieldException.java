@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.example.domain;
+
+/**
+ * Exception to indicate that a field the Job cannot be stored without was not provided.
+ */
+public class MissingFieldException extends Exception {
+
+    static final long serialVersionUID = -3387516993124229948L;
+
+    /**
+     * Constructor for MissingFieldException.
+     *
+     * @param field name of the missing field
+     */
+    public MissingFieldException(String field) {
+        super(field);
+    }
+}
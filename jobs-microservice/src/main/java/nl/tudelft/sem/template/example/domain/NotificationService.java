@@ -0,0 +1,181 @@
+package nl.tudelft.sem.template.example.domain;
+
+import commons.Job;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import nl.tudelft.sem.template.example.models.NotificationResponseModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Keeps the notification log of the users and pushes new entries to the open Server-Sent Events streams.
+ * Entries are only handed out once every entry with a lower id has committed or rolled back,
+ * so a client that moves its cursor past an entry never misses one that commits later.
+ * This service is the only writer of the log, so it tracks the open transactions in memory.
+ */
+@Service
+public class NotificationService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final transient JobNotificationRepository notificationRepository;
+    private final transient Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final transient long timeoutMillis;
+
+    // guards the ids of the entries whose transaction is still open and the committed entries behind them
+    private final transient Object lock = new Object();
+    private final transient NavigableSet<Long> inFlight = new TreeSet<>();
+    private final transient NavigableMap<Long, JobNotification> committed = new TreeMap<>();
+    private transient long lastAllocated;
+
+    // held while pushing and while replaying to a new stream, so every stream gets each entry once and in order
+    private final transient Object delivery = new Object();
+    private transient volatile long visibleBelow;
+
+    /**
+     * Constructor for the NotificationService.
+     *
+     * @param notificationRepository repository of the notification log
+     * @param timeoutMillis milliseconds after which a stream is closed and the client has to reconnect
+     */
+    public NotificationService(JobNotificationRepository notificationRepository,
+                               @Value("${jobs.notifications.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.notificationRepository = notificationRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.lastAllocated = notificationRepository.findMaxId();
+        this.visibleBelow = lastAllocated + 1;
+    }
+
+    /**
+     * Appends the current status of the Jobs to the logs of their owners.
+     * The entries are pushed to the streams once the current transaction commits, or right away without one.
+     *
+     * @param jobs the Jobs whose status changed
+     */
+    public void record(List<Job> jobs) {
+        List<JobNotification> saved;
+        synchronized (lock) {
+            // the ids are taken under the lock, so an id is in flight before any higher one is
+            saved = notificationRepository.saveAll(jobs.stream()
+                    .map(JobNotification::new).collect(Collectors.toList()));
+            for (JobNotification n : saved) {
+                inFlight.add(n.getId());
+                lastAllocated = Math.max(lastAllocated, n.getId());
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(saved, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(saved, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Returns the notifications of a user that are newer than the cursor.
+     *
+     * @param netId netId of the user
+     * @param since cursor of the last notification the user has seen, 0 for all
+     * @param limit the maximum number of notifications
+     * @return the notifications, oldest first
+     */
+    public List<NotificationResponseModel> since(String netId, long since, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return notificationRepository.findByNetIdAndIdGreaterThanAndIdLessThanOrderById(netId, since, visibleBelow,
+                PageRequest.of(0, size)).stream().map(NotificationResponseModel::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Opens a stream for a user. The notifications newer than the cursor are sent right away,
+     * the later ones as soon as they are committed.
+     *
+     * @param netId netId of the user
+     * @param since cursor of the last notification the user has seen
+     * @return the stream
+     */
+    public SseEmitter subscribe(String netId, long since) {
+        return subscribe(netId, since, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String netId, long since, SseEmitter emitter) {
+        emitter.onCompletion(() -> unsubscribe(netId, emitter));
+        emitter.onTimeout(emitter::complete);
+        synchronized (delivery) {
+            // nothing is pushed meanwhile, so the stream is registered exactly where the replay ends
+            long cursor = since;
+            List<JobNotification> page;
+            do {
+                page = notificationRepository.findByNetIdAndIdGreaterThanAndIdLessThanOrderById(netId, cursor,
+                        visibleBelow, PageRequest.of(0, MAX_PAGE_SIZE));
+                for (JobNotification n : page) {
+                    if (!send(netId, emitter, new NotificationResponseModel(n))) {
+                        return emitter;
+                    }
+                    cursor = n.getId();
+                }
+            } while (page.size() == MAX_PAGE_SIZE);
+            emitters.computeIfAbsent(netId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        }
+        return emitter;
+    }
+
+    private void complete(List<JobNotification> notifications, boolean commit) {
+        synchronized (delivery) {
+            List<JobNotification> ready;
+            synchronized (lock) {
+                for (JobNotification n : notifications) {
+                    inFlight.remove(n.getId());
+                    if (commit) {
+                        committed.put(n.getId(), n);
+                    }
+                }
+                long below = inFlight.isEmpty() ? lastAllocated + 1 : inFlight.first();
+                Map<Long, JobNotification> head = committed.headMap(below);
+                ready = new ArrayList<>(head.values());
+                head.clear();
+                visibleBelow = below;
+            }
+            for (JobNotification n : ready) {
+                List<SseEmitter> subscribers = emitters.get(n.getNetId());
+                if (subscribers != null) {
+                    subscribers.forEach(e -> send(n.getNetId(), e, new NotificationResponseModel(n)));
+                }
+            }
+        }
+    }
+
+    private boolean send(String netId, SseEmitter emitter, NotificationResponseModel notification) {
+        try {
+            emitter.send(SseEmitter.event().id(Long.toString(notification.getCursor()))
+                    .name("job").data(notification));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(netId, emitter);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String netId, SseEmitter emitter) {
+        emitters.computeIfPresent(netId, (k, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
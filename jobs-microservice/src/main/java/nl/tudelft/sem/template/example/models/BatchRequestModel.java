@@ -0,0 +1,12 @@
+package nl.tudelft.sem.template.example.models;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Request model for the ids of several Jobs that are approved or rejected at once.
+ */
+@Data
+public class BatchRequestModel {
+    private List<Long> ids;
+}
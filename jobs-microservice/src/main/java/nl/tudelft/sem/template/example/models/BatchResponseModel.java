@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.example.models;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for a batch of approved or rejected Jobs.
+ * Errors maps the ids of the Jobs that could not be handled to the reason.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponseModel {
+    private List<JobResponseModel> jobs;
+    private Map<Long, String> errors;
+}
@@ -0,0 +1,22 @@
+package nl.tudelft.sem.template.example.models;
+
+import commons.Faculty;
+import commons.FacultyResource;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Remote data prefetched for one run of the chain of responsibility.
+ * Resources contains the free resources of the approver's faculties and of the free pool.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChainContext {
+
+    private List<Faculty> ownerFaculty;
+    private List<FacultyResource> resources;
+
+}
@@ -0,0 +1,21 @@
+package nl.tudelft.sem.template.example.models;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for the resources requested by the open Jobs of a faculty on one day.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DemandResponseModel {
+    private String faculty;
+    private LocalDate date;
+    private long jobs;
+    private long cpu;
+    private long gpu;
+    private long memory;
+}
@@ -0,0 +1,29 @@
+package nl.tudelft.sem.template.example.models;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for the projected demand of a faculty on one day, next to the resources the faculty has.
+ * The over fields hold how much more is requested than is available, zero if it fits.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ForecastResponseModel {
+    private String faculty;
+    private LocalDate date;
+    private long jobs;
+    private long pendingJobs;
+    private long cpu;
+    private long gpu;
+    private long memory;
+    private long cpuCapacity;
+    private long gpuCapacity;
+    private long memoryCapacity;
+    private long cpuOver;
+    private long gpuOver;
+    private long memoryOver;
+}
@@ -16,5 +16,6 @@ public class JobChainModel {
     private RoleValue authRole;
     private List<Faculty> authFaculty;
     private DirectiveJob directiveJob;
+    private ChainContext context;
 
 }
@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.example.models;
+
+import commons.Status;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response model for the number of Jobs a user has per status.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobCountsResponseModel {
+    private String netId;
+    private Map<Status, Long> counts;
+}
@@ -0,0 +1,24 @@
+package nl.tudelft.sem.template.example.models;
+
+import commons.Status;
+import java.time.LocalDate;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters for filtering and paging the Job overviews.
+ * Filters that are null are not applied. After is the id of the last Job of the previous page.
+ * Archived Jobs are only included when archived is true.
+ */
+@Data
+public class JobFilterModel {
+    private Status status;
+    private String faculty;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    private long after;
+    private int limit = 1000;
+    private boolean archived;
+}
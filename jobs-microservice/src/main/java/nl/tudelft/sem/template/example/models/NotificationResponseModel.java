@@ -0,0 +1,35 @@
+package nl.tudelft.sem.template.example.models;
+
+import commons.Status;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.example.domain.JobNotification;
+
+/**
+ * Response model for one entry of the notification feed.
+ * The cursor can be passed as since to only get the newer entries.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationResponseModel {
+
+    private long cursor;
+    private long jobId;
+    private Status status;
+    private LocalDate scheduleDate;
+    private String message;
+
+    /**
+     * Creates the response model of a notification.
+     *
+     * @param notification the notification from the log
+     */
+    public NotificationResponseModel(JobNotification notification) {
+        this(notification.getId(), notification.getJobId(), notification.getStatus(), notification.getScheduleDate(),
+                new JobNotificationResponseModel(notification.getJobId(), notification.getStatus(),
+                        notification.getScheduleDate()).toString());
+    }
+}
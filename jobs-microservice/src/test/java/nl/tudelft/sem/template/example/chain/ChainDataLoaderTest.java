@@ -0,0 +1,51 @@
+package nl.tudelft.sem.template.example.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import commons.FacultyResponseModel;
+import commons.NetId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+class ChainDataLoaderTest {
+
+    @Test
+    void fullQueueFailsRightAway() throws Exception {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        CountDownLatch release = new CountDownLatch(1);
+        FacultyResponseModel body = new FacultyResponseModel();
+        body.setFaculty(List.of("EEMCS"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FacultyResponseModel.class))).thenAnswer(i -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(body);
+                });
+        // one thread and one queued call, without caching
+        ChainDataLoader loader = new ChainDataLoader(restTemplate, 1, 1, 0, 0);
+
+        CompletableFuture<?> running = loader.getFaculty(new NetId("a"));
+        CompletableFuture<?> queued = loader.getFaculty(new NetId("b"));
+        CompletableFuture<?> rejected = loader.getFaculty(new NetId("c"));
+
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(rejected::get)
+                .withCauseInstanceOf(JobRejectedException.class).withMessageContaining("CHAIN_BUSY");
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+        loader.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package nl.tudelft.sem.template.example.chain;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import commons.FacultiesResourceModel;
+import commons.Faculty;
+import commons.FacultyResource;
+import commons.FacultyResponseModel;
+import commons.Job;
+import commons.NetId;
+import commons.RoleValue;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import nl.tudelft.sem.template.example.domain.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Measures the latency of an approval when every call to another microservice takes 100ms.
+ * Run with -Dbenchmark=true.
+ */
+@SpringBootTest(properties = "jobs.chain.resource-cache-ttl-ms=0")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ChainLatencyBenchmark {
+
+    private static final long DELAY_MILLIS = 100;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient ChainService chainService;
+
+    @Autowired
+    private transient ChainDataLoader chainDataLoader;
+
+    @Test
+    void approveLatency() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        FacultyResponseModel faculty = new FacultyResponseModel();
+        faculty.setFaculty(List.of("EEMCS"));
+        when(restTemplate.exchange(eq("http://localhost:8081/faculty"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FacultyResponseModel.class))).thenAnswer(i -> {
+                    Thread.sleep(DELAY_MILLIS);
+                    return ResponseEntity.ok(faculty);
+                });
+        when(restTemplate.postForEntity(eq("http://localhost:8085/cluster/facultiesResources"),
+                any(FacultiesResourceModel.class), eq(FacultyResource[].class))).thenAnswer(i -> {
+                    Thread.sleep(DELAY_MILLIS);
+                    return ResponseEntity.ok(new FacultyResource[] {new FacultyResource("EEMCS", date, 10, 10, 10)});
+                });
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 1, 1, 1, date));
+
+        List<Long> cold = new ArrayList<>();
+        List<Long> warm = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            chainDataLoader.invalidateCaches();
+            cold.add(time(job));
+            warm.add(time(job));
+        }
+        Collections.sort(cold);
+        Collections.sort(warm);
+        System.out.printf("approve with %d ms downstreams: cold median %d ms, warm median %d ms "
+                        + "(sequential calls would take %d ms)%n",
+                DELAY_MILLIS, cold.get(cold.size() / 2), warm.get(warm.size() / 2), 4 * DELAY_MILLIS);
+    }
+
+    private long time(Job job) throws Exception {
+        long start = System.nanoTime();
+        chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,177 @@
+package nl.tudelft.sem.template.example.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import commons.FacultiesResourceModel;
+import commons.Faculty;
+import commons.FacultyResource;
+import commons.FacultyResponseModel;
+import commons.Job;
+import commons.NetId;
+import commons.RoleValue;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.List;
+import nl.tudelft.sem.template.example.domain.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ChainServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient ChainService chainService;
+
+    private transient LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(1);
+        mockFaculty("admin", "EEMCS");
+        mockFaculty("mlica", "EEMCS");
+        mockFaculty("ppolitowicz", "EEMCS");
+        mockFaculty("jdoe", "3ME");
+    }
+
+    @Test
+    void approveWithFacultyResources() throws Exception {
+        mockResources(new FacultyResource("EEMCS", date, 10, 10, 10), new FacultyResource("Pool", date, 0, 0, 0));
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        Job approved = chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+
+        assertThat(approved.getStatus()).isEqualTo(Status.ACCEPTED);
+    }
+
+    @Test
+    void approveWithPoolResources() throws Exception {
+        mockResources(new FacultyResource("EEMCS", date, 5, 5, 5), new FacultyResource("Pool", date, 10, 5, 5));
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        Job approved = chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+
+        assertThat(approved.getStatus()).isEqualTo(Status.ACCEPTED);
+    }
+
+    @Test
+    void approveWithoutResources() throws Exception {
+        mockResources(new FacultyResource("EEMCS", date, 5, 5, 5), new FacultyResource("Pool", date, 1, 1, 1));
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        Job approved = chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+
+        assertThat(approved.getStatus()).isEqualTo(Status.REJECTED);
+    }
+
+    @Test
+    void reject() throws Exception {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        Job rejected = chainService.rejectJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+
+        assertThat(rejected.getStatus()).isEqualTo(Status.REJECTED);
+        verify(restTemplate, times(0)).postForEntity(anyString(), any(), eq(FacultyResource[].class));
+    }
+
+    @Test
+    void notFacultyAccount() {
+        mockResources(new FacultyResource("EEMCS", date, 10, 10, 10), new FacultyResource("Pool", date, 0, 0, 0));
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        assertThatThrownBy(() -> chainService.approveJob(new NetId("admin"), RoleValue.EMPLOYEE, job.getJobId()))
+                .hasRootCauseInstanceOf(JobRejectedException.class);
+    }
+
+    @Test
+    void ownerOfOtherFaculty() {
+        mockResources(new FacultyResource("EEMCS", date, 10, 10, 10), new FacultyResource("Pool", date, 0, 0, 0));
+        Job job = jobRepository.save(new Job(new NetId("jdoe"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+
+        assertThatThrownBy(() -> chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId()))
+                .hasRootCauseInstanceOf(JobRejectedException.class);
+    }
+
+    @Test
+    void remoteDataIsCached() throws Exception {
+        mockResources(new FacultyResource("EEMCS", date, 10, 10, 10), new FacultyResource("Pool", date, 0, 0, 0));
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+        Job job2 = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 1, 1, 1, date));
+
+        chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job.getJobId());
+        chainService.approveJob(new NetId("admin"), RoleValue.FAC_ACC, job2.getJobId());
+
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FacultyResponseModel.class));
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(FacultyResource[].class));
+    }
+
+    @Test
+    void approveBatch() throws Exception {
+        mockResources(new FacultyResource("EEMCS", date, 10, 10, 10), new FacultyResource("Pool", date, 0, 0, 0));
+        Job fits = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+        Job tooBig = jobRepository.save(new Job(new NetId("ppolitowicz"), new Faculty("EEMCS"), "d", 20, 5, 5, date));
+
+        BatchResult result = chainService.approveJobs(new NetId("admin"), RoleValue.FAC_ACC,
+                List.of(fits.getJobId(), tooBig.getJobId(), 12345L));
+
+        assertThat(result.getJobs()).extracting(Job::getJobId, Job::getStatus)
+                .containsExactlyInAnyOrder(tuple(fits.getJobId(), Status.ACCEPTED),
+                        tuple(tooBig.getJobId(), Status.REJECTED));
+        assertThat(result.getErrors()).containsOnlyKeys(12345L);
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(FacultyResource[].class));
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FacultyResponseModel.class));
+    }
+
+    @Test
+    void rejectBatch() throws Exception {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5, date));
+        Job job2 = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 1, 1, 1, date));
+
+        BatchResult result = chainService.rejectJobs(new NetId("admin"), RoleValue.EMPLOYEE,
+                List.of(job.getJobId(), job2.getJobId()));
+
+        assertThat(result.getJobs()).isEmpty();
+        assertThat(result.getErrors()).containsOnlyKeys(job.getJobId(), job2.getJobId());
+    }
+
+    private void mockFaculty(String netId, String faculty) {
+        FacultyResponseModel response = new FacultyResponseModel();
+        response.setFaculty(List.of(faculty));
+        when(restTemplate.exchange(eq("http://localhost:8081/faculty"), eq(HttpMethod.POST),
+                argThat((HttpEntity<?> e) -> e != null && e.getBody() != null
+                        && e.getBody().toString().contains(netId)), eq(FacultyResponseModel.class)))
+                .thenReturn(ResponseEntity.ok(response));
+    }
+
+    private void mockResources(FacultyResource... resources) {
+        when(restTemplate.postForEntity(eq("http://localhost:8085/cluster/facultiesResources"),
+                any(FacultiesResourceModel.class), eq(FacultyResource[].class)))
+                .thenReturn(ResponseEntity.ok(resources));
+    }
+}
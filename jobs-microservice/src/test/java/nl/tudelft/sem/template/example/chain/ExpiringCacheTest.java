@@ -0,0 +1,54 @@
+package nl.tudelft.sem.template.example.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    @Test
+    void loadsOnce() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet())).join())
+                .isEqualTo(1);
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet())).join())
+                .isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.invalidateAll();
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet())).join())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void expires() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(1, 10);
+        cache.get("a", k -> CompletableFuture.completedFuture(1));
+        Thread.sleep(5);
+
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(2)).join()).isEqualTo(2);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(60_000, 10);
+        cache.get("a", k -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(2)).join()).isEqualTo(2);
+    }
+
+    @Test
+    void boundedSize() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(60_000, 2);
+        for (int i = 0; i < 5; i++) {
+            cache.get(i, CompletableFuture::completedFuture);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+}
@@ -5,18 +5,23 @@ import static org.assertj.core.api.Assertions.assertThat;
 import commons.Faculty;
 import commons.Job;
 import commons.NetId;
+import commons.ScheduleJob;
 import commons.Status;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.client.RestTemplate;
 
@@ -24,13 +29,29 @@ import org.springframework.web.client.RestTemplate;
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@TestPropertySource(properties = "jobs.auto-approve.chunk-size=2")
 class AutomaticApproveJobComponentTest {
 
     @MockBean
     private RestTemplate restTemplate;
 
-    @MockBean
-    private transient JobRepository mockJobRepository;
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private transient JobNotificationRepository notificationRepository;
+
+    @Autowired
+    private transient ApprovalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    @Autowired
+    private transient JobStatisticsService statistics;
 
     @MockBean
     private transient JobService mockJobService;
@@ -38,7 +59,6 @@ class AutomaticApproveJobComponentTest {
     @Autowired
     private transient AutomaticApproveJobsComponent aajc;
 
-    List<Job> pendingJobs;
     Job job1;
     Job job2;
     Job job3;
@@ -58,41 +78,120 @@ class AutomaticApproveJobComponentTest {
         job5 = new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 20, 10, 1, LocalDate.now().plusDays(1));
         job5.setStatus(Status.PENDING);
 
-        pendingJobs = new ArrayList<>();
-        pendingJobs.add(job5);
-        pendingJobs.add(job2);
-        pendingJobs.add(job1);
-        pendingJobs.add(job3);
-        pendingJobs.add(job4);
-
-        mockJobRepository.save(job5);
-        mockJobRepository.save(job2);
-        mockJobRepository.save(job1);
-        mockJobRepository.save(job3);
-        mockJobRepository.save(job4);
+        jobRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        job5 = jobRepository.save(job5);
+        job2 = jobRepository.save(job2);
+        job1 = jobRepository.save(job1);
+        job3 = jobRepository.save(job3);
+        job4 = jobRepository.save(job4);
     }
 
     @Test
-    void sortPendingJobs() {
-        List<Job> filterSortedPendingJobs = aajc.sortJobsAccordingCreationDate(pendingJobs);
-        assertThat(filterSortedPendingJobs.size()).isEqualTo(5);
-        assertThat(filterSortedPendingJobs.get(0)).isEqualTo(job5);
-        assertThat(filterSortedPendingJobs.get(1)).isEqualTo(job2);
-        assertThat(filterSortedPendingJobs.get(2)).isEqualTo(job1);
+    @SuppressWarnings("unchecked")
+    public void approveJobsAfter6pmTest() throws InvalidScheduleJobException, ResponseEntityException {
+        aajc.approveJobsAfter6pm();
+
+        // five jobs in chunks of two are sent in three requests, oldest first
+        ArgumentCaptor<List<ScheduleJob>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(mockJobService, Mockito.times(3)).scheduleJobs(captor.capture());
+        Mockito.verify(mockJobService, Mockito.never()).scheduleJob(Mockito.any());
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(captor.getAllValues().get(0).get(0).getJobId()).isEqualTo(job5.getJobId());
+
+        assertThat(jobRepository.findAll()).allMatch(j -> j.getStatus() == Status.ACCEPTED);
+        ApprovalCheckpoint checkpoint = checkpointRepository.findById(LocalDate.now().plusDays(1)).orElseThrow();
+        assertThat(checkpoint.isFinished()).isTrue();
+        assertThat(checkpoint.getApproved()).isEqualTo(5);
+        assertThat(meterRegistry.counter("jobs.auto-approve.jobs").count()).isEqualTo(5.0);
+        assertThat(meterRegistry.timer("jobs.auto-approve.time").count()).isEqualTo(1);
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 0L)
+                .containsEntry(Status.ACCEPTED, 4L);
     }
 
     @Test
-    public void approveJobsAfter6pmTest() throws InvalidScheduleJobException, ResponseEntityException {
-        Mockito.when(mockJobRepository.findByStatusAndPreferredDate(
-                Status.PENDING, LocalDate.now().plusDays(1))).thenReturn(pendingJobs);
-
-        // Inject the mock jobService into the approveJobsAfter6pm method
-        aajc.setJobService(mockJobService);
+    public void finishedRunIsNotRepeated() throws ResponseEntityException {
+        aajc.approveJobsAfter6pm();
+        Job late = new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 1, 1, 1, LocalDate.now().plusDays(1));
+        late.setStatus(Status.PENDING);
+        jobRepository.save(late);
 
-        // Invoke the approveJobsAfter6pm method
         aajc.approveJobsAfter6pm();
 
-        // Verify that the mock jobService's scheduleJob method was called three times
-        Mockito.verify(mockJobService, Mockito.times(5)).scheduleJob(Mockito.any());
+        Mockito.verify(mockJobService, Mockito.times(3)).scheduleJobs(Mockito.any());
+    }
+
+    @Test
+    public void resumeFromCheckpoint() throws ResponseEntityException {
+        ApprovalCheckpoint checkpoint = new ApprovalCheckpoint(LocalDate.now().plusDays(1));
+        checkpoint.setLastDateCreated(job2.getDateCreated());
+        checkpoint.setLastJobId(job2.getJobId());
+        checkpoint.setApproved(2);
+        checkpointRepository.save(checkpoint);
+
+        assertThat(aajc.approveJobs(LocalDate.now().plusDays(1))).isEqualTo(3);
+
+        Mockito.verify(mockJobService, Mockito.times(2)).scheduleJobs(Mockito.any());
+        assertThat(jobRepository.findById(job5.getJobId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        assertThat(checkpointRepository.findById(LocalDate.now().plusDays(1)).orElseThrow().getApproved())
+                .isEqualTo(5);
+    }
+
+    @Test
+    public void failedChunkStaysPending() throws ResponseEntityException {
+        Mockito.when(mockJobService.scheduleJobs(Mockito.any()))
+                .thenThrow(new ResponseEntityException())
+                .thenReturn("ok");
+
+        assertThat(aajc.approveJobs(LocalDate.now().plusDays(1))).isEqualTo(3);
+
+        assertThat(jobRepository.findById(job5.getJobId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        assertThat(jobRepository.findById(job2.getJobId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        assertThat(jobRepository.findById(job1.getJobId()).orElseThrow().getStatus()).isEqualTo(Status.ACCEPTED);
+        ApprovalCheckpoint checkpoint = checkpointRepository.findById(LocalDate.now().plusDays(1)).orElseThrow();
+        assertThat(checkpoint.getFailedChunks()).isEqualTo(1);
+        assertThat(checkpoint.getApproved()).isEqualTo(3);
+        assertThat(meterRegistry.counter("jobs.auto-approve.chunk.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void jobChangedAfterReadIsNotApproved() throws ResponseEntityException {
+        // job2 is rejected after the first chunk was read, before it is approved
+        JobRepository repository = Mockito.mock(JobRepository.class, AdditionalAnswers.delegatesTo(jobRepository));
+        Mockito.doAnswer(invocation -> {
+            List<Job> chunk = jobRepository.findChunk(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4));
+            jdbcTemplate.update("UPDATE jobs SET status = ? WHERE job_id = ?",
+                    Status.REJECTED.ordinal(), job2.getJobId());
+            return chunk;
+        }).doAnswer(AdditionalAnswers.delegatesTo(jobRepository)).when(repository).findChunk(Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.any());
+        aajc.jobRepository = repository;
+
+        assertThat(aajc.approveJobs(LocalDate.now().plusDays(1))).isEqualTo(4);
+
+        ArgumentCaptor<List<ScheduleJob>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(mockJobService, Mockito.times(3)).scheduleJobs(captor.capture());
+        assertThat(captor.getAllValues().get(0)).extracting(ScheduleJob::getJobId).containsExactly(job5.getJobId());
+        assertThat(jobRepository.findById(job2.getJobId()).orElseThrow().getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(notificationRepository.findAll()).noneMatch(n -> n.getJobId() == job2.getJobId());
+        assertThat(checkpointRepository.findById(LocalDate.now().plusDays(1)).orElseThrow().getApproved())
+                .isEqualTo(4);
+        assertThat(meterRegistry.counter("jobs.auto-approve.jobs").count()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void failedChunkKeepsApprovedCount() throws ResponseEntityException {
+        Mockito.when(mockJobService.scheduleJobs(Mockito.any())).thenThrow(new ResponseEntityException());
+
+        assertThat(aajc.approveJobs(LocalDate.now().plusDays(1))).isZero();
+
+        assertThat(jobRepository.findAll()).allMatch(j -> j.getStatus() == Status.PENDING);
+        ApprovalCheckpoint checkpoint = checkpointRepository.findById(LocalDate.now().plusDays(1)).orElseThrow();
+        assertThat(checkpoint.getApproved()).isZero();
+        assertThat(checkpoint.getFailedChunks()).isEqualTo(3);
+        assertThat(notificationRepository.findAll()).isEmpty();
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 4L);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import commons.FacultiesResourceModel;
+import commons.Faculty;
+import commons.FacultyResource;
+import commons.Job;
+import commons.NetId;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.List;
+import nl.tudelft.sem.template.example.models.ForecastResponseModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class DemandForecastServiceTest {
+
+    private static final String URL = "http://localhost:8085/cluster/facultiesResources";
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient DemandForecastService forecastService;
+
+    private final NetId user = new NetId("mlica");
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void forecastReportsOversubscription() throws Exception {
+        jobRepository.save(new Job(user, new Faculty("EEMCS"), "d", 10, 5, 5, day));
+        Job accepted = new Job(user, new Faculty("EEMCS"), "d", 4, 2, 1, day);
+        accepted.setStatus(Status.ACCEPTED);
+        jobRepository.save(accepted);
+        jobRepository.save(new Job(user, new Faculty("TPM"), "d", 3, 3, 3, day.plusDays(1)));
+        Job finished = new Job(user, new Faculty("TPM"), "d", 100, 100, 100, day);
+        finished.setStatus(Status.REJECTED);
+        jobRepository.save(finished);
+
+        when(restTemplate.postForEntity(eq(URL), argThat((FacultiesResourceModel m) -> day.equals(m.getDate())
+                && day.plusDays(1).equals(m.getEndDate())), eq(FacultyResource[].class)))
+            .thenReturn(new ResponseEntity<>(new FacultyResource[] {
+                new FacultyResource("EEMCS", day, 12, 10, 3),
+                new FacultyResource("TPM", day, 5, 5, 5),
+                new FacultyResource("TPM", day.plusDays(1), 2, 8, 3)}, HttpStatus.OK));
+
+        assertThat(forecastService.getFaculties()).containsExactly("EEMCS", "TPM");
+        List<ForecastResponseModel> forecast = forecastService.forecast(List.of("TPM", "EEMCS"), day, day.plusDays(1));
+
+        assertThat(forecast).extracting(ForecastResponseModel::getFaculty, ForecastResponseModel::getDate,
+                ForecastResponseModel::getJobs, ForecastResponseModel::getPendingJobs)
+            .containsExactly(tuple("EEMCS", day, 2L, 1L), tuple("TPM", day, 0L, 0L),
+                tuple("EEMCS", day.plusDays(1), 0L, 0L), tuple("TPM", day.plusDays(1), 1L, 1L));
+        assertThat(forecast.get(0)).extracting(ForecastResponseModel::getCpu, ForecastResponseModel::getCpuCapacity,
+                ForecastResponseModel::getCpuOver, ForecastResponseModel::getGpuOver, ForecastResponseModel::getMemoryOver)
+            .containsExactly(14L, 12L, 2L, 0L, 3L);
+        assertThat(forecast.get(3)).extracting(ForecastResponseModel::getCpuOver, ForecastResponseModel::getGpuOver,
+                ForecastResponseModel::getMemoryOver)
+            .containsExactly(1L, 0L, 0L);
+        // no resources reported for EEMCS on the second day, so there is no capacity
+        assertThat(forecast.get(2).getCpuCapacity()).isZero();
+    }
+
+    @Test
+    void forecastWithoutFacultiesDoesNotCallClusters() throws Exception {
+        assertThat(forecastService.getFaculties()).isEmpty();
+        assertThat(forecastService.forecast(List.of(), day, day)).isEmpty();
+    }
+
+    @Test
+    void forecastFailsWhenClustersIsDown() {
+        when(restTemplate.postForEntity(eq(URL), any(FacultiesResourceModel.class), eq(FacultyResource[].class)))
+            .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThatThrownBy(() -> forecastService.forecast(List.of("EEMCS"), day, day))
+            .isInstanceOf(ResponseEntityException.class);
+    }
+}
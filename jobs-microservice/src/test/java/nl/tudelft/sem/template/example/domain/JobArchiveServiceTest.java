@@ -0,0 +1,124 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import commons.Faculty;
+import commons.Job;
+import commons.NetId;
+import commons.RoleValue;
+import commons.Status;
+import exceptions.InvalidIdException;
+import java.time.LocalDate;
+import java.util.List;
+import nl.tudelft.sem.template.example.models.JobFilterModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@TestPropertySource(properties = {"jobs.archive.retention-days=10", "jobs.archive.batch-size=2"})
+class JobArchiveServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient ArchivedJobRepository archivedJobRepository;
+
+    @Autowired
+    private transient JobArchiveService archiveService;
+
+    @Autowired
+    private transient JobService jobService;
+
+    @Autowired
+    private transient JobStatisticsService statistics;
+
+    private final NetId user = new NetId("mlica");
+    private final LocalDate today = LocalDate.of(2023, 1, 31);
+    private Job pending;
+    private Job finished;
+    private Job rejected;
+    private Job recent;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        archivedJobRepository.deleteAll();
+        pending = save(Status.PENDING, today.minusDays(20));
+        finished = save(Status.FINISHED, today.minusDays(20));
+        rejected = save(Status.REJECTED, today.minusDays(11));
+        recent = save(Status.FINISHED, today.minusDays(10));
+        save(Status.REJECTED, today.minusDays(15));
+    }
+
+    private Job save(Status status, LocalDate preferredDate) {
+        Job job = new Job(user, new Faculty("EEMCS"), "d", 1, 1, 1, preferredDate);
+        job.setStatus(status);
+        return jobRepository.save(job);
+    }
+
+    @Test
+    void archivesOldTerminalJobsInBatches() {
+        assertThat(archiveService.archive(today)).isEqualTo(3);
+
+        assertThat(jobRepository.findAll()).extracting(Job::getJobId)
+            .containsExactlyInAnyOrder(pending.getJobId(), recent.getJobId());
+        List<ArchivedJob> archived = archivedJobRepository.findAll();
+        assertThat(archived).hasSize(3).allMatch(j -> j.getArchivedDate().equals(today));
+        ArchivedJob copy = archivedJobRepository.findById(finished.getJobId()).orElseThrow();
+        assertThat(copy.getNetId()).isEqualTo(user);
+        assertThat(copy.getFaculty()).isEqualTo(new Faculty("EEMCS"));
+        assertThat(copy.getStatus()).isEqualTo(Status.FINISHED);
+        assertThat(copy.getPreferredDate()).isEqualTo(today.minusDays(20));
+        assertThat(copy.getDateCreated()).isEqualTo(finished.getDateCreated());
+
+        // nothing is left to archive
+        assertThat(archiveService.archive(today)).isZero();
+    }
+
+    @Test
+    void archivedJobsAreOnlyReadWhenAsked() throws Exception {
+        archiveService.archive(today);
+        NetId admin = new NetId("admin");
+        JobFilterModel filter = new JobFilterModel();
+
+        assertThat(jobService.getJobsPage(admin, admin, RoleValue.ADMIN, filter)).hasSize(2);
+        filter.setArchived(true);
+        filter.setLimit(4);
+        List<JobSummary> page = jobService.getJobsPage(admin, admin, RoleValue.ADMIN, filter);
+        assertThat(page).extracting(JobSummary::getJobId).isSorted().hasSize(4)
+            .contains(pending.getJobId(), finished.getJobId(), rejected.getJobId());
+        filter.setAfter(page.get(3).getJobId());
+        assertThat(jobService.getJobsPage(admin, admin, RoleValue.ADMIN, filter)).hasSize(1);
+
+        assertThat(jobService.collectJobsByNetId(user, user)).hasSize(2);
+        assertThat(jobService.collectJobsByNetIdWithArchive(user, user)).extracting(JobSummary::getJobId)
+            .isSorted().hasSize(5);
+
+        assertThatThrownBy(() -> jobService.getJobStatus(user, user, rejected.getJobId()))
+            .isInstanceOf(InvalidIdException.class);
+        assertThat(jobService.getJobStatusWithArchive(user, user, rejected.getJobId())).isEqualTo(Status.REJECTED);
+        assertThat(jobService.getJobStatusWithArchive(user, user, pending.getJobId())).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void archivedJobsKeepCounting() {
+        archiveService.archive(today);
+        statistics.rebuild();
+
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 1L)
+            .containsEntry(Status.FINISHED, 2L).containsEntry(Status.REJECTED, 2L);
+    }
+}
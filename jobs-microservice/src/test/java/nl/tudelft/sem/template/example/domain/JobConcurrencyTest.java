@@ -0,0 +1,144 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.Faculty;
+import commons.Job;
+import commons.NetId;
+import commons.Status;
+import exceptions.InvalidTransitionException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import nl.tudelft.sem.template.example.models.NotificationResponseModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Approvals and Scheduler callbacks hitting the same Job from many threads at once.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class JobConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient JobService jobService;
+
+    @Autowired
+    private transient NotificationService notificationService;
+
+    @Autowired
+    private transient JobStatisticsService statistics;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2 * THREADS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void approvalsAndCallbacksOnSameJob() throws Exception {
+        jobRepository.deleteAll();
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5,
+                LocalDate.now().plusDays(1)));
+        long id = job.getJobId();
+        LocalDate date = job.getPreferredDate();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        List<Callable<Boolean>> approvals = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // approval: decide on the Job as it was read, like the approval chain does
+            approvals.add(() -> {
+                Job read = jobRepository.findById(id).orElseThrow();
+                start.await();
+                if (read.getStatus() != Status.PENDING) {
+                    return false;
+                }
+                read.transitionTo(Status.ACCEPTED);
+                return jobService.saveStatusChanges(List.of(read)).isEmpty();
+            });
+            // Scheduler callback: the Job starts running and finishes, retried until it was accepted
+            tasks.add(() -> {
+                start.await();
+                for (Status next : List.of(Status.RUNNING, Status.FINISHED)) {
+                    while (true) {
+                        try {
+                            jobService.updateJob(id, next, date);
+                            break;
+                        } catch (InvalidTransitionException e) {
+                            if (jobRepository.findById(id).orElseThrow().getStatus() == Status.FINISHED) {
+                                return true;
+                            }
+                            Thread.sleep(1);
+                        }
+                    }
+                }
+                return true;
+            });
+        }
+        List<Future<Boolean>> approved = new ArrayList<>();
+        for (Callable<Boolean> approval : approvals) {
+            approved.add(pool.submit(approval));
+        }
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            results.add(pool.submit(task));
+        }
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        int approvedCount = 0;
+        for (Future<Boolean> result : approved) {
+            approvedCount += result.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+
+        // every transition happened exactly once and in order, none was lost or repeated
+        assertThat(approvedCount).isEqualTo(1);
+        Job stored = jobRepository.findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(Status.FINISHED);
+        assertThat(stored.getVersion()).isEqualTo(3);
+        assertThat(notificationService.since("mlica", 0, 100)).extracting(NotificationResponseModel::getStatus)
+                .containsExactly(Status.ACCEPTED, Status.RUNNING, Status.FINISHED);
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.FINISHED, 1L)
+                .containsEntry(Status.PENDING, 0L).containsEntry(Status.ACCEPTED, 0L)
+                .containsEntry(Status.RUNNING, 0L);
+    }
+
+    @Test
+    void approvalAlreadyMadeBySomeoneElseConflicts() throws Exception {
+        jobRepository.deleteAll();
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 5, 5,
+                LocalDate.now().plusDays(1)));
+        Job first = jobRepository.findById(job.getJobId()).orElseThrow();
+        Job second = jobRepository.findById(job.getJobId()).orElseThrow();
+        first.transitionTo(Status.ACCEPTED);
+        second.transitionTo(Status.ACCEPTED);
+
+        assertThat(jobService.saveStatusChanges(List.of(first))).isEmpty();
+        // the second approver read the Job while it was PENDING, so it must not schedule it again
+        assertThat(jobService.saveStatusChanges(List.of(second))).containsOnlyKeys(job.getJobId());
+        assertThat(jobRepository.findById(job.getJobId()).orElseThrow().getVersion()).isEqualTo(1);
+    }
+}
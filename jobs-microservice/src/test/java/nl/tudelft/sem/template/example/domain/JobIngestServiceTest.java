@@ -0,0 +1,174 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import commons.Faculty;
+import commons.Job;
+import commons.NetId;
+import commons.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class JobIngestServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient JobIngestService jobIngestService;
+
+    @Autowired
+    private transient JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private transient PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private transient JobStatisticsService statistics;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    private List<Job> newJobs(int count) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            jobs.add(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d" + i, 10, 5, 5, LocalDate.now()));
+        }
+        return jobs;
+    }
+
+    @Test
+    void flushAck() throws Exception {
+        assertThat(jobIngestService.getAck()).isEqualTo(JobIngestService.Ack.FLUSH);
+
+        List<Job> stored = jobIngestService.ingest(newJobs(3));
+
+        // acknowledged only after the insert, so the Jobs can be read right away
+        for (Job job : stored) {
+            Job fromDb = jobRepository.findById(job.getJobId()).orElseThrow();
+            assertThat(fromDb.getDescription()).isEqualTo(job.getDescription());
+            assertThat(fromDb.getStatus()).isEqualTo(Status.PENDING);
+            assertThat(fromDb.getFaculty().toString()).isEqualTo("EEMCS");
+        }
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 3L);
+    }
+
+    @Test
+    void idsDoNotCollideWithRepository() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        ids.add(jobRepository.save(newJobs(1).get(0)).getJobId());
+        jobIngestService.ingest(newJobs(60)).forEach(j -> ids.add(j.getJobId()));
+        ids.add(jobRepository.save(newJobs(1).get(0)).getJobId());
+
+        assertThat(new HashSet<>(ids)).hasSize(62);
+        assertThat(jobRepository.count()).isEqualTo(62);
+    }
+
+    @Test
+    void fullQueueRejects() throws Exception {
+        JobIngestService service = new JobIngestService(jdbcTemplate, transactionManager, statistics,
+                new SimpleMeterRegistry(), 4, 500, "flush", 5000);
+        // the writer is not started yet, so nothing leaves the queue
+        CompletableFuture<List<Job>> first = service.submit(newJobs(3));
+        assertThrows(IngestUnavailableException.class, () -> service.submit(newJobs(2)));
+
+        service.start();
+        assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(3);
+        assertThat(service.submit(newJobs(4)).get(5, TimeUnit.SECONDS)).hasSize(4);
+        service.stop();
+        assertThat(jobRepository.count()).isEqualTo(7);
+    }
+
+    @Test
+    void enqueueAck() throws Exception {
+        JobIngestService service = new JobIngestService(jdbcTemplate, transactionManager, statistics,
+                new SimpleMeterRegistry(), 100, 2, "enqueue", 5000);
+        List<Job> queued = service.ingest(newJobs(5));
+        assertThat(queued).allMatch(j -> j.getJobId() > 0);
+
+        // stopping writes what is still queued
+        service.start();
+        service.stop();
+        assertThat(jobRepository.findAllById(queued.stream().map(Job::getJobId).collect(Collectors.toList())))
+                .hasSize(5);
+    }
+
+    @Test
+    void failedBatchOnlyFailsBadSubmission() throws Exception {
+        JobIngestService service = new JobIngestService(jdbcTemplate, transactionManager, statistics,
+                new SimpleMeterRegistry(), 100, 500, "flush", 5000);
+        List<Job> bad = newJobs(1);
+        bad.get(0).setDescription(null);
+        // queued before the writer starts, so all three end up in one batch
+        CompletableFuture<List<Job>> first = service.submit(newJobs(2));
+        CompletableFuture<List<Job>> failing = service.submit(bad);
+        CompletableFuture<List<Job>> last = service.submit(newJobs(3));
+
+        service.start();
+        assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(2);
+        assertThat(last.get(5, TimeUnit.SECONDS)).hasSize(3);
+        assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        service.stop();
+
+        assertThat(jobRepository.count()).isEqualTo(5);
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 5L);
+    }
+
+    @Test
+    void enqueuedJobsAreWrittenAgainAfterAFailedFlush() throws Exception {
+        JdbcTemplate failingOnce = Mockito.spy(jdbcTemplate);
+        Mockito.doThrow(new TransientDataAccessResourceException("connection lost")).doCallRealMethod()
+                .when(failingOnce).batchUpdate(Mockito.anyString(), Mockito.<List<Object[]>>any());
+        JobIngestService service = new JobIngestService(failingOnce, transactionManager, statistics,
+                new SimpleMeterRegistry(), 100, 500, "enqueue", 5000);
+        List<Job> queued = service.ingest(newJobs(2));
+
+        service.start();
+        service.stop();
+
+        assertThat(jobRepository.findAllById(queued.stream().map(Job::getJobId).collect(Collectors.toList())))
+                .hasSize(2);
+    }
+
+    @Test
+    void writerSurvivesFailingStatistics() throws Exception {
+        JobStatisticsService failingStatistics = Mockito.mock(JobStatisticsService.class);
+        Mockito.doThrow(new IllegalStateException("broken")).when(failingStatistics).inserted(Mockito.any());
+        JobIngestService service = new JobIngestService(jdbcTemplate, transactionManager, failingStatistics,
+                new SimpleMeterRegistry(), 100, 500, "flush", 5000);
+        service.start();
+
+        // the Jobs are stored even though the totals could not be updated, and the writer keeps going
+        assertThat(service.submit(newJobs(2)).get(5, TimeUnit.SECONDS)).hasSize(2);
+        assertThat(service.submit(newJobs(3)).get(5, TimeUnit.SECONDS)).hasSize(3);
+        service.stop();
+        assertThat(jobRepository.count()).isEqualTo(5);
+    }
+}
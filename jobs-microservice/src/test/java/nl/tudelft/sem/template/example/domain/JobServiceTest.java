@@ -12,10 +12,12 @@ import commons.NetId;
 import commons.RoleValue;
 import commons.ScheduleJob;
 import commons.Status;
+import exceptions.InvalidTransitionException;
 import exceptions.ResourceBiggerThanCpuException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import nl.tudelft.sem.template.example.models.JobFilterModel;
 import nl.tudelft.sem.template.example.models.JobIdRequestModel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -28,6 +30,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.client.RestTemplate;
@@ -83,6 +86,15 @@ class JobServiceTest {
         });
     }
 
+    @Test
+    void scheduleJobsSuccess() throws ResponseEntityException {
+        List<ScheduleJob> jobs = List.of(new ScheduleJob(1L, new Faculty("EEMCS"), LocalDate.now(), 10, 10, 10),
+                new ScheduleJob(2L, new Faculty("EEMCS"), LocalDate.now(), 1, 1, 1));
+        Mockito.when(restTemplate.postForEntity("http://localhost:8084/schedule/batch", jobs, String.class))
+                .thenReturn(new ResponseEntity<String>("processing", HttpStatus.OK));
+        assertThat(jobService.scheduleJobs(jobs)).isEqualTo("processing");
+    }
+
     @Test
     void scheduleJobException() {
         Assertions.assertThrows(InvalidScheduleJobException.class, () -> {
@@ -123,6 +135,15 @@ class JobServiceTest {
         });
     }
 
+    @Test
+    void createJob_missingFields() {
+        NetId netId = new NetId("test");
+        assertThrows(MissingFieldException.class, () -> jobService.createJob(netId, netId, new Faculty("EEMCS"),
+                null, 3, 2, 3, RoleValue.EMPLOYEE, LocalDate.now()));
+        assertThrows(MissingFieldException.class, () -> jobService.createJob(netId, netId, new Faculty(null),
+                "d", 3, 2, 3, RoleValue.EMPLOYEE, LocalDate.now()));
+    }
+
     @Test
     void deleteJob() {
         NetId netId = new NetId("mlica");
@@ -196,6 +217,48 @@ class JobServiceTest {
 
     }
 
+    @Test
+    void getJobsPageFilters() throws Exception {
+        NetId netId = new NetId("administrator");
+        JobFilterModel filter = new JobFilterModel();
+        filter.setStatus(Status.PENDING);
+        filter.setFaculty("EEMCS");
+        filter.setFrom(LocalDate.now());
+        filter.setTo(LocalDate.now());
+
+        List<JobSummary> jobs = jobService.getJobsPage(netId, netId, RoleValue.ADMIN, filter);
+        assertThat(jobs).extracting(JobSummary::getStatus).containsExactly(Status.PENDING, Status.PENDING);
+        assertThat(jobs).extracting(j -> j.getNetId().toString()).containsExactly("mlica", "ppolitowicz");
+
+        filter.setFaculty("3ME");
+        assertThat(jobService.getJobsPage(netId, netId, RoleValue.ADMIN, filter)).isEmpty();
+        filter.setFaculty(null);
+        filter.setFrom(LocalDate.now().plusDays(1));
+        assertThat(jobService.getJobsPage(netId, netId, RoleValue.ADMIN, filter)).isEmpty();
+    }
+
+    @Test
+    void getJobsPageKeyset() throws Exception {
+        NetId netId = new NetId("administrator");
+        JobFilterModel filter = new JobFilterModel();
+        filter.setLimit(2);
+
+        List<JobSummary> first = jobService.getJobsPage(netId, netId, RoleValue.ADMIN, filter);
+        assertThat(first).hasSize(2);
+        filter.setAfter(first.get(1).getJobId());
+        List<JobSummary> second = jobService.getJobsPage(netId, netId, RoleValue.ADMIN, filter);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getJobId()).isGreaterThan(first.get(1).getJobId());
+        assertThat(second.get(0).getStatus()).isEqualTo(Status.ACCEPTED);
+    }
+
+    @Test
+    void getJobsPageNotAdmin() {
+        NetId netId = new NetId("mlica");
+        assertThrows(BadCredentialsException.class,
+            () -> jobService.getJobsPage(netId, netId, RoleValue.EMPLOYEE, new JobFilterModel()));
+    }
+
     @Test
     void updateJob() {
         NetId netId = new NetId("mlica");
@@ -206,7 +269,7 @@ class JobServiceTest {
         }
         try {
             assert j != null;
-            Status status = Status.FINISHED;
+            Status status = Status.REJECTED;
             jobService.updateJob(j.getJobId(), status, LocalDate.now());
             Optional<Job> updatedJob = jobRepository.findById(j.getJobId());
             assertFalse(updatedJob.isEmpty());
@@ -215,4 +278,41 @@ class JobServiceTest {
             fail();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateJobIllegalTransition() {
+        Job j = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        assertThrows(InvalidTransitionException.class,
+            () -> jobService.updateJob(j.getJobId(), Status.FINISHED, LocalDate.now()));
+        assertEquals(Status.PENDING, jobRepository.findById(j.getJobId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void staleStatusChangeIsReappliedOnLatestVersion() throws Exception {
+        Job j = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        jobService.updateJob(j.getJobId(), Status.ACCEPTED, LocalDate.now().plusDays(1));
+
+        // j still has the version from before the update
+        j.setStatus(Status.REJECTED);
+        assertThat(jobService.saveStatusChanges(List.of(j))).isEmpty();
+        Job stored = jobRepository.findById(j.getJobId()).orElseThrow();
+        assertEquals(Status.REJECTED, stored.getStatus());
+        assertEquals(LocalDate.now().plusDays(1), stored.getPreferredDate());
+
+        assertEquals(stored.getVersion(), j.getVersion());
+    }
+
+    @Test
+    void staleStatusChangeThatIsNoLongerLegal() throws Exception {
+        Job j = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        jobService.updateJob(j.getJobId(), Status.REJECTED, LocalDate.now());
+
+        // approved as PENDING, but it was rejected in the meantime
+        j.transitionTo(Status.ACCEPTED);
+        assertThat(jobService.saveStatusChanges(List.of(j))).containsKey(j.getJobId());
+        assertEquals(Status.REJECTED, jobRepository.findById(j.getJobId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,124 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.Faculty;
+import commons.Job;
+import commons.NetId;
+import commons.RoleValue;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class JobStatisticsServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient JobService jobService;
+
+    @Autowired
+    private transient JobStatisticsService statistics;
+
+    @Autowired
+    private transient PlatformTransactionManager transactionManager;
+
+    private final NetId user = new NetId("mlica");
+    private final Faculty faculty = new Faculty("EEMCS");
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void statusTransitions() throws Exception {
+        Job first = jobService.createJob(user, user, faculty, "d", 10, 5, 5, RoleValue.EMPLOYEE, day);
+        Job second = jobService.createJob(user, user, faculty, "d", 4, 2, 1, RoleValue.EMPLOYEE, day);
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 2L);
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(new Demand(2, 14, 7, 6, 2));
+
+        jobService.updateJob(first.getJobId(), Status.ACCEPTED, day.plusDays(1));
+        Map<Status, Long> counts = statistics.getStatusCounts("mlica");
+        assertThat(counts).containsEntry(Status.PENDING, 1L).containsEntry(Status.ACCEPTED, 1L);
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(new Demand(1, 4, 2, 1, 1));
+        assertThat(statistics.getDemand("EEMCS", day.plusDays(1))).isEqualTo(new Demand(1, 10, 5, 5, 0));
+
+        // detached Jobs saved by the approval chain
+        second.setStatus(Status.REJECTED);
+        jobService.saveStatusChanges(List.of(second));
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 0L)
+                .containsEntry(Status.REJECTED, 1L);
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(new Demand(0, 0, 0, 0, 0));
+
+        jobService.deleteJob("mlica", RoleValue.EMPLOYEE, first.getJobId());
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.ACCEPTED, 0L)
+                .containsEntry(Status.REJECTED, 1L);
+        assertThat(statistics.getDemand("EEMCS", day.plusDays(1))).isEqualTo(new Demand(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void rolledBackChangesAreNotCounted() {
+        Job job = jobRepository.save(new Job(user, faculty, "d", 10, 5, 5, day));
+        new TransactionTemplate(transactionManager).execute(status -> {
+            job.setStatus(Status.ACCEPTED);
+            jobRepository.save(job);
+            jobRepository.save(new Job(user, faculty, "d", 10, 5, 5, day));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 1L)
+                .containsEntry(Status.ACCEPTED, 0L);
+    }
+
+    @Test
+    void rebuildMatchesRunningTotals() throws Exception {
+        Job job = jobService.createJob(user, user, faculty, "d", 10, 5, 5, RoleValue.EMPLOYEE, day);
+        jobService.createJob(user, user, faculty, "d", 3, 3, 3, RoleValue.EMPLOYEE, day);
+        jobService.updateJob(job.getJobId(), Status.REJECTED, day);
+        Map<Status, Long> counts = statistics.getStatusCounts("mlica");
+        Demand demand = statistics.getDemand("EEMCS", day);
+
+        statistics.rebuild();
+
+        assertThat(statistics.getStatusCounts("mlica")).isEqualTo(counts);
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(demand).isEqualTo(new Demand(1, 3, 3, 3, 1));
+        assertThat(statistics.getStatusCounts("unknown")).containsEntry(Status.PENDING, 0L);
+        assertThat(statistics.getDemand("TPM", day)).isEqualTo(new Demand(0, 0, 0, 0, 0));
+        assertThat(statistics.getDemandFaculties()).containsExactly("EEMCS");
+    }
+
+    @Test
+    void prunedDaysStayEmpty() throws Exception {
+        Job job = jobService.createJob(user, user, faculty, "d", 10, 5, 5, RoleValue.EMPLOYEE, day);
+
+        statistics.pruneDemand(day.plusDays(1));
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(new Demand(0, 0, 0, 0, 0));
+        assertThat(statistics.getDemandFaculties()).isEmpty();
+
+        // a later change of a Job on a pruned day does not bring the day back
+        jobService.updateJob(job.getJobId(), Status.REJECTED, day);
+        assertThat(statistics.getDemand("EEMCS", day)).isEqualTo(new Demand(0, 0, 0, 0, 0));
+        assertThat(statistics.getStatusCounts("mlica")).containsEntry(Status.PENDING, 0L)
+                .containsEntry(Status.REJECTED, 1L);
+    }
+}
@@ -0,0 +1,129 @@
+package nl.tudelft.sem.template.example.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import commons.Faculty;
+import commons.Job;
+import commons.NetId;
+import commons.Status;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import nl.tudelft.sem.template.example.models.NotificationResponseModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class NotificationServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private transient JobRepository jobRepository;
+
+    @Autowired
+    private transient JobService jobService;
+
+    @Autowired
+    private transient NotificationService notificationService;
+
+    @Autowired
+    private transient PlatformTransactionManager transactionManager;
+
+    @Test
+    void statusChangesAreLogged() throws Exception {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        Job other = jobRepository.save(new Job(new NetId("ppolitowicz"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+
+        jobService.updateJob(job.getJobId(), Status.ACCEPTED, LocalDate.now().plusDays(1));
+        jobService.updateJob(other.getJobId(), Status.ACCEPTED, LocalDate.now().plusDays(1));
+        job.setStatus(Status.RUNNING);
+        jobService.saveStatusChanges(List.of(job));
+
+        List<NotificationResponseModel> all = notificationService.since("mlica", 0, 100);
+        assertThat(all).extracting(NotificationResponseModel::getStatus)
+                .containsExactly(Status.ACCEPTED, Status.RUNNING);
+        assertThat(all).extracting(NotificationResponseModel::getJobId).containsOnly(job.getJobId());
+
+        List<NotificationResponseModel> newer = notificationService.since("mlica", all.get(0).getCursor(), 100);
+        assertThat(newer).extracting(NotificationResponseModel::getStatus).containsExactly(Status.RUNNING);
+        assertThat(notificationService.since("mlica", all.get(1).getCursor(), 100)).isEmpty();
+    }
+
+    @Test
+    void limit() {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        notificationService.record(List.of(job, job, job));
+
+        assertThat(notificationService.since("mlica", 0, 2)).hasSize(2);
+    }
+
+    @Test
+    void subscribe() {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        notificationService.record(List.of(job));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        notificationService.subscribe("mlica", 0, emitter);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(tx -> {
+            notificationService.record(List.of(job));
+            tx.setRollbackOnly();
+        });
+        notificationService.record(List.of(job));
+
+        // the replayed entry once, then only the committed one
+        List<NotificationResponseModel> all = notificationService.since("mlica", 0, 100);
+        assertThat(all).hasSize(2);
+        assertThat(emitter.cursors).containsExactly(all.get(0).getCursor(), all.get(1).getCursor());
+    }
+
+    @Test
+    void entriesAreHandedOutInIdOrderAfterCommit() {
+        Job job = jobRepository.save(new Job(new NetId("mlica"), new Faculty("EEMCS"), "d", 10, 10, 10,
+                LocalDate.now()));
+        RecordingEmitter emitter = new RecordingEmitter();
+        notificationService.subscribe("mlica", 0, emitter);
+        TransactionTemplate first = new TransactionTemplate(transactionManager);
+        TransactionTemplate second = new TransactionTemplate(transactionManager);
+        second.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        first.executeWithoutResult(tx -> {
+            notificationService.record(List.of(job));
+            // a later entry commits first, it is held back until the earlier one is done
+            second.executeWithoutResult(inner -> notificationService.record(List.of(job)));
+            assertThat(notificationService.since("mlica", 0, 100)).isEmpty();
+            assertThat(emitter.cursors).isEmpty();
+        });
+
+        List<NotificationResponseModel> all = notificationService.since("mlica", 0, 100);
+        assertThat(all).hasSize(2);
+        assertThat(emitter.cursors).containsExactly(all.get(0).getCursor(), all.get(1).getCursor());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final transient List<Long> cursors = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream().map(DataWithMediaType::getData)
+                    .filter(NotificationResponseModel.class::isInstance)
+                    .forEach(data -> cursors.add(((NotificationResponseModel) data).getCursor()));
+        }
+    }
+}
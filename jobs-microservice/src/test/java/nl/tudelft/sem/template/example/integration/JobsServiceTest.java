@@ -10,12 +10,12 @@ import commons.Job;
 import commons.NetId;
 import commons.RoleValue;
 import commons.Status;
+import commons.security.AuthManager;
+import commons.security.JwtTokenVerifier;
 import exceptions.InvalidIdException;
 import java.time.LocalDate;
 import java.util.List;
 import javax.transaction.Transactional;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
-import nl.tudelft.sem.template.example.authentication.JwtTokenVerifier;
 import nl.tudelft.sem.template.example.domain.JobRepository;
 import nl.tudelft.sem.template.example.domain.JobService;
 import nl.tudelft.sem.template.example.models.JobRequestModel;
@@ -0,0 +1,32 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchRequestModelTest {
+    BatchRequestModel model;
+
+    @BeforeEach
+    public void init() {
+        model = new BatchRequestModel();
+        model.setIds(List.of(1L, 2L));
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new BatchRequestModel();
+        model.setIds(List.of(3L));
+
+        assertNotNull(model);
+        assertThat(model.getIds()).containsExactly(3L);
+    }
+
+    @Test
+    public void getIdsTest() {
+        assertThat(model.getIds()).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,47 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import commons.Status;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchResponseModelTest {
+    BatchResponseModel model;
+    JobResponseModel job;
+
+    /**
+     * Initialising a BatchResponseModel.
+     */
+    @BeforeEach
+    public void init() {
+        job = new JobResponseModel();
+        job.setId(1L);
+        job.setNetId("mlica");
+        job.setStatus(Status.ACCEPTED);
+        model = new BatchResponseModel(List.of(job), Map.of(2L, "INVALID_ID"));
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new BatchResponseModel();
+        model.setJobs(List.of());
+
+        assertNotNull(model);
+        assertThat(model.getJobs()).isEmpty();
+        assertThat(model.getErrors()).isNull();
+    }
+
+    @Test
+    public void getJobsTest() {
+        assertThat(model.getJobs()).containsExactly(job);
+    }
+
+    @Test
+    public void getErrorsTest() {
+        assertThat(model.getErrors()).containsEntry(2L, "INVALID_ID");
+    }
+}
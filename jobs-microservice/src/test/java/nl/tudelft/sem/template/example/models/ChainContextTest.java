@@ -0,0 +1,37 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import commons.Faculty;
+import commons.FacultyResource;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChainContextTest {
+    ChainContext model;
+
+    @BeforeEach
+    public void init() {
+        model = new ChainContext(List.of(new Faculty("EEMCS")),
+                List.of(new FacultyResource("EEMCS", LocalDate.now(), 1, 2, 3)));
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new ChainContext();
+        model.setOwnerFaculty(List.of(new Faculty("3ME")));
+
+        assertNotNull(model);
+        assertThat(model.getOwnerFaculty()).containsExactly(new Faculty("3ME"));
+        assertThat(model.getResources()).isNull();
+    }
+
+    @Test
+    public void getResourcesTest() {
+        assertThat(model.getOwnerFaculty()).containsExactly(new Faculty("EEMCS"));
+        assertThat(model.getResources()).containsExactly(new FacultyResource("EEMCS", LocalDate.now(), 1, 2, 3));
+    }
+}
@@ -0,0 +1,45 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DemandResponseModelTest {
+    DemandResponseModel model;
+    LocalDate date;
+
+    /**
+     * Initialising a DemandResponseModel.
+     */
+    @BeforeEach
+    public void init() {
+        date = LocalDate.of(2023, 1, 10);
+        model = new DemandResponseModel("EEMCS", date, 2, 14, 7, 6);
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new DemandResponseModel();
+        model.setFaculty("TPM");
+
+        assertNotNull(model);
+        assertThat(model.getFaculty()).isEqualTo("TPM");
+        assertThat(model.getDate()).isNull();
+    }
+
+    @Test
+    public void getDateTest() {
+        assertThat(model.getDate()).isEqualTo(date);
+    }
+
+    @Test
+    public void getResourcesTest() {
+        assertThat(model.getJobs()).isEqualTo(2);
+        assertThat(model.getCpu()).isEqualTo(14);
+        assertThat(model.getGpu()).isEqualTo(7);
+        assertThat(model.getMemory()).isEqualTo(6);
+    }
+}
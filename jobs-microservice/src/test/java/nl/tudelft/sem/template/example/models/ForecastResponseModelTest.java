@@ -0,0 +1,52 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ForecastResponseModelTest {
+    ForecastResponseModel model;
+    LocalDate date;
+
+    /**
+     * Initialising a ForecastResponseModel.
+     */
+    @BeforeEach
+    public void init() {
+        date = LocalDate.of(2023, 1, 10);
+        model = new ForecastResponseModel("EEMCS", date, 2, 1, 14, 7, 6, 12, 10, 3, 2, 0, 3);
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new ForecastResponseModel();
+        model.setFaculty("TPM");
+
+        assertNotNull(model);
+        assertThat(model.getFaculty()).isEqualTo("TPM");
+        assertThat(model.getDate()).isNull();
+    }
+
+    @Test
+    public void getDemandTest() {
+        assertThat(model.getDate()).isEqualTo(date);
+        assertThat(model.getJobs()).isEqualTo(2);
+        assertThat(model.getPendingJobs()).isEqualTo(1);
+        assertThat(model.getCpu()).isEqualTo(14);
+        assertThat(model.getGpu()).isEqualTo(7);
+        assertThat(model.getMemory()).isEqualTo(6);
+    }
+
+    @Test
+    public void getCapacityTest() {
+        assertThat(model.getCpuCapacity()).isEqualTo(12);
+        assertThat(model.getGpuCapacity()).isEqualTo(10);
+        assertThat(model.getMemoryCapacity()).isEqualTo(3);
+        assertThat(model.getCpuOver()).isEqualTo(2);
+        assertThat(model.getGpuOver()).isZero();
+        assertThat(model.getMemoryOver()).isEqualTo(3);
+    }
+}
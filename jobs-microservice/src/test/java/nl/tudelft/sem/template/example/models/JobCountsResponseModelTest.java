@@ -0,0 +1,41 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import commons.Status;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JobCountsResponseModelTest {
+    JobCountsResponseModel model;
+
+    /**
+     * Initialising a JobCountsResponseModel.
+     */
+    @BeforeEach
+    public void init() {
+        model = new JobCountsResponseModel("mlica", Map.of(Status.PENDING, 3L, Status.ACCEPTED, 5L));
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new JobCountsResponseModel();
+        model.setNetId("ppolitowicz");
+
+        assertNotNull(model);
+        assertThat(model.getNetId()).isEqualTo("ppolitowicz");
+        assertThat(model.getCounts()).isNull();
+    }
+
+    @Test
+    public void getNetIdTest() {
+        assertThat(model.getNetId()).isEqualTo("mlica");
+    }
+
+    @Test
+    public void getCountsTest() {
+        assertThat(model.getCounts()).containsEntry(Status.PENDING, 3L).containsEntry(Status.ACCEPTED, 5L);
+    }
+}
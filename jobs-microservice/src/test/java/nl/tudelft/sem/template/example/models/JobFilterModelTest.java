@@ -0,0 +1,51 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import commons.Status;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JobFilterModelTest {
+    JobFilterModel model;
+
+    /**
+     * Initialising a JobFilterModel.
+     */
+    @BeforeEach
+    public void init() {
+        model = new JobFilterModel();
+        model.setStatus(Status.ACCEPTED);
+        model.setFaculty("EEMCS");
+        model.setFrom(LocalDate.of(2022, 1, 1));
+        model.setTo(LocalDate.of(2022, 1, 2));
+        model.setAfter(5L);
+        model.setLimit(10);
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new JobFilterModel();
+
+        assertNotNull(model);
+        assertThat(model.getStatus()).isNull();
+        assertThat(model.getAfter()).isEqualTo(0L);
+        assertThat(model.getLimit()).isEqualTo(1000);
+    }
+
+    @Test
+    public void getFiltersTest() {
+        assertThat(model.getStatus()).isEqualTo(Status.ACCEPTED);
+        assertThat(model.getFaculty()).isEqualTo("EEMCS");
+        assertThat(model.getFrom()).isEqualTo(LocalDate.of(2022, 1, 1));
+        assertThat(model.getTo()).isEqualTo(LocalDate.of(2022, 1, 2));
+    }
+
+    @Test
+    public void getPageTest() {
+        assertThat(model.getAfter()).isEqualTo(5L);
+        assertThat(model.getLimit()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,37 @@
+package nl.tudelft.sem.template.example.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import commons.Status;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NotificationResponseModelTest {
+    NotificationResponseModel model;
+
+    @BeforeEach
+    public void init() {
+        model = new NotificationResponseModel(3L, 1L, Status.PENDING, LocalDate.of(2022, 1, 1), "message");
+    }
+
+    @Test
+    public void constructorTest() {
+        model = new NotificationResponseModel();
+        model.setCursor(5L);
+
+        assertNotNull(model);
+        assertThat(model.getCursor()).isEqualTo(5L);
+        assertThat(model.getStatus()).isNull();
+    }
+
+    @Test
+    public void getFieldsTest() {
+        assertThat(model.getCursor()).isEqualTo(3L);
+        assertThat(model.getJobId()).isEqualTo(1L);
+        assertThat(model.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(model.getScheduleDate()).isEqualTo(LocalDate.of(2022, 1, 1));
+        assertThat(model.getMessage()).isEqualTo("message");
+    }
+}
@@ -1,13 +1,23 @@
 package nl.tudelft.sem.template.example.config;
 
+import commons.ObjectMapperProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateClient {
+    /**
+     * RestTemplate that uses the shared ObjectMapper for its JSON bodies.
+     *
+     * @return the RestTemplate used for calls to the other microservices
+     */
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getMessageConverters().replaceAll(c -> c instanceof MappingJackson2HttpMessageConverter
+                ? new MappingJackson2HttpMessageConverter(ObjectMapperProvider.getObjectMapper()) : c);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
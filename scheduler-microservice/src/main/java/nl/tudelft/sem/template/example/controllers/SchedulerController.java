@@ -5,8 +5,8 @@ import commons.FacultyTotalResource;
 import commons.Job;
 import commons.RoleValue;
 import commons.ScheduleJob;
+import commons.security.AuthManager;
 import java.util.List;
-import nl.tudelft.sem.template.example.authentication.AuthManager;
 import nl.tudelft.sem.template.example.domain.dto.ChangeSchedulingStrategy;
 import nl.tudelft.sem.template.example.domain.processing.ProcessingJobsService;
 import nl.tudelft.sem.template.example.domain.processing.RemovingJobsService;
@@ -66,6 +66,18 @@ public class SchedulerController {
         return ResponseEntity.ok("Processing");
     }
 
+    /**
+     * Allows to request several jobs to be scheduled at once.
+     *
+     * @param jobs jobs to be scheduled
+     * @return confirmation that the jobs are now being processed
+     */
+    @PostMapping("/schedule/batch")
+    public ResponseEntity<String> scheduleJobs(@RequestBody List<ScheduleJob> jobs) {
+        processingJobsService.scheduleJobs(jobs);
+        return ResponseEntity.ok("Processing");
+    }
+
     /**
      * Allow to unschedule a job.
      *
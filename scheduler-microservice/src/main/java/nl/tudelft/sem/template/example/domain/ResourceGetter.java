@@ -1,5 +1,6 @@
 package nl.tudelft.sem.template.example.domain;
 
+import commons.FacultiesResourceModel;
 import commons.FacultyResource;
 import commons.FacultyResourceModel;
 import java.time.LocalDate;
@@ -39,6 +40,25 @@ public class ResourceGetter {
         return Arrays.asList(Objects.requireNonNull(facultyResourcesResponse.getBody()));
     }
 
+    /**
+     * Retrieves the total available resources of several faculties in a given day with a single request.
+     *
+     * @param faculties faculties whose resources are requested
+     * @param day day when the resources should be used
+     * @return list with one entry of available resources per faculty
+     */
+    public List<FacultyResource> getAvailableResources(List<String> faculties, LocalDate day) {
+        FacultiesResourceModel facultiesResourceModel = new FacultiesResourceModel(faculties, day, day);
+        ResponseEntity<FacultyResource[]> facultyResourcesResponse = restTemplate.postForEntity(resourcesUrl
+                + "/cluster/facultiesResources", facultiesResourceModel, FacultyResource[].class);
+
+        if (!facultyResourcesResponse.hasBody()) {
+            return new ArrayList<>();
+        }
+
+        return Arrays.asList(Objects.requireNonNull(facultyResourcesResponse.getBody()));
+    }
+
     public void setResourcesUrl(String resourcesUrl) {
         this.resourcesUrl = resourcesUrl;
     }
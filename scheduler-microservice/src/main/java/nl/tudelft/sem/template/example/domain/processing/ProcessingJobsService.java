@@ -11,6 +11,8 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.Synchronized;
 import nl.tudelft.sem.template.example.domain.ResourceGetter;
 import nl.tudelft.sem.template.example.domain.db.ScheduledInstance;
@@ -73,6 +75,25 @@ public class ProcessingJobsService {
 
 
 
+    /**
+     * Tries to schedule several jobs, in the given order.
+     * A job that cannot be scheduled does not stop the others, the Jobs microservice
+     * is informed about every job separately.
+     *
+     * @param jobs ScheduleJob DTOs of the Jobs to be scheduled
+     */
+    @Synchronized
+    public void scheduleJobs(List<ScheduleJob> jobs) {
+        for (ScheduleJob j : jobs) {
+            try {
+                scheduleJob(j);
+            } catch (ResourceBiggerThanCpuException e) {
+                restTemplate.postForEntity(Url.getJobsUrl() + "/updateStatus",
+                        new UpdateJob(j.getJobId(), "unscheduled", null), Void.class);
+            }
+        }
+    }
+
     /**
      * Gets the number of available resources out of total resources for the next day. Only admin can access it.
      *
@@ -91,6 +112,9 @@ public class ProcessingJobsService {
         List<FacultyTotalResource> res = new ArrayList<>();
 
         LocalDate tmrw = LocalDate.now().plusDays(1);
+        Map<String, List<FacultyResource>> availableByFaculty = resourceGetter
+                .getAvailableResources(faculties, tmrw).stream()
+                .collect(Collectors.groupingBy(FacultyResource::getFaculty));
         for (String f : faculties) {
             List<ScheduledInstance> instancesInDb =
                     scheduledInstanceRepository.findByDateAndFaculty(tmrw, f);
@@ -98,7 +122,7 @@ public class ProcessingJobsService {
             int gpuUsageSum = instancesInDb.stream().mapToInt(ScheduledInstance::getGpuUsage).sum();
             int memoryUsageSum = instancesInDb.stream().mapToInt(ScheduledInstance::getMemoryUsage).sum();
 
-            List<FacultyResource> availableResources = resourceGetter.getAvailableResources(f, tmrw);
+            List<FacultyResource> availableResources = availableByFaculty.getOrDefault(f, List.of());
             int cpuAvailableSum = availableResources.stream().mapToInt(FacultyResource::getCpuUsage).sum();
             int gpuAvailableSum = availableResources.stream().mapToInt(FacultyResource::getGpuUsage).sum();
             int memoryAvailableSum = availableResources.stream().mapToInt(FacultyResource::getMemoryUsage).sum();
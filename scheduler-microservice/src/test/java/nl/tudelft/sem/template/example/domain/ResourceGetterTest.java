@@ -2,6 +2,7 @@ package nl.tudelft.sem.template.example.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import commons.FacultiesResourceModel;
 import commons.FacultyResource;
 import commons.FacultyResourceModel;
 import java.time.LocalDate;
@@ -52,4 +53,20 @@ class ResourceGetterTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailableResourcesForFaculties() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        FacultyResource[] facultyResources = {
+            new FacultyResource("EEMCS", tomorrow, 10, 10, 10),
+            new FacultyResource("3ME", tomorrow, 20, 20, 20)
+        };
+        Mockito.when(restTemplate.postForEntity("TEST-URL/cluster/facultiesResources",
+                new FacultiesResourceModel(List.of("EEMCS", "3ME"), tomorrow, tomorrow), FacultyResource[].class))
+                .thenReturn(new ResponseEntity<>(facultyResources, HttpStatus.OK));
+
+        List<FacultyResource> answer = resourceGetter.getAvailableResources(List.of("EEMCS", "3ME"), tomorrow);
+
+        assertThat(answer).containsExactly(facultyResources);
+    }
+}
@@ -105,6 +105,28 @@ public class ProcessingJobsServiceTest {
                 new UpdateJob(1L, "unscheduled", null), Void.class);
     }
 
+    @Test
+    public void scheduleJobs_invalidJobDoesNotStopBatch() {
+        Faculty facultyConstant = new Faculty("EEMCS");
+        LocalDate dateConstant = LocalDate.now().plusDays(1);
+        ScheduleJob invalid = new ScheduleJob(1L, facultyConstant, dateConstant.plusDays(2), 1, 2, 1);
+        ScheduleJob valid = new ScheduleJob(2L, facultyConstant, dateConstant.plusDays(2), 5, 2, 2);
+        List<ScheduledInstance> scheduledInstances = List.of(
+            new ScheduledInstance(2L, facultyConstant.toString(), 5, 2, 2, dateConstant)
+        );
+        Mockito.when(scheduleBetweenClusters.scheduleBetween(Mockito.eq(valid),
+                Mockito.any(LocalDate.class), Mockito.any(LocalDate.class))).thenReturn(scheduledInstances);
+        processingJobsService.setSchedulingStrategy(scheduleBetweenClusters);
+
+        processingJobsService.scheduleJobs(List.of(invalid, valid));
+
+        assertThat(scheduledInstanceRepository.findAll().size()).isEqualTo(1);
+        Mockito.verify(restTemplate).postForEntity(Url.getJobsUrl() + "/updateStatus",
+                new UpdateJob(1L, "unscheduled", null), Void.class);
+        Mockito.verify(restTemplate).postForEntity(Url.getJobsUrl() + "/updateStatus",
+                new UpdateJob(2L, "scheduled", dateConstant), Void.class);
+    }
+
     @Test
     public void scheduleJob_withGpuGreaterThanCpu_throwsException() {
         ScheduleJob scheduleJob = new ScheduleJob(1, new Faculty("EEMCS"), LocalDate.now().plusDays(1),
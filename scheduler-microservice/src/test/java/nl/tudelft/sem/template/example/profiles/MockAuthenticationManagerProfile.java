@@ -1,6 +1,6 @@
 package nl.tudelft.sem.template.example.profiles;
 
-import nl.tudelft.sem.template.example.authentication.AuthManager;
+import commons.security.AuthManager;
 import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;